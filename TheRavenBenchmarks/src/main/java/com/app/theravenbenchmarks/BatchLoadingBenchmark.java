@@ -0,0 +1,79 @@
+package com.app.theravenbenchmarks;
+
+import com.app.theravenwithoutauth.exception.CustomerUnavailableException;
+import com.app.theravenwithoutauth.model.dto.CustomerDTO;
+import com.app.theravenwithoutauth.model.dto.CustomerResponseDTO;
+import com.app.theravenwithoutauth.service.CustomerService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Measures concurrent customer lookups by ID with and without coalescing the cache misses into batches.
+ * <p>
+ * The customer cache is disabled so that every lookup reaches the batch loader, as during a burst of
+ * lookups of customers not cached yet. The hot benchmark draws from a few IDs only, so many concurrent
+ * lookups ask for the same customer; the multi-get benchmark fetches pages of random IDs in one call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(32)
+@Fork(1)
+public class BatchLoadingBenchmark {
+    @Param({"true", "false"})
+    private boolean batching;
+
+    @Param({"10000"})
+    private int customers;
+
+    private ConfigurableApplicationContext context;
+    private CustomerService customerService;
+    private long[] ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = EmbeddedApplication.start(
+                "--customers.cache.maximum-size=0",
+                "--customers.batch-loading.enabled=" + batching);
+        customerService = context.getBean(CustomerService.class);
+
+        ids = customerService.createCustomers(IntStream.range(0, customers)
+                        .mapToObj(i -> new CustomerDTO("Customer " + i, "seed" + i + "@example.com", null))
+                        .toList()).stream()
+                .mapToLong(result -> result.getCustomer().getId())
+                .toArray();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public CustomerResponseDTO getById() throws CustomerUnavailableException {
+        return customerService.getCustomerById(ids[ThreadLocalRandom.current().nextInt(ids.length)]);
+    }
+
+    @Benchmark
+    public CustomerResponseDTO getHotById() throws CustomerUnavailableException {
+        return customerService.getCustomerById(ids[ThreadLocalRandom.current().nextInt(16)]);
+    }
+
+    @Benchmark
+    public List<CustomerResponseDTO> multiGet() {
+        List<Long> page = new ArrayList<>(50);
+        for (int i = 0; i < 50; i++) {
+            page.add(ids[ThreadLocalRandom.current().nextInt(ids.length)]);
+        }
+
+        return customerService.getCustomersByIds(page);
+    }
+}
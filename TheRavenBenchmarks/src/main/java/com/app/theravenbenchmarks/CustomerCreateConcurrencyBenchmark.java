@@ -0,0 +1,61 @@
+package com.app.theravenbenchmarks;
+
+import com.app.theravenwithoutauth.exception.CustomerAlreadyExistsException;
+import com.app.theravenwithoutauth.exception.InvalidInputFormatException;
+import com.app.theravenwithoutauth.model.dto.CustomerDTO;
+import com.app.theravenwithoutauth.model.dto.CustomerResponseDTO;
+import com.app.theravenwithoutauth.service.CustomerService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+/**
+ * Measures createCustomer throughput at high concurrency with and without the known-email Bloom filter.
+ * <p>
+ * With 'emailFilter=false' every create performs the email lookup before inserting, as it did
+ * before the filter existed. Against an in-memory database the saved lookup is much cheaper than
+ * a MySQL round trip, so the difference here is a lower bound.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(16)
+@Fork(1)
+public class CustomerCreateConcurrencyBenchmark {
+    @Param({"true", "false"})
+    private boolean emailFilter;
+
+    @Param({"10000"})
+    private int customers;
+
+    private ConfigurableApplicationContext context;
+    private CustomerService customerService;
+    private final AtomicLong emailSequence = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() throws InterruptedException {
+        context = EmbeddedApplication.start("--customers.email-filter.enabled=" + emailFilter);
+        customerService = context.getBean(CustomerService.class);
+
+        customerService.createCustomers(IntStream.range(0, customers)
+                .mapToObj(i -> new CustomerDTO("Customer " + i, "seed" + i + "@example.com", null))
+                .toList());
+        Thread.sleep(500); // let the filter finish warming up
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public CustomerResponseDTO createCustomer() throws InvalidInputFormatException, CustomerAlreadyExistsException {
+        return customerService.createCustomer(new CustomerDTO("New Customer",
+                "new" + emailSequence.incrementAndGet() + "@example.com", null));
+    }
+}
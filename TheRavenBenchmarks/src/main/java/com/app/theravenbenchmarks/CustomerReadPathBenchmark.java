@@ -0,0 +1,104 @@
+package com.app.theravenbenchmarks;
+
+import com.app.theravenwithoutauth.model.Customer;
+import com.app.theravenwithoutauth.model.dto.CustomerDTO;
+import com.app.theravenwithoutauth.model.dto.CustomerResponseDTO;
+import com.app.theravenwithoutauth.repository.CustomerRepository;
+import com.app.theravenwithoutauth.service.CustomerService;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Compares reading customers as managed entities with reading them through constructor projections,
+ * both in read-only transactions and bypassing the customer cache.
+ * <p>
+ * The 'Entities' variants hydrate entities into the persistence context and map them to DTOs, the
+ * 'Projection' variants select straight into unmanaged objects. The application only reads pages through
+ * projections, so the entity page query is issued here directly. Run with '-prof gc' to also compare
+ * the allocation rate per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CustomerReadPathBenchmark {
+    @Param({"10000"})
+    private int customers;
+
+    @Param({"100"})
+    private int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private CustomerRepository customerRepository;
+    private EntityManager entityManager;
+    private TransactionTemplate readOnlyTransaction;
+    private long[] ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = EmbeddedApplication.start();
+        customerRepository = context.getBean(CustomerRepository.class);
+        entityManager = context.getBean(EntityManager.class);
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+
+        List<CustomerDTO> seed = IntStream.range(0, customers)
+                .mapToObj(i -> new CustomerDTO("Customer " + i, "seed" + i + "@example.com", "+38050" + (1000000 + i)))
+                .toList();
+        ids = context.getBean(CustomerService.class).createCustomers(seed).stream()
+                .mapToLong(result -> result.getCustomer().getId())
+                .toArray();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<CustomerResponseDTO> pageEntities() {
+        return readOnlyTransaction.execute(status -> entityManager
+                .createQuery("select c from Customer c where c.isActive = true and c.id > :afterId order by c.id asc",
+                        Customer.class)
+                .setParameter("afterId", randomAfterId())
+                .setMaxResults(pageSize)
+                .getResultList().stream()
+                .map(CustomerResponseDTO::fromCustomer)
+                .toList());
+    }
+
+    @Benchmark
+    public List<CustomerResponseDTO> pageProjection() {
+        return readOnlyTransaction.execute(status -> customerRepository
+                .findActiveCustomerResponsesAfter(randomAfterId(), Limit.of(pageSize)));
+    }
+
+    @Benchmark
+    public Customer byIdEntity() {
+        return readOnlyTransaction.execute(status -> customerRepository.findCustomerById(randomId()));
+    }
+
+    @Benchmark
+    public Customer byIdProjection() {
+        return readOnlyTransaction.execute(status -> customerRepository.findCustomerSnapshotById(randomId()));
+    }
+
+    private long randomId() {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+
+    private long randomAfterId() {
+        return ids[ThreadLocalRandom.current().nextInt(Math.max(1, ids.length - pageSize))];
+    }
+}
@@ -0,0 +1,99 @@
+package com.app.theravenbenchmarks;
+
+import com.app.theravenwithoutauth.exception.CustomerAlreadyExistsException;
+import com.app.theravenwithoutauth.exception.CustomerModifiedException;
+import com.app.theravenwithoutauth.exception.CustomerUnavailableException;
+import com.app.theravenwithoutauth.exception.InvalidInputFormatException;
+import com.app.theravenwithoutauth.model.dto.CustomerDTO;
+import com.app.theravenwithoutauth.model.dto.CustomerResponseDTO;
+import com.app.theravenwithoutauth.model.dto.UpdateCustomerDTO;
+import com.app.theravenwithoutauth.service.CustomerService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+/**
+ * Measures full CustomerService calls against an embedded H2 database.
+ * <p>
+ * The 'Unproxied' variant calls the service bean without its AOP proxy, which shows the
+ * overhead of the instrumentation interceptor on the same call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CustomerServiceBenchmark {
+    @Param({"10000"})
+    private int customers;
+
+    private ConfigurableApplicationContext context;
+    private CustomerService customerService;
+    private CustomerService unproxiedCustomerService;
+    private long[] ids;
+    private final AtomicLong emailSequence = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() throws CustomerUnavailableException {
+        context = EmbeddedApplication.start();
+        customerService = context.getBean(CustomerService.class);
+        unproxiedCustomerService = (CustomerService) AopProxyUtils.getSingletonTarget(customerService);
+
+        List<CustomerDTO> seed = IntStream.range(0, customers)
+                .mapToObj(i -> new CustomerDTO("Customer " + i, "seed" + i + "@example.com", "+38050" + (1000000 + i)))
+                .toList();
+        ids = customerService.createCustomers(seed).stream()
+                .mapToLong(result -> result.getCustomer().getId())
+                .toArray();
+
+        for (long id : ids) { // measure steady-state cache hits rather than the cold start
+            customerService.getCustomerById(id);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public CustomerResponseDTO getCustomerById() throws CustomerUnavailableException {
+        return customerService.getCustomerById(randomId());
+    }
+
+    @Benchmark
+    public CustomerResponseDTO getCustomerByIdUnproxied() throws CustomerUnavailableException {
+        return unproxiedCustomerService.getCustomerById(randomId());
+    }
+
+    @Benchmark
+    public List<CustomerResponseDTO> getAllCustomersPage() {
+        return customerService.getAllCustomers(0, 100);
+    }
+
+    @Benchmark
+    public CustomerResponseDTO createCustomer() throws InvalidInputFormatException, CustomerAlreadyExistsException {
+        return customerService.createCustomer(new CustomerDTO("New Customer",
+                "new" + emailSequence.incrementAndGet() + "@example.com", "+380501234567"));
+    }
+
+    @Benchmark
+    public CustomerResponseDTO updateCustomer()
+            throws InvalidInputFormatException, CustomerModifiedException, CustomerUnavailableException {
+        int index = ThreadLocalRandom.current().nextInt(ids.length);
+
+        return customerService.updateCustomer(new UpdateCustomerDTO(ids[index], "Updated " + index,
+                "seed" + index + "@example.com", "+380509999999"), ids[index], null);
+    }
+
+    private long randomId() {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+}
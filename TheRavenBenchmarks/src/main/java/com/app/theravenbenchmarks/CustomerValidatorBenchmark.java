@@ -0,0 +1,56 @@
+package com.app.theravenbenchmarks;
+
+import com.app.theravenwithoutauth.model.dto.CustomerDTO;
+import com.app.theravenwithoutauth.validation.CustomerValidator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Compares {@link CustomerValidator} with the regular-expression validation it replaced.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CustomerValidatorBenchmark {
+    private final CustomerValidator validator = new CustomerValidator();
+    private final CustomerDTO valid = new CustomerDTO("John Smith", "john.smith@example.com", "+380501234567");
+    private final CustomerDTO invalid = new CustomerDTO("J", "john.smith.example.com", "0501234567");
+
+    @Benchmark
+    public String validatorValid() {
+        return validator.findViolations(valid);
+    }
+
+    @Benchmark
+    public String validatorInvalid() {
+        return validator.findViolations(invalid);
+    }
+
+    @Benchmark
+    public boolean regexValid() {
+        return legacyMatches(valid);
+    }
+
+    @Benchmark
+    public boolean regexInvalid() {
+        return legacyMatches(invalid);
+    }
+
+    /**
+     * The checks performed by CustomerServiceImpl.validateCustomerData before the validator existed.
+     */
+    private static boolean legacyMatches(CustomerDTO customerDTO) {
+        String fullNameRegex = "^.{2,50}$",
+                emailRegex = "^(?=.{2,100}$)[^@]*@[^@]*$",
+                phoneRegex = "^\\+\\d{5,13}$";
+
+        return Pattern.matches(fullNameRegex, customerDTO.getFullName()) &&
+                (customerDTO.getEmail() == null || Pattern.matches(emailRegex, customerDTO.getEmail())) &&
+                (customerDTO.getPhone() == null || Pattern.matches(phoneRegex, customerDTO.getPhone()));
+    }
+}
@@ -0,0 +1,38 @@
+package com.app.theravenbenchmarks;
+
+import com.app.theravenwithoutauth.model.Customer;
+import com.app.theravenwithoutauth.model.dto.CustomerDTO;
+import com.app.theravenwithoutauth.model.dto.CustomerResponseDTO;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the DTO and entity mappers used on every request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoMappingBenchmark {
+    private final CustomerDTO customerDTO = new CustomerDTO("John Smith", "john.smith@example.com", "+380501234567");
+    private final Customer customer = new Customer(42, 1700000000000L, 1700000000000L,
+            "John Smith", "john.smith@example.com", "+380501234567", true, 0);
+
+    @Benchmark
+    public CustomerResponseDTO customerResponseFromCustomer() {
+        return CustomerResponseDTO.fromCustomer(customer);
+    }
+
+    @Benchmark
+    public Customer customerFromCustomerDTO() {
+        return Customer.getCustomerFromCustomerDTO(customerDTO);
+    }
+
+    @Benchmark
+    public CustomerDTO customerDTOFromCustomer() {
+        return CustomerDTO.fromCustomer(customer);
+    }
+}
@@ -0,0 +1,63 @@
+package com.app.theravenbenchmarks;
+
+import com.app.theravenwithoutauth.TheRavenWithoutAuthApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Starts the application without a web server against a private in-memory H2 database.
+ */
+final class EmbeddedApplication {
+    private EmbeddedApplication() {
+    }
+
+    /**
+     * Starts the application context without a web server.
+     *
+     * @param extraArgs Additional '--property=value' arguments overriding application.properties.
+     * @return The running application context; close it when the benchmark is done.
+     */
+    static ConfigurableApplicationContext start(String... extraArgs) {
+        return run(false, extraArgs);
+    }
+
+    /**
+     * Starts the application context with its web server on a random free port.
+     *
+     * @param extraArgs Additional '--property=value' arguments overriding application.properties.
+     * @return The running application context; close it when the benchmark is done.
+     */
+    static ConfigurableApplicationContext startWeb(String... extraArgs) {
+        return run(true, extraArgs);
+    }
+
+    /**
+     * Returns the base URL of a context started with {@link #startWeb(String...)}.
+     */
+    static String baseUrl(ConfigurableApplicationContext context) {
+        return "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+    }
+
+    private static ConfigurableApplicationContext run(boolean web, String... extraArgs) {
+        List<String> args = new ArrayList<>(List.of(
+                "--datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1",
+                "--datasource.username=sa",
+                "--datasource.password=",
+                "--datasource.driver-class-name=org.h2.Driver",
+                "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.hibernate.ddl-auto=create",
+                "--spring.main.web-application-type=" + (web ? "servlet" : "none"),
+                "--server.port=0",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--logging.level.org.hibernate.orm.deprecation=ERROR"));
+        args.addAll(List.of(extraArgs));
+
+        return new SpringApplicationBuilder(TheRavenWithoutAuthApplication.class)
+                .run(args.toArray(String[]::new));
+    }
+}
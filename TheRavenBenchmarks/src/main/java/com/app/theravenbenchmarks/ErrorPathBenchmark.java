@@ -0,0 +1,121 @@
+package com.app.theravenbenchmarks;
+
+import com.app.theravenwithoutauth.exception.CustomerUnavailableException;
+import com.app.theravenwithoutauth.model.dto.CustomerDTO;
+import com.app.theravenwithoutauth.model.dto.CustomerResponseDTO;
+import com.app.theravenwithoutauth.service.CustomerService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Measures the throughput of requests for missing and deleted customers against requests for active ones,
+ * through the service and over HTTP.
+ * <p>
+ * Missing IDs are drawn above the seeded range, so every lookup misses the cache and queries the database,
+ * as IDs probed by a scanner would. Deleted customers are served from the cache like active ones.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class ErrorPathBenchmark {
+    @Param({"10000"})
+    private int customers;
+
+    private ConfigurableApplicationContext context;
+    private CustomerService customerService;
+    private HttpClient httpClient;
+    private String customersUrl;
+    private long[] activeIds;
+    private long[] deletedIds;
+    private long maxId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws CustomerUnavailableException {
+        context = EmbeddedApplication.startWeb();
+        customerService = context.getBean(CustomerService.class);
+
+        long[] ids = customerService.createCustomers(IntStream.range(0, customers)
+                        .mapToObj(i -> new CustomerDTO("Customer " + i, "seed" + i + "@example.com", null))
+                        .toList()).stream()
+                .mapToLong(result -> result.getCustomer().getId())
+                .toArray();
+        activeIds = IntStream.range(0, ids.length).filter(i -> i % 2 == 0).mapToLong(i -> ids[i]).toArray();
+        deletedIds = IntStream.range(0, ids.length).filter(i -> i % 2 == 1).mapToLong(i -> ids[i]).toArray();
+        maxId = ids[ids.length - 1];
+        customerService.deleteCustomers(Arrays.stream(deletedIds).boxed().toList());
+
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        customersUrl = EmbeddedApplication.baseUrl(context) + "/api/customers/";
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        httpClient.close();
+        context.close();
+    }
+
+    @Benchmark
+    public CustomerResponseDTO serviceActive() throws CustomerUnavailableException {
+        return customerService.getCustomerById(random(activeIds));
+    }
+
+    @Benchmark
+    public Object serviceDeleted() {
+        try {
+            return customerService.getCustomerById(random(deletedIds));
+        } catch (CustomerUnavailableException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object serviceMissing() {
+        try {
+            return customerService.getCustomerById(randomMissingId());
+        } catch (CustomerUnavailableException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public int httpActive() throws IOException, InterruptedException {
+        return get(random(activeIds));
+    }
+
+    @Benchmark
+    public int httpDeleted() throws IOException, InterruptedException {
+        return get(random(deletedIds));
+    }
+
+    @Benchmark
+    public int httpMissing() throws IOException, InterruptedException {
+        return get(randomMissingId());
+    }
+
+    private int get(long id) throws IOException, InterruptedException {
+        return httpClient.send(HttpRequest.newBuilder(URI.create(customersUrl + id)).build(),
+                HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private long randomMissingId() {
+        return maxId + 1 + ThreadLocalRandom.current().nextInt(1_000_000);
+    }
+
+    private static long random(long[] ids) {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+}
@@ -0,0 +1,76 @@
+package com.app.theravenbenchmarks;
+
+import com.app.theravenwithoutauth.model.dto.CustomerDTO;
+import com.app.theravenwithoutauth.service.CustomerService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Compares the thread-per-request model with the 'virtual-threads' profile under high client concurrency.
+ * <p>
+ * 400 client threads list customers over HTTP, twice the default Tomcat worker pool and forty times
+ * the connection pool. Requests rejected by the admission limiter are counted separately.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Threads(400)
+@Fork(1)
+public class RequestExecutionLoadBenchmark {
+    @Param({"platform", "virtual"})
+    private String threads;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private HttpRequest listRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = "virtual".equals(threads)
+                ? EmbeddedApplication.startWeb("--spring.profiles.active=virtual-threads")
+                : EmbeddedApplication.startWeb();
+        context.getBean(CustomerService.class).createCustomers(IntStream.range(0, 1000)
+                .mapToObj(i -> new CustomerDTO("Customer " + i, "seed" + i + "@example.com", null))
+                .toList());
+
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        listRequest = HttpRequest.newBuilder(URI.create(EmbeddedApplication.baseUrl(context)
+                + "/api/customers?limit=50")).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        httpClient.close();
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Responses {
+        public long ok;
+        public long rejected;
+    }
+
+    @Benchmark
+    public int listCustomers(Responses responses) throws IOException, InterruptedException {
+        int status = httpClient.send(listRequest, HttpResponse.BodyHandlers.discarding()).statusCode();
+
+        if (status == 200) {
+            responses.ok++;
+        } else {
+            responses.rejected++;
+        }
+
+        return status;
+    }
+}
@@ -0,0 +1,98 @@
+package com.app.theravenbenchmarks;
+
+import com.app.theravenwithoutauth.model.dto.CustomerResponseDTO;
+import com.app.theravenwithoutauth.protobuf.CustomerProtobufCodec;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Measures encoding and decoding of customer lists as returned by GET /api/customers, in every
+ * representation the API offers.
+ * <p>
+ * The 'serializeGzip' variant adds the response compression applied to large pages. The payload size
+ * of each format, plain and gzipped, is printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    @Param({"json", "smile", "cbor", "protobuf"})
+    private String format;
+
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private List<CustomerResponseDTO> customers;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() throws IOException {
+        if (!format.equals("protobuf")) {
+            ObjectMapper objectMapper = new ObjectMapper(switch (format) {
+                case "smile" -> new SmileFactory();
+                case "cbor" -> new CBORFactory();
+                default -> new JsonFactory();
+            });
+            writer = objectMapper.writerFor(new TypeReference<List<CustomerResponseDTO>>() {});
+            reader = objectMapper.readerFor(new TypeReference<List<CustomerResponseDTO>>() {});
+        }
+        customers = LongStream.rangeClosed(1, size)
+                .mapToObj(id -> new CustomerResponseDTO(id, "Customer " + id, "customer" + id + "@example.com",
+                        "+38050" + (1000000 + id), 0, 1700000000000L))
+                .toList();
+        payload = serialize();
+
+        System.out.printf("%n%s, %d customers: %d bytes, %d bytes gzipped%n",
+                format, size, payload.length, serializeGzip().length);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        if (writer != null) {
+            return writer.writeValueAsBytes(customers);
+        }
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        CustomerProtobufCodec.writeCustomers(customers, outputStream);
+        return outputStream.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] serializeGzip() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream)) {
+            if (writer != null) {
+                writer.writeValue(gzipOutputStream, customers);
+            } else {
+                CustomerProtobufCodec.writeCustomers(customers, gzipOutputStream);
+            }
+        }
+        return outputStream.toByteArray();
+    }
+
+    @Benchmark
+    public List<CustomerResponseDTO> deserialize() throws IOException {
+        return reader != null
+                ? reader.readValue(payload)
+                : CustomerProtobufCodec.readCustomers(new ByteArrayInputStream(payload));
+    }
+}
@@ -0,0 +1,85 @@
+package com.app.theravenbenchmarks;
+
+import com.app.theravenwithoutauth.exception.CustomerAlreadyExistsException;
+import com.app.theravenwithoutauth.exception.CustomerUnavailableException;
+import com.app.theravenwithoutauth.exception.InvalidInputFormatException;
+import com.app.theravenwithoutauth.model.dto.CustomerDTO;
+import com.app.theravenwithoutauth.model.dto.CustomerResponseDTO;
+import com.app.theravenwithoutauth.service.CustomerService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+/**
+ * Measures customer creates, lookups by ID and page reads with the customers spread over one or more
+ * in-memory databases.
+ * <p>
+ * Each shard is a separate H2 database with its own connection pool, so creates contend on fewer
+ * locks and pool slots, while every page read queries all shards and merges their pages. All shards
+ * share the CPU of one machine here, unlike separate database servers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(16)
+@Fork(1)
+public class ShardingBenchmark {
+    @Param({"1", "3"})
+    private int shards;
+
+    @Param({"10000"})
+    private int customers;
+
+    private ConfigurableApplicationContext context;
+    private CustomerService customerService;
+    private long[] ids;
+    private final AtomicLong emailSequence = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<String> args = new ArrayList<>(List.of("--customers.cache.maximum-size=0"));
+        for (int i = 0; i < shards - 1; i++) {
+            args.add("--customers.sharding.shards[" + i + "].url=jdbc:h2:mem:bench-shard-" + UUID.randomUUID()
+                    + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        }
+        context = EmbeddedApplication.start(args.toArray(String[]::new));
+        customerService = context.getBean(CustomerService.class);
+
+        ids = customerService.createCustomers(IntStream.range(0, customers)
+                        .mapToObj(i -> new CustomerDTO("Customer " + i, "seed" + i + "@example.com", null))
+                        .toList()).stream()
+                .mapToLong(result -> result.getCustomer().getId())
+                .sorted()
+                .toArray();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public CustomerResponseDTO createCustomer() throws InvalidInputFormatException, CustomerAlreadyExistsException {
+        return customerService.createCustomer(new CustomerDTO("New Customer",
+                "new" + emailSequence.incrementAndGet() + "@example.com", null));
+    }
+
+    @Benchmark
+    public CustomerResponseDTO getById() throws CustomerUnavailableException {
+        return customerService.getCustomerById(ids[ThreadLocalRandom.current().nextInt(ids.length)]);
+    }
+
+    @Benchmark
+    public List<CustomerResponseDTO> getPage() {
+        return customerService.getAllCustomers(ids[ThreadLocalRandom.current().nextInt(ids.length)], 50);
+    }
+}
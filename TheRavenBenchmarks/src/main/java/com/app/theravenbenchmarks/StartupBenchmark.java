@@ -0,0 +1,187 @@
+package com.app.theravenbenchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.LongSummaryStatistics;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Measures the cold start of the application as a separate process: the time from launching the JVM
+ * to the first successful customer request, and the resident memory of the process at that point.
+ * <p>
+ * The "default" mode runs the executable jar as built by default; the "fast-start" mode runs the
+ * AOT-processed jar with its CDS archive and the 'fast-start' profile, as built by
+ * {@code mvn -P fast-start package} in TheRavenWithoutAuth, which must have been run after the last
+ * regular build (the archive only applies to the exact jars it was created from).
+ * Both run against the same H2 file database, whose schema is created by an untimed start in setup.
+ * The startup RSS of every start is printed, and summarized when the trial ends (Linux only).
+ * <p>
+ * The application is looked up in ../TheRavenWithoutAuth/target, or in the directory given by the
+ * "startup.app.dir" system property.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(1)
+public class StartupBenchmark {
+    private static final String APPLICATION_JAR = "TheRavenWithoutAuth-0.0.1-SNAPSHOT.jar";
+    private static final String EXECUTABLE_JAR = "TheRavenWithoutAuth-0.0.1-SNAPSHOT-exec.jar";
+    private static final String CDS_ARCHIVE = "application.jsa";
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    @Param({"default", "fast-start"})
+    private String mode;
+
+    private Path appDir;
+    private Path databaseDir;
+    private HttpClient httpClient;
+    private Process process;
+    private final List<Long> startupRssKilobytes = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, InterruptedException {
+        appDir = Path.of(System.getProperty("startup.app.dir", "../TheRavenWithoutAuth/target")).toAbsolutePath();
+        if (!Files.exists(appDir.resolve(EXECUTABLE_JAR))) {
+            throw new IllegalStateException(EXECUTABLE_JAR + " not found in " + appDir + ", build TheRavenWithoutAuth first");
+        }
+        if (mode.equals("fast-start") && !Files.exists(appDir.resolve(CDS_ARCHIVE))) {
+            throw new IllegalStateException(CDS_ARCHIVE + " not found in " + appDir
+                    + ", run 'mvn -P fast-start package' in TheRavenWithoutAuth first");
+        }
+
+        databaseDir = Files.createTempDirectory("startup-bench");
+        httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+        // creates the schema the fast-start mode only validates
+        start(command(false, "--spring.jpa.hibernate.ddl-auto=update"));
+        stop();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        httpClient.close();
+        try (Stream<Path> files = Files.walk(databaseDir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+
+        LongSummaryStatistics rss = startupRssKilobytes.stream().mapToLong(Long::longValue).summaryStatistics();
+        if (rss.getCount() > 0) {
+            System.out.printf("%nStartup RSS (%s): min %d MB, avg %.0f MB, max %d MB over %d starts%n", mode,
+                    rss.getMin() / 1024, rss.getAverage() / 1024, rss.getMax() / 1024, rss.getCount());
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void stopApplication() throws InterruptedException {
+        stop();
+    }
+
+    @Benchmark
+    public void timeToFirstRequest() throws IOException, InterruptedException {
+        start(command(mode.equals("fast-start")));
+
+        long rss = readRssKilobytes(process.pid());
+        if (rss >= 0) {
+            startupRssKilobytes.add(rss);
+            System.out.printf(" [RSS %d MB]", rss / 1024);
+        }
+    }
+
+    private List<String> command(boolean fastStart, String... extraArgs) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+
+        if (fastStart) {
+            command.addAll(List.of("-XX:SharedArchiveFile=" + CDS_ARCHIVE, "-Xlog:cds=error",
+                    "-Dspring.aot.enabled=true", "-jar", APPLICATION_JAR,
+                    "--spring.profiles.active=embedded,fast-start"));
+        } else {
+            command.addAll(List.of("-jar", EXECUTABLE_JAR, "--spring.profiles.active=embedded"));
+        }
+
+        command.add("--datasource.url=jdbc:h2:file:" + databaseDir.resolve("theraven") + ";MODE=MySQL");
+        command.add("--server.port=" + freePort());
+        command.addAll(List.of(extraArgs));
+        return command;
+    }
+
+    private void start(List<String> command) throws IOException, InterruptedException {
+        String port = command.stream()
+                .filter(arg -> arg.startsWith("--server.port="))
+                .map(arg -> arg.substring("--server.port=".length()))
+                .findFirst()
+                .orElseThrow();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/customers?limit=1"))
+                .timeout(Duration.ofSeconds(5))
+                .build();
+
+        process = new ProcessBuilder(command)
+                .directory(appDir.toFile())
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Application exited with code " + process.exitValue()
+                        + " during startup: " + String.join(" ", command));
+            }
+            try {
+                if (httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // not listening yet
+            }
+            Thread.sleep(5);
+        }
+
+        throw new IllegalStateException("Application did not answer within " + STARTUP_TIMEOUT);
+    }
+
+    private void stop() throws InterruptedException {
+        if (process != null) {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+            process = null;
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static long readRssKilobytes(long pid) throws IOException {
+        Path status = Path.of("/proc", String.valueOf(pid), "status");
+        if (!Files.exists(status)) {
+            return -1;
+        }
+
+        try (Stream<String> lines = Files.lines(status)) {
+            return lines.filter(line -> line.startsWith("VmRSS:"))
+                    .mapToLong(line -> Long.parseLong(line.replaceAll("\\D", "")))
+                    .findFirst()
+                    .orElse(-1);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.app.theravenloadtest;
+
+import com.app.theravenwithoutauth.model.dto.BatchCustomerResultDTO;
+import com.app.theravenwithoutauth.model.dto.CustomerDTO;
+import com.app.theravenwithoutauth.model.dto.CustomerResponseDTO;
+import com.app.theravenwithoutauth.model.dto.UpdateCustomerDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.random.RandomGenerator;
+import java.util.stream.IntStream;
+
+/**
+ * Builds the requests of each {@link Operation} and keeps track of the customers they can address.
+ * <p>
+ * Reads by ID and updates go to a fixed hot set of the seeded customers, which are never deleted.
+ * Deletes take the other seeded customers and those created during the run, oldest first.
+ * All emails carry an ID of the run, so runs against the same database do not collide.
+ */
+class CustomerRequests {
+    private static final int SEED_CHUNK_SIZE = 1000;
+    private static final int PAGE_SIZE = 50;
+    private static final String JSON = "application/json";
+
+    private final String baseUrl;
+    private final Duration timeout;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String runId = UUID.randomUUID().toString().substring(0, 8);
+    private final AtomicLong emailSequence = new AtomicLong();
+
+    private CustomerResponseDTO[] hotSet;
+    private final ConcurrentLinkedQueue<Long> deletable = new ConcurrentLinkedQueue<>();
+    private volatile String listETag;
+
+    /**
+     * Constructor for CustomerRequests.
+     *
+     * @param baseUrl Base URL of the application, e.g. 'http://localhost:8081'.
+     * @param timeout Time after which a request fails.
+     */
+    CustomerRequests(String baseUrl, Duration timeout) {
+        this.baseUrl = baseUrl;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Creates the customers the run starts with, with batch requests.
+     *
+     * @param httpClient Client to send the requests with.
+     * @param customers  Number of customers to create.
+     * @param hotSetSize Number of the created customers that reads by ID and updates go to.
+     * @throws IOException          Thrown when a request fails.
+     * @throws InterruptedException Thrown when interrupted while waiting for a response.
+     */
+    void seed(HttpClient httpClient, int customers, int hotSetSize) throws IOException, InterruptedException {
+        List<CustomerResponseDTO> created = new ArrayList<>(customers);
+
+        for (int from = 0; from < customers; from += SEED_CHUNK_SIZE) {
+            List<CustomerDTO> chunk = IntStream.range(from, Math.min(from + SEED_CHUNK_SIZE, customers))
+                    .mapToObj(i -> newCustomer())
+                    .toList();
+            HttpResponse<String> response = httpClient.send(post("/api/customers/batch", chunk),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IOException("Seeding customers failed with " + response.statusCode() + ": " + response.body());
+            }
+
+            objectMapper.readValue(response.body(), new TypeReference<List<BatchCustomerResultDTO>>() {
+                    }).stream()
+                    .filter(result -> result.getStatus() == BatchCustomerResultDTO.Status.CREATED)
+                    .forEach(result -> created.add(result.getCustomer()));
+        }
+        if (created.size() < hotSetSize) {
+            throw new IOException("Only " + created.size() + " of " + customers + " customers were created");
+        }
+
+        hotSet = created.subList(0, hotSetSize).toArray(CustomerResponseDTO[]::new);
+        created.subList(hotSetSize, created.size()).forEach(customer -> deletable.add(customer.getId()));
+    }
+
+    /**
+     * Builds the next request of an operation.
+     *
+     * @param operation Operation to send.
+     * @param random    Source of randomness of the calling thread.
+     * @return The request, or null when there is no customer left to delete.
+     */
+    HttpRequest request(Operation operation, RandomGenerator random) {
+        return switch (operation) {
+            case CREATE -> post("/api/customers", newCustomer());
+            case READ_BY_ID -> get("/api/customers/" + hotCustomer(random).getId()).build();
+            case LIST -> {
+                HttpRequest.Builder builder = get("/api/customers?limit=" + PAGE_SIZE);
+                String etag = listETag;
+                yield etag == null ? builder.build() : builder.header("If-None-Match", etag).build();
+            }
+            case UPDATE -> {
+                CustomerResponseDTO customer = hotCustomer(random);
+                yield builder("/api/customers/" + customer.getId())
+                        .header("Content-Type", JSON)
+                        .PUT(HttpRequest.BodyPublishers.ofString(toJson(new UpdateCustomerDTO(customer.getId(),
+                                "Updated Customer " + random.nextInt(1000), customer.getEmail(), randomPhone(random)))))
+                        .build();
+            }
+            case DELETE -> {
+                Long id = deletable.poll();
+                yield id == null ? null : builder("/api/customers/" + id).DELETE().build();
+            }
+        };
+    }
+
+    /**
+     * Takes note of a successful response: created customers become deletable, and list pages
+     * are revalidated with their ETag.
+     *
+     * @param operation Operation of the request.
+     * @param response  Successful response.
+     */
+    void completed(Operation operation, HttpResponse<String> response) {
+        if (operation == Operation.CREATE) {
+            try {
+                deletable.add(objectMapper.readValue(response.body(), CustomerResponseDTO.class).getId());
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException(e);
+            }
+        } else if (operation == Operation.LIST) {
+            response.headers().firstValue("ETag").ifPresent(etag -> listETag = etag);
+        }
+    }
+
+    private CustomerDTO newCustomer() {
+        return new CustomerDTO("Load Customer", "load-" + runId + "-" + emailSequence.incrementAndGet() + "@example.com",
+                null);
+    }
+
+    private CustomerResponseDTO hotCustomer(RandomGenerator random) {
+        return hotSet[random.nextInt(hotSet.length)];
+    }
+
+    private static String randomPhone(RandomGenerator random) {
+        return "+1" + (1_000_000_000L + random.nextLong(9_000_000_000L));
+    }
+
+    private HttpRequest post(String path, Object body) {
+        return builder(path)
+                .header("Content-Type", JSON)
+                .POST(HttpRequest.BodyPublishers.ofString(toJson(body)))
+                .build();
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return builder(path).header("Accept", JSON).GET();
+    }
+
+    private HttpRequest.Builder builder(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(timeout);
+    }
+
+    private String toJson(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
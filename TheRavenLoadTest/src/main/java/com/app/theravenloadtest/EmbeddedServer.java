@@ -0,0 +1,49 @@
+package com.app.theravenloadtest;
+
+import com.app.theravenwithoutauth.TheRavenWithoutAuthApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Starts the application in-process with its web server on a random free port, against a private
+ * in-memory H2 database.
+ */
+final class EmbeddedServer {
+    private EmbeddedServer() {
+    }
+
+    /**
+     * Starts the application.
+     *
+     * @param extraArgs Additional '--property=value' arguments overriding application.properties.
+     * @return The running application context; close it when the run is done.
+     */
+    static ConfigurableApplicationContext start(List<String> extraArgs) {
+        List<String> args = new ArrayList<>(List.of(
+                "--datasource.url=jdbc:h2:mem:load-" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1",
+                "--datasource.username=sa",
+                "--datasource.password=",
+                "--datasource.driver-class-name=org.h2.Driver",
+                "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.hibernate.ddl-auto=create",
+                "--server.port=0",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--logging.level.org.hibernate.orm.deprecation=ERROR"));
+        args.addAll(extraArgs);
+
+        return new SpringApplicationBuilder(TheRavenWithoutAuthApplication.class)
+                .run(args.toArray(String[]::new));
+    }
+
+    /**
+     * Returns the base URL of a started application.
+     */
+    static String baseUrl(ConfigurableApplicationContext context) {
+        return "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+    }
+}
@@ -0,0 +1,165 @@
+package com.app.theravenloadtest;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends requests at a fixed arrival rate (an open model), independent of how fast they are answered.
+ * <p>
+ * A single thread computes the time every request is scheduled to start and hands it to a virtual
+ * thread at that time, so a slow response never delays the following requests. Latencies are measured
+ * from the scheduled start rather than from the actual send: when the generator or the client falls
+ * behind, the wait counts against the application as it would for real clients, instead of the late
+ * requests going unmeasured (coordinated omission). Requests scheduled during the warmup are sent but
+ * not recorded.
+ */
+class LoadGenerator {
+    private static final String NOTHING_TO_DELETE = "nothing to delete";
+
+    private final LoadTestOptions options;
+    private final Scenario scenario;
+    private final CustomerRequests requests;
+    private final HttpClient httpClient;
+
+    private final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+    private final OperationStats total = new OperationStats();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong lastCompletion = new AtomicLong();
+    private long measureFrom;
+
+    /**
+     * Constructor for LoadGenerator.
+     *
+     * @param options    Rate, arrival distribution and timing of the run.
+     * @param scenario   Mix of operations to send.
+     * @param requests   Builder of the requests, already seeded.
+     * @param httpClient Client to send the requests with.
+     */
+    LoadGenerator(LoadTestOptions options, Scenario scenario, CustomerRequests requests, HttpClient httpClient) {
+        this.options = options;
+        this.scenario = scenario;
+        this.requests = requests;
+        this.httpClient = httpClient;
+        scenario.getShares().keySet().forEach(operation -> stats.put(operation, new OperationStats()));
+    }
+
+    /**
+     * Runs the warmup and the measured load, then waits for the requests still in flight.
+     *
+     * @return The statistics of the measured requests, by operation.
+     */
+    Map<Operation, OperationStats> run() {
+        SplittableRandom random = new SplittableRandom();
+        double meanIntervalNanos = 1e9 / options.rate;
+        long start = System.nanoTime();
+        measureFrom = start + options.warmup.toNanos();
+        long end = measureFrom + options.duration.toNanos();
+        lastCompletion.set(measureFrom);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            double offset = 0;
+            while (start + (long) offset < end) {
+                long scheduledStart = start + (long) offset;
+                long wait;
+                while ((wait = scheduledStart - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+
+                Operation operation = scenario.next(random);
+                boolean measured = scheduledStart >= measureFrom;
+                if (inFlight.get() >= options.maxInFlight) {
+                    if (measured) {
+                        stats.get(operation).recordNotSent(OperationStats.DROPPED);
+                        total.recordNotSent(OperationStats.DROPPED);
+                    }
+                } else {
+                    inFlight.incrementAndGet();
+                    executor.execute(() -> send(operation, scheduledStart, measured));
+                }
+
+                offset += options.poissonArrivals
+                        ? -Math.log(1 - random.nextDouble()) * meanIntervalNanos
+                        : meanIntervalNanos;
+            }
+        }
+
+        return stats;
+    }
+
+    /**
+     * Returns the statistics of all measured requests together.
+     */
+    OperationStats getTotal() {
+        return total;
+    }
+
+    /**
+     * Returns the time from the start of the measurement to the last response of a measured request.
+     */
+    long getMeasuredNanos() {
+        return lastCompletion.get() - measureFrom;
+    }
+
+    private void send(Operation operation, long scheduledStart, boolean measured) {
+        try {
+            HttpRequest request = requests.request(operation, ThreadLocalRandom.current());
+            if (request == null) {
+                if (measured) {
+                    stats.get(operation).recordNotSent(NOTHING_TO_DELETE);
+                    total.recordNotSent(NOTHING_TO_DELETE);
+                }
+                return;
+            }
+
+            long sent = System.nanoTime();
+            String outcome;
+            try {
+                HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+                int status = response.statusCode();
+                if (status / 100 == 2 || status == 304) {
+                    requests.completed(operation, response);
+                    outcome = null;
+                } else {
+                    outcome = String.valueOf(status);
+                }
+            } catch (HttpTimeoutException e) {
+                outcome = OperationStats.TIMEOUT;
+            } catch (IOException e) {
+                outcome = OperationStats.IO_ERROR;
+            }
+            record(operation, measured, outcome, scheduledStart, sent);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private void record(Operation operation, boolean measured, String outcome, long scheduledStart, long sent) {
+        if (!measured) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        lastCompletion.accumulateAndGet(now, Math::max);
+        for (OperationStats operationStats : new OperationStats[]{stats.get(operation), total}) {
+            if (outcome == null) {
+                operationStats.recordSuccess(now - scheduledStart, now - sent);
+            } else {
+                operationStats.recordFailure(outcome, now - scheduledStart, now - sent);
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.app.theravenloadtest;
+
+import com.app.theravenwithoutauth.metrics.LatencyHistogram;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Results of a load test run, as written to the JSON report.
+ *
+ * @param scenario        Name of the scenario.
+ * @param mix             Share of the requests of each operation, in percent of the scenario total.
+ * @param target          Base URL the requests were sent to.
+ * @param arrivals        Distribution of the gaps between requests, 'poisson' or 'uniform'.
+ * @param targetRate      Requests scheduled per second.
+ * @param warmupSeconds   Time the load ran before it was measured.
+ * @param durationSeconds Time the load was measured.
+ * @param measuredSeconds Time from the start of the measurement to the last measured response.
+ * @param startedAt       Start of the run, as an ISO-8601 instant.
+ * @param total           Results of all operations together.
+ * @param operations      Results of each operation.
+ */
+record LoadReport(String scenario, Map<String, Integer> mix, String target, String arrivals, double targetRate,
+                  double warmupSeconds, double durationSeconds, double measuredSeconds, String startedAt,
+                  OperationReport total, List<OperationReport> operations) {
+
+    /**
+     * Results of the measured requests of one operation.
+     *
+     * @param operation    Name of the operation, or 'all'.
+     * @param requests     Requests scheduled, including those not sent.
+     * @param successes    Responses with a 2xx or 304 status.
+     * @param failures     Other outcomes by status code or reason, e.g. '412', 'timeout' or 'dropped'.
+     * @param throughput   Responses per second over the measured time.
+     * @param responseTime Latencies from the scheduled start of the requests, corrected for coordinated omission.
+     * @param serviceTime  Latencies from the actual send of the requests.
+     */
+    record OperationReport(String operation, long requests, long successes, Map<String, Long> failures,
+                           double throughput, Latencies responseTime, Latencies serviceTime) {
+
+        static OperationReport of(String operation, OperationStats stats, double measuredSeconds) {
+            LatencyHistogram.Snapshot responseTimes = stats.responseTimes();
+            double throughput = measuredSeconds > 0 ? responseTimes.getCount() / measuredSeconds : 0;
+
+            return new OperationReport(operation, responseTimes.getCount() + stats.notSent(), stats.successes(),
+                    stats.failures(), throughput,
+                    Latencies.of(responseTimes), Latencies.of(stats.serviceTimes()));
+        }
+    }
+
+    /**
+     * Latency percentiles, in milliseconds.
+     */
+    record Latencies(double p50, double p90, double p99, double p999, double max) {
+
+        static Latencies of(LatencyHistogram.Snapshot snapshot) {
+            return new Latencies(millis(snapshot.getValueAtQuantile(0.5)), millis(snapshot.getValueAtQuantile(0.9)),
+                    millis(snapshot.getValueAtQuantile(0.99)), millis(snapshot.getValueAtQuantile(0.999)),
+                    millis(snapshot.getMax()));
+        }
+
+        private static double millis(long nanos) {
+            return Math.round(nanos / 1e3) / 1e3;
+        }
+    }
+}
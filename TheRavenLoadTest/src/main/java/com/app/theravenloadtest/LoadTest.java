@@ -0,0 +1,102 @@
+package com.app.theravenloadtest;
+
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Runs a scenario of HTTP requests against the customer API at a fixed arrival rate and reports the
+ * throughput and latency percentiles of each operation as JSON and HTML.
+ * <p>
+ * Unless a target URL is given, the application is started in-process against an in-memory H2 database
+ * and stopped at the end. See {@link LoadTestOptions} for the arguments.
+ */
+public final class LoadTest {
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        Scenario scenario = Scenario.of(options.scenario);
+
+        ConfigurableApplicationContext context = options.target == null ? EmbeddedServer.start(options.applicationArgs) : null;
+        String target = context == null ? options.target : EmbeddedServer.baseUrl(context);
+
+        try (HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(options.timeout)
+                .build()) {
+            CustomerRequests requests = new CustomerRequests(target, options.timeout);
+            System.out.printf("Creating %d customers at %s%n", options.customers, target);
+            requests.seed(httpClient, options.customers, options.hotSet);
+
+            System.out.printf("Running '%s' at %s requests/s: %s warmup, %s measured%n", scenario.getName(),
+                    format(options.rate), options.warmup, options.duration);
+            Instant startedAt = Instant.now();
+            LoadGenerator generator = new LoadGenerator(options, scenario, requests, httpClient);
+            Map<Operation, OperationStats> stats = generator.run();
+
+            LoadReport report = report(options, scenario, target, startedAt, generator, stats);
+            Path json = options.reportDir.resolve("load-report.json");
+            Path html = options.reportDir.resolve("load-report.html");
+            ReportWriter.writeJson(report, json);
+            ReportWriter.writeHtml(report, html);
+
+            printSummary(report);
+            System.out.printf("Reports written to %s and %s%n", json.toAbsolutePath(), html.toAbsolutePath());
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    private static LoadReport report(LoadTestOptions options, Scenario scenario, String target, Instant startedAt,
+                                     LoadGenerator generator, Map<Operation, OperationStats> stats) {
+        double measuredSeconds = generator.getMeasuredNanos() / 1e9;
+        int totalShares = scenario.getShares().values().stream().mapToInt(Integer::intValue).sum();
+
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        scenario.getShares().forEach((operation, share) -> mix.put(operation.getName(), 100 * share / totalShares));
+        List<LoadReport.OperationReport> operations = stats.entrySet().stream()
+                .map(entry -> LoadReport.OperationReport.of(entry.getKey().getName(), entry.getValue(), measuredSeconds))
+                .toList();
+
+        return new LoadReport(scenario.getName(), mix, target, options.poissonArrivals ? "poisson" : "uniform",
+                options.rate, seconds(options.warmup), seconds(options.duration), measuredSeconds,
+                startedAt.toString(), LoadReport.OperationReport.of("all", generator.getTotal(), measuredSeconds),
+                operations);
+    }
+
+    private static void printSummary(LoadReport report) {
+        System.out.printf("%n%-12s %9s %9s %9s %10s %10s %10s %10s%n", "operation", "requests", "failures",
+                "per sec", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (LoadReport.OperationReport row : report.operations()) {
+            printRow(row);
+        }
+        printRow(report.total());
+        System.out.println();
+    }
+
+    private static void printRow(LoadReport.OperationReport row) {
+        System.out.printf("%-12s %9d %9d %9s %10s %10s %10s %10s%n", row.operation(), row.requests(),
+                row.requests() - row.successes(), format(row.throughput()), format(row.responseTime().p50()),
+                format(row.responseTime().p99()), format(row.responseTime().p999()), format(row.responseTime().max()));
+    }
+
+    private static double seconds(Duration duration) {
+        return duration.toMillis() / 1e3;
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.2f", value);
+    }
+}
@@ -0,0 +1,90 @@
+package com.app.theravenloadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Options of a load test run, parsed from '--name=value' arguments.
+ * <p>
+ * Arguments not listed below are passed on to the embedded application, e.g.
+ * '--spring.profiles.active=virtual-threads'; they are ignored when a target URL is given.
+ * <ul>
+ *     <li>scenario: name of the {@link Scenario} to run (default 'mixed').</li>
+ *     <li>rate: requests started per second, whatever the response times (default 200).</li>
+ *     <li>arrivals: 'poisson' for exponentially distributed gaps between requests, or 'uniform' (default 'poisson').</li>
+ *     <li>warmup: time the load runs before it is measured (default 10s).</li>
+ *     <li>duration: time the load is measured (default 30s).</li>
+ *     <li>customers: number of customers created before the run (default 10000).</li>
+ *     <li>hot-set: number of the created customers that reads by ID and updates go to (default 100).</li>
+ *     <li>max-in-flight: requests in flight beyond which new arrivals are dropped and counted (default 10000).</li>
+ *     <li>timeout: time after which a request counts as failed (default 10s).</li>
+ *     <li>target: base URL of a running application; without it the application is started in-process
+ *     against an in-memory H2 database.</li>
+ *     <li>report-dir: directory the JSON and HTML reports are written to (default 'load-report').</li>
+ * </ul>
+ */
+class LoadTestOptions {
+    String scenario = "mixed";
+    double rate = 200;
+    boolean poissonArrivals = true;
+    Duration warmup = Duration.ofSeconds(10);
+    Duration duration = Duration.ofSeconds(30);
+    int customers = 10000;
+    int hotSet = 100;
+    int maxInFlight = 10000;
+    Duration timeout = Duration.ofSeconds(10);
+    String target;
+    Path reportDir = Path.of("load-report");
+    final List<String> applicationArgs = new ArrayList<>();
+
+    /**
+     * Parses the command line arguments.
+     *
+     * @param args '--name=value' arguments.
+     * @return The options, with defaults for those not given.
+     * @throws IllegalArgumentException Thrown when an argument has an invalid value.
+     */
+    static LoadTestOptions parse(String[] args) {
+        LoadTestOptions options = new LoadTestOptions();
+
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got '" + arg + "'");
+            }
+            String name = arg.substring(2, separator);
+            String value = arg.substring(separator + 1);
+
+            switch (name) {
+                case "scenario" -> options.scenario = value;
+                case "rate" -> options.rate = Double.parseDouble(value);
+                case "arrivals" -> options.poissonArrivals = switch (value) {
+                    case "poisson" -> true;
+                    case "uniform" -> false;
+                    default -> throw new IllegalArgumentException("arrivals must be 'poisson' or 'uniform'");
+                };
+                case "warmup" -> options.warmup = DurationStyle.detectAndParse(value);
+                case "duration" -> options.duration = DurationStyle.detectAndParse(value);
+                case "customers" -> options.customers = Integer.parseInt(value);
+                case "hot-set" -> options.hotSet = Integer.parseInt(value);
+                case "max-in-flight" -> options.maxInFlight = Integer.parseInt(value);
+                case "timeout" -> options.timeout = DurationStyle.detectAndParse(value);
+                case "target" -> options.target = value.endsWith("/") ? value.substring(0, value.length() - 1) : value;
+                case "report-dir" -> options.reportDir = Path.of(value);
+                default -> options.applicationArgs.add(arg);
+            }
+        }
+
+        if (options.rate <= 0 || options.duration.isNegative() || options.duration.isZero() || options.warmup.isNegative()) {
+            throw new IllegalArgumentException("rate and duration must be positive, warmup must not be negative");
+        }
+        if (options.hotSet < 1 || options.customers < options.hotSet) {
+            throw new IllegalArgumentException("hot-set must be at least 1 and at most the number of customers");
+        }
+        return options;
+    }
+}
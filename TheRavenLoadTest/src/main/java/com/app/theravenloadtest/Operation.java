@@ -0,0 +1,27 @@
+package com.app.theravenloadtest;
+
+/**
+ * Kind of request sent to the customer API.
+ */
+enum Operation {
+    /** POST /api/customers with a new email. */
+    CREATE("create"),
+    /** GET /api/customers/{id} of a customer of the hot set. */
+    READ_BY_ID("read-by-id"),
+    /** GET /api/customers?limit=50, revalidating the last ETag seen as a polling client does. */
+    LIST("list"),
+    /** PUT /api/customers/{id} of a customer of the hot set. */
+    UPDATE("update"),
+    /** DELETE /api/customers/{id} of a customer outside the hot set, oldest first. */
+    DELETE("delete");
+
+    private final String name;
+
+    Operation(String name) {
+        this.name = name;
+    }
+
+    String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,71 @@
+package com.app.theravenloadtest;
+
+import com.app.theravenwithoutauth.metrics.LatencyHistogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Outcomes and latencies of the measured requests of one operation.
+ * <p>
+ * The response time runs from the time the request was scheduled to start to the time its response
+ * arrived, so it includes any wait for the generator or the connection; the service time runs from the
+ * time it was actually sent.
+ */
+class OperationStats {
+    static final String TIMEOUT = "timeout";
+    static final String IO_ERROR = "I/O error";
+    static final String DROPPED = "dropped";
+
+    private final LatencyHistogram responseTimes = new LatencyHistogram();
+    private final LatencyHistogram serviceTimes = new LatencyHistogram();
+    private final LongAdder successes = new LongAdder();
+    private final LongAdder notSent = new LongAdder();
+    private final Map<String, LongAdder> failures = new ConcurrentHashMap<>();
+
+    void recordSuccess(long responseNanos, long serviceNanos) {
+        responseTimes.record(responseNanos);
+        serviceTimes.record(serviceNanos);
+        successes.increment();
+    }
+
+    void recordFailure(String outcome, long responseNanos, long serviceNanos) {
+        responseTimes.record(responseNanos);
+        serviceTimes.record(serviceNanos);
+        failures.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+    }
+
+    /**
+     * Counts a request that was never sent, e.g. because too many requests were in flight.
+     *
+     * @param outcome Reason the request was not sent.
+     */
+    void recordNotSent(String outcome) {
+        notSent.increment();
+        failures.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+    }
+
+    LatencyHistogram.Snapshot responseTimes() {
+        return responseTimes.snapshot();
+    }
+
+    LatencyHistogram.Snapshot serviceTimes() {
+        return serviceTimes.snapshot();
+    }
+
+    long successes() {
+        return successes.sum();
+    }
+
+    long notSent() {
+        return notSent.sum();
+    }
+
+    Map<String, Long> failures() {
+        Map<String, Long> counts = new TreeMap<>();
+        failures.forEach((outcome, count) -> counts.put(outcome, count.sum()));
+        return counts;
+    }
+}
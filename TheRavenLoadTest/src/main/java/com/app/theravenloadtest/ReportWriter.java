@@ -0,0 +1,144 @@
+package com.app.theravenloadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Writes a {@link LoadReport} as JSON, for comparing runs, and as a self-contained HTML page.
+ */
+final class ReportWriter {
+    private static final String[] PERCENTILE_CLASSES = {"p50", "p99", "p999"};
+
+    private ReportWriter() {
+    }
+
+    /**
+     * Writes the JSON report.
+     *
+     * @param report Report to write.
+     * @param file   File to write to; its directory is created if needed.
+     * @throws IOException Thrown when the file cannot be written.
+     */
+    static void writeJson(LoadReport report, Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(file.toFile(), report);
+    }
+
+    /**
+     * Writes the HTML report: the settings of the run, a table of the results of each operation and a
+     * chart of their response time percentiles.
+     *
+     * @param report Report to write.
+     * @param file   File to write to; its directory is created if needed.
+     * @throws IOException Thrown when the file cannot be written.
+     */
+    static void writeHtml(LoadReport report, Path file) throws IOException {
+        List<LoadReport.OperationReport> rows = new ArrayList<>(report.operations());
+        rows.add(report.total());
+        double scale = Math.max(rows.stream().mapToDouble(row -> row.responseTime().p999()).max().orElse(0), 0.001);
+
+        StringBuilder html = new StringBuilder();
+        html.append("""
+                <!DOCTYPE html>
+                <html>
+                <head>
+                <meta charset="utf-8">
+                <title>Load test: %1$s</title>
+                <style>
+                body { font-family: sans-serif; margin: 2em; color: #222; }
+                table { border-collapse: collapse; margin: 1em 0; }
+                th, td { border: 1px solid #ccc; padding: 4px 8px; text-align: right; }
+                th:first-child, td:first-child { text-align: left; }
+                tr.total td { font-weight: bold; }
+                .bar { height: 12px; margin: 2px 0; }
+                .p50 { background: #4a90d9; } .p99 { background: #f5a623; } .p999 { background: #d0021b; }
+                .label { font-size: 12px; }
+                </style>
+                </head>
+                <body>
+                <h1>Load test: %1$s</h1>
+                """.formatted(escape(report.scenario())));
+
+        html.append("<p>")
+                .append(escape(report.target())).append(", ")
+                .append(format(report.targetRate())).append(" requests/s scheduled (")
+                .append(report.arrivals()).append(" arrivals), ")
+                .append(format(report.warmupSeconds())).append(" s warmup, ")
+                .append(format(report.durationSeconds())).append(" s measured, started ")
+                .append(escape(report.startedAt())).append("<br>Mix: ")
+                .append(report.mix().entrySet().stream()
+                        .map(share -> escape(share.getKey()) + " " + share.getValue() + "%")
+                        .collect(Collectors.joining(", ")))
+                .append("</p>\n");
+
+        html.append("""
+                <table>
+                <tr><th rowspan="2">Operation</th><th rowspan="2">Requests</th><th rowspan="2">Successes</th>
+                <th rowspan="2">Failures</th><th rowspan="2">Throughput (/s)</th>
+                <th colspan="5">Response time (ms)</th><th colspan="3">Service time (ms)</th></tr>
+                <tr><th>p50</th><th>p90</th><th>p99</th><th>p99.9</th><th>max</th><th>p50</th><th>p99</th><th>p99.9</th></tr>
+                """);
+        for (LoadReport.OperationReport row : rows) {
+            html.append(row == report.total() ? "<tr class=\"total\">" : "<tr>")
+                    .append(cell(row.operation()))
+                    .append(cell(row.requests()))
+                    .append(cell(row.successes()))
+                    .append(cell(row.failures().isEmpty() ? "-" : row.failures().entrySet().stream()
+                            .map(failure -> failure.getKey() + ": " + failure.getValue())
+                            .collect(Collectors.joining(", "))))
+                    .append(cell(format(row.throughput())))
+                    .append(cell(format(row.responseTime().p50())))
+                    .append(cell(format(row.responseTime().p90())))
+                    .append(cell(format(row.responseTime().p99())))
+                    .append(cell(format(row.responseTime().p999())))
+                    .append(cell(format(row.responseTime().max())))
+                    .append(cell(format(row.serviceTime().p50())))
+                    .append(cell(format(row.serviceTime().p99())))
+                    .append(cell(format(row.serviceTime().p999())))
+                    .append("</tr>\n");
+        }
+        html.append("</table>\n");
+
+        html.append("<h2>Response time percentiles</h2>\n<table>\n");
+        for (LoadReport.OperationReport row : rows) {
+            html.append("<tr>").append(cell(row.operation())).append("<td style=\"width: 600px; text-align: left\">");
+            double[] percentiles = {row.responseTime().p50(), row.responseTime().p99(), row.responseTime().p999()};
+            for (int i = 0; i < percentiles.length; i++) {
+                html.append("<div class=\"bar ").append(PERCENTILE_CLASSES[i]).append("\" style=\"width: ")
+                        .append(format(100 * percentiles[i] / scale)).append("%\"></div>");
+            }
+            html.append("<span class=\"label\">p50 ").append(format(row.responseTime().p50()))
+                    .append(" / p99 ").append(format(row.responseTime().p99()))
+                    .append(" / p99.9 ").append(format(row.responseTime().p999())).append(" ms</span></td></tr>\n");
+        }
+        html.append("""
+                </table>
+                <p>Response times are measured from the time each request was scheduled to start, so they include
+                any wait caused by earlier slow responses; service times are measured from the actual send.</p>
+                </body>
+                </html>
+                """);
+
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Files.writeString(file, html);
+    }
+
+    private static String cell(Object value) {
+        return "<td>" + escape(String.valueOf(value)) + "</td>";
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, value >= 100 ? "%.0f" : "%.2f", value);
+    }
+
+    private static String escape(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+}
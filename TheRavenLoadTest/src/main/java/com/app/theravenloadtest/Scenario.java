@@ -0,0 +1,77 @@
+package com.app.theravenloadtest;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+import java.util.stream.Collectors;
+
+/**
+ * Mix of operations a load test sends, each operation picked at random with its share of the requests.
+ */
+enum Scenario {
+    CREATE_HEAVY("create-heavy", Map.of(Operation.CREATE, 70, Operation.READ_BY_ID, 20, Operation.LIST, 10)),
+    READ_HOT("read-hot", Map.of(Operation.READ_BY_ID, 90, Operation.LIST, 5, Operation.CREATE, 5)),
+    LIST_POLLING("list-polling", Map.of(Operation.LIST, 80, Operation.READ_BY_ID, 20)),
+    UPDATE_DELETE("update-delete", Map.of(Operation.UPDATE, 40, Operation.DELETE, 20, Operation.CREATE, 20,
+            Operation.READ_BY_ID, 20)),
+    MIXED("mixed", Map.of(Operation.READ_BY_ID, 50, Operation.LIST, 20, Operation.CREATE, 15, Operation.UPDATE, 10,
+            Operation.DELETE, 5));
+
+    private final String name;
+    private final Map<Operation, Integer> shares;
+    private final Operation[] operations;
+    private final int[] cumulativeShares;
+
+    Scenario(String name, Map<Operation, Integer> shares) {
+        this.name = name;
+        this.shares = new EnumMap<>(shares);
+        this.operations = this.shares.keySet().toArray(Operation[]::new);
+        this.cumulativeShares = new int[operations.length];
+
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += this.shares.get(operations[i]);
+            cumulativeShares[i] = total;
+        }
+    }
+
+    /**
+     * Looks up a scenario by its name.
+     *
+     * @param name Name of the scenario, e.g. 'read-hot'.
+     * @return The scenario.
+     * @throws IllegalArgumentException Thrown when there is no scenario with the name.
+     */
+    static Scenario of(String name) {
+        return Arrays.stream(values())
+                .filter(scenario -> scenario.name.equals(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown scenario '" + name + "', expected one of "
+                        + Arrays.stream(values()).map(Scenario::getName).collect(Collectors.joining(", "))));
+    }
+
+    /**
+     * Picks the operation of the next request.
+     *
+     * @param random Source of randomness of the calling thread.
+     * @return The operation.
+     */
+    Operation next(RandomGenerator random) {
+        int value = random.nextInt(cumulativeShares[cumulativeShares.length - 1]);
+        for (int i = 0; i < cumulativeShares.length; i++) {
+            if (value < cumulativeShares[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    String getName() {
+        return name;
+    }
+
+    Map<Operation, Integer> getShares() {
+        return shares;
+    }
+}
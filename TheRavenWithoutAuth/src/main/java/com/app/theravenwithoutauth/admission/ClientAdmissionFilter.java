@@ -0,0 +1,114 @@
+package com.app.theravenwithoutauth.admission;
+
+import com.app.theravenwithoutauth.model.dto.ExceptionResponseDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filter applying the {@link ClientRateLimiter} and the {@link LoadShedder} to customer API requests.
+ * <p>
+ * Clients are identified by the client header (X-Client-Id by default), or by their address when they do not
+ * send it. The header is not authenticated, so requests are limited per remote address as well, and priority
+ * clients, which pass unconditionally, are recognized by their remote address only. A client over its rate
+ * gets a 429 response, and a request shed under overload a 503 response, both with a Retry-After header. The
+ * filter runs ahead of the {@link DatabaseAdmissionFilter}, so rejected requests never queue for a database
+ * permit. A request counts as in flight while its container thread processes it; the asynchronous part of
+ * streamed responses does not.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class ClientAdmissionFilter extends OncePerRequestFilter {
+    private static final String FILTERED_PATH = "/api/customers";
+    private static final int MAX_CLIENT_ID_LENGTH = 64;
+
+    private final ClientRateLimiter rateLimiter;
+    private final LoadShedder loadShedder;
+    private final ObjectMapper objectMapper;
+    private final String clientHeader;
+
+    /**
+     * Constructor for ClientAdmissionFilter.
+     *
+     * @param rateLimiter  Per-client rate limiter.
+     * @param loadShedder  Shedder rejecting requests under overload.
+     * @param objectMapper Mapper used to write rejection responses.
+     * @param clientHeader Request header identifying the client.
+     */
+    @Autowired
+    public ClientAdmissionFilter(ClientRateLimiter rateLimiter, LoadShedder loadShedder, ObjectMapper objectMapper,
+                                 @Value("${customers.admission.client-header:X-Client-Id}") String clientHeader) {
+        this.rateLimiter = rateLimiter;
+        this.loadShedder = loadShedder;
+        this.objectMapper = objectMapper;
+        this.clientHeader = clientHeader;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !rateLimiter.isEnabled() && !loadShedder.isEnabled()
+                || !request.getRequestURI().startsWith(FILTERED_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String address = request.getRemoteAddr();
+        boolean priority = rateLimiter.admitPriority(address);
+
+        if (!priority) {
+            long retryAfterNanos = rateLimiter.tryAcquire(address, clientId(request));
+            if (retryAfterNanos > 0) {
+                reject(response, HttpStatus.TOO_MANY_REQUESTS, retryAfterNanos,
+                        "Too many requests from this client, try again later.", "RateLimited");
+                return;
+            }
+        }
+
+        if (!loadShedder.tryEnter(priority)) {
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, TimeUnit.SECONDS.toNanos(1),
+                    "The service is overloaded, try again later.", "LoadShed");
+            return;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            loadShedder.exit();
+        }
+    }
+
+    private String clientId(HttpServletRequest request) {
+        String clientId = request.getHeader(clientHeader);
+
+        if (clientId == null || clientId.isBlank()) {
+            return null;
+        }
+        return clientId.length() > MAX_CLIENT_ID_LENGTH ? clientId.substring(0, MAX_CLIENT_ID_LENGTH) : clientId;
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, long retryAfterNanos,
+                        String message, String reason) throws IOException {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER,
+                String.valueOf(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(retryAfterNanos + 999_999_999))));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ExceptionResponseDTO(status.value(), message, reason));
+    }
+}
@@ -0,0 +1,189 @@
+package com.app.theravenwithoutauth.admission;
+
+import com.app.theravenwithoutauth.model.dto.ClientRejectionsDTO;
+import com.app.theravenwithoutauth.model.dto.RateLimitStatsDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-client token buckets limiting the request rate of each client of the customer API.
+ * <p>
+ * Every client may send a burst of requests at once and then a steady number per second. A bucket is
+ * a single timestamp, the time at which it will be full again (the generic cell rate algorithm), and is
+ * updated with a compare-and-set, so admission never takes a lock. Buckets are kept in caches bounded
+ * to a maximum number of clients; an evicted client starts over with a full bucket.
+ * <p>
+ * Client IDs are chosen by the clients themselves, so besides the bucket of its client, every request
+ * takes a token from the bucket of its remote address, which has a separate, higher rate. A caller
+ * rotating client IDs therefore gets fresh client buckets but never more than its address's rate.
+ * Priority clients are identified by their remote address alone and are never limited.
+ */
+@Component
+public class ClientRateLimiter {
+    private static final int TOP_REJECTED_CLIENTS = 10;
+
+    private final boolean enabled;
+    private final double requestsPerSecond;
+    private final int burst;
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final double addressRequestsPerSecond;
+    private final int addressBurst;
+    private final long addressEmissionIntervalNanos;
+    private final long addressBurstToleranceNanos;
+    private final Set<String> priorityClients;
+    private final Cache<String, TokenBucket> clientBuckets;
+    private final Cache<String, TokenBucket> addressBuckets;
+
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder priorityAdmitted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * Constructor for ClientRateLimiter.
+     *
+     * @param enabled                  Whether clients are rate limited at all.
+     * @param requestsPerSecond        Steady number of requests per second allowed to each client.
+     * @param burst                    Number of requests a client may send at once.
+     * @param addressRequestsPerSecond Steady number of requests per second allowed to each remote address.
+     * @param addressBurst             Number of requests a remote address may send at once.
+     * @param maxClients               Maximum number of clients, and of addresses, whose buckets are kept.
+     * @param priorityClients          Remote addresses that are never rate limited or shed.
+     */
+    @Autowired
+    public ClientRateLimiter(@Value("${customers.admission.rate-limit.enabled:false}") boolean enabled,
+                             @Value("${customers.admission.rate-limit.requests-per-second:100}") double requestsPerSecond,
+                             @Value("${customers.admission.rate-limit.burst:200}") int burst,
+                             @Value("${customers.admission.rate-limit.address-requests-per-second:1000}") double addressRequestsPerSecond,
+                             @Value("${customers.admission.rate-limit.address-burst:2000}") int addressBurst,
+                             @Value("${customers.admission.rate-limit.max-clients:10000}") long maxClients,
+                             @Value("${customers.admission.priority-clients:}") Set<String> priorityClients) {
+        this.enabled = enabled;
+        this.requestsPerSecond = requestsPerSecond;
+        this.burst = burst;
+        this.emissionIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / requestsPerSecond);
+        this.burstToleranceNanos = (burst - 1) * emissionIntervalNanos;
+        this.addressRequestsPerSecond = addressRequestsPerSecond;
+        this.addressBurst = addressBurst;
+        this.addressEmissionIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / addressRequestsPerSecond);
+        this.addressBurstToleranceNanos = (addressBurst - 1) * addressEmissionIntervalNanos;
+        this.priorityClients = Set.copyOf(priorityClients);
+        this.clientBuckets = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .build();
+        this.addressBuckets = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Checks whether a client is exempt from rate limiting and load shedding, and counts its request if so.
+     *
+     * @param address Remote address of the client.
+     * @return True if the client is a priority client.
+     */
+    public boolean admitPriority(String address) {
+        if (!priorityClients.contains(address)) {
+            return false;
+        }
+
+        priorityAdmitted.increment();
+        return true;
+    }
+
+    /**
+     * Takes a token from the bucket of the client's address, then from the bucket of the client.
+     *
+     * @param address  Remote address of the client.
+     * @param clientId Identifier sent by the client, or null to identify the client by its address.
+     * @return 0 if the request is admitted, otherwise the time in nanoseconds until the client may retry.
+     */
+    public long tryAcquire(String address, String clientId) {
+        if (!enabled) {
+            admitted.increment();
+            return 0;
+        }
+
+        long now = System.nanoTime();
+        long retryAfterNanos = addressBuckets.get(address, key -> new TokenBucket(now))
+                .tryAcquire(now, addressEmissionIntervalNanos, addressBurstToleranceNanos);
+        if (retryAfterNanos == 0) {
+            // the address is part of the key, so a client ID sent from elsewhere cannot drain this bucket
+            String clientKey = clientId == null ? address : clientId + "@" + address;
+            retryAfterNanos = clientBuckets.get(clientKey, key -> new TokenBucket(now))
+                    .tryAcquire(now, emissionIntervalNanos, burstToleranceNanos);
+        }
+
+        if (retryAfterNanos > 0) {
+            rejected.increment();
+        } else {
+            admitted.increment();
+        }
+        return retryAfterNanos;
+    }
+
+    /**
+     * Returns the configuration and counters of the rate limiter.
+     *
+     * @return RateLimitStatsDTO containing the counters and the clients and addresses rejected most often.
+     */
+    public RateLimitStatsDTO getStats() {
+        return new RateLimitStatsDTO(enabled, requestsPerSecond, burst, addressRequestsPerSecond, addressBurst,
+                clientBuckets.estimatedSize(), addressBuckets.estimatedSize(), priorityClients.size(),
+                admitted.sum(), priorityAdmitted.sum(), rejected.sum(),
+                topRejected(clientBuckets), topRejected(addressBuckets));
+    }
+
+    private static List<ClientRejectionsDTO> topRejected(Cache<String, TokenBucket> buckets) {
+        return buckets.asMap().entrySet().stream()
+                .filter(entry -> entry.getValue().getRejected() > 0)
+                .map(entry -> new ClientRejectionsDTO(entry.getKey(), entry.getValue().getRejected()))
+                .sorted(Comparator.comparingLong(ClientRejectionsDTO::getRejected).reversed())
+                .limit(TOP_REJECTED_CLIENTS)
+                .toList();
+    }
+
+    /**
+     * Token bucket of one client, stored as the time at which the bucket is full again.
+     */
+    private static final class TokenBucket {
+        private final AtomicLong fullAt;
+        private final AtomicLong rejected = new AtomicLong();
+
+        TokenBucket(long now) {
+            this.fullAt = new AtomicLong(now);
+        }
+
+        long tryAcquire(long now, long emissionIntervalNanos, long burstToleranceNanos) {
+            while (true) {
+                long current = fullAt.get();
+                long earliest = current - burstToleranceNanos;
+                if (now - earliest < 0) {
+                    rejected.incrementAndGet();
+                    return earliest - now;
+                }
+                if (fullAt.compareAndSet(current, Math.max(current - now, 0) + now + emissionIntervalNanos)) {
+                    return 0;
+                }
+            }
+        }
+
+        long getRejected() {
+            return rejected.get();
+        }
+    }
+}
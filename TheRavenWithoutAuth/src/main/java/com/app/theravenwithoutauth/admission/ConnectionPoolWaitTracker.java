@@ -0,0 +1,64 @@
+package com.app.theravenwithoutauth.admission;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hikari metrics tracker recording how long requests recently waited for a JDBC connection.
+ * <p>
+ * The longest wait is kept per one-second window; the recent wait is the longest of the current and the
+ * previous window. A window without any acquisition reports no wait, so once load is shed and the pool
+ * drains, requests are let through again and the wait is measured afresh. A connection timeout counts
+ * as an unbounded wait.
+ */
+@Component
+public class ConnectionPoolWaitTracker implements MetricsTrackerFactory {
+    private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+    private final AtomicLong windowMaxWait = new AtomicLong();
+    private volatile long previousWindowMaxWait;
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        return new IMetricsTracker() {
+            @Override
+            public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                record(elapsedAcquiredNanos);
+            }
+
+            @Override
+            public void recordConnectionTimeout() {
+                record(Long.MAX_VALUE);
+            }
+        };
+    }
+
+    /**
+     * Returns the longest connection wait of the current and the previous window.
+     *
+     * @return Wait in nanoseconds, Long.MAX_VALUE if a connection request timed out.
+     */
+    public long getRecentWaitNanos() {
+        rotate(System.nanoTime());
+        return Math.max(previousWindowMaxWait, windowMaxWait.get());
+    }
+
+    private void record(long waitNanos) {
+        rotate(System.nanoTime());
+        windowMaxWait.accumulateAndGet(waitNanos, Math::max);
+    }
+
+    private void rotate(long now) {
+        long start = windowStart.get();
+        if (now - start >= WINDOW_NANOS && windowStart.compareAndSet(start, now)) {
+            long maxWait = windowMaxWait.getAndSet(0);
+            previousWindowMaxWait = now - start < 2 * WINDOW_NANOS ? maxWait : 0;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.app.theravenwithoutauth.admission;
+
+import com.app.theravenwithoutauth.model.dto.ExceptionResponseDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.*;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Filter admitting customer API requests through the {@link DatabaseAdmissionLimiter}.
+ * <p>
+ * Requests that are not admitted get a 503 response with a Retry-After header. Asynchronous
+ * requests (such as streamed exports) keep their permit until the response completes. The change feed
+ * is not admitted: its subscribers stay connected for long periods without holding a connection, and
+ * would otherwise each keep a permit for as long as they are subscribed.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class DatabaseAdmissionFilter extends OncePerRequestFilter {
+    private static final String FILTERED_PATH = "/api/customers";
+    private static final String EVENTS_PATH = "/api/customers/events";
+
+    private final DatabaseAdmissionLimiter limiter;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Constructor for DatabaseAdmissionFilter.
+     *
+     * @param limiter      Limiter deciding whether a request may run.
+     * @param objectMapper Mapper used to write rejection responses.
+     */
+    @Autowired
+    public DatabaseAdmissionFilter(DatabaseAdmissionLimiter limiter, ObjectMapper objectMapper) {
+        this.limiter = limiter;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return !limiter.isEnabled() || !path.startsWith(FILTERED_PATH) || path.equals(EVENTS_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean admitted;
+        try {
+            admitted = limiter.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            admitted = false;
+        }
+
+        if (!admitted) {
+            reject(response);
+            return;
+        }
+
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (released.compareAndSet(false, true)) {
+                limiter.release();
+            }
+        };
+
+        try {
+            filterChain.doFilter(new ReleasingOnAsyncRequest(request, release), response);
+        } finally {
+            if (!request.isAsyncStarted()) {
+                release.run();
+            }
+        }
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ExceptionResponseDTO(status.value(),
+                "Too many concurrent requests, try again later.", "AdmissionRejected"));
+    }
+
+    /**
+     * Registers the release listener as soon as asynchronous processing starts, before any async work can complete.
+     */
+    private static class ReleasingOnAsyncRequest extends HttpServletRequestWrapper {
+        private final Runnable release;
+
+        ReleasingOnAsyncRequest(HttpServletRequest request, Runnable release) {
+            super(request);
+            this.release = release;
+        }
+
+        @Override
+        public AsyncContext startAsync() {
+            AsyncContext asyncContext = super.startAsync();
+            asyncContext.addListener(new ReleasingAsyncListener(release));
+            return asyncContext;
+        }
+
+        @Override
+        public AsyncContext startAsync(ServletRequest servletRequest, ServletResponse servletResponse) {
+            AsyncContext asyncContext = super.startAsync(servletRequest, servletResponse);
+            asyncContext.addListener(new ReleasingAsyncListener(release));
+            return asyncContext;
+        }
+    }
+
+    private record ReleasingAsyncListener(Runnable release) implements AsyncListener {
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
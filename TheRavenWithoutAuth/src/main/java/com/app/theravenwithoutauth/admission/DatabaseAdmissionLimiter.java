@@ -0,0 +1,104 @@
+package com.app.theravenwithoutauth.admission;
+
+import com.app.theravenwithoutauth.model.dto.AdmissionStatsDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Semaphore limiting the number of customer requests running at once to the size of the connection pool.
+ * <p>
+ * With virtual threads the servlet container no longer caps concurrency, so without a limit thousands of
+ * requests would block inside the pool waiting for a connection. Requests beyond the limit wait here
+ * in FIFO order instead, up to a maximum queue length and wait time, after which they are rejected.
+ */
+@Component
+public class DatabaseAdmissionLimiter {
+    private final boolean enabled;
+    private final int maxConcurrent;
+    private final int maxQueued;
+    private final long queueTimeoutNanos;
+    private final Semaphore permits;
+
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * Constructor for DatabaseAdmissionLimiter.
+     *
+     * @param enabled       Whether requests are limited at all.
+     * @param maxConcurrent Number of requests allowed to run at once.
+     * @param maxQueued     Number of requests allowed to wait for a permit.
+     * @param queueTimeout  Maximum time a request waits for a permit.
+     */
+    @Autowired
+    public DatabaseAdmissionLimiter(@Value("${customers.admission.enabled:false}") boolean enabled,
+                                    @Value("${customers.admission.max-concurrent:10}") int maxConcurrent,
+                                    @Value("${customers.admission.max-queued:1000}") int maxQueued,
+                                    @Value("${customers.admission.queue-timeout:2s}") Duration queueTimeout) {
+        this.enabled = enabled;
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueued = maxQueued;
+        this.queueTimeoutNanos = queueTimeout.toNanos();
+        this.permits = new Semaphore(maxConcurrent, true);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Waits for a permit to run a request.
+     *
+     * @return True if the request was admitted and must call {@link #release()} when done, false if it was rejected.
+     * @throws InterruptedException If the thread is interrupted while waiting.
+     */
+    public boolean acquire() throws InterruptedException {
+        if (!permits.tryAcquire()) {
+            if (queued.incrementAndGet() > maxQueued) {
+                queued.decrementAndGet();
+                rejected.increment();
+                return false;
+            }
+
+            try {
+                if (!permits.tryAcquire(queueTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                    rejected.increment();
+                    return false;
+                }
+            } finally {
+                queued.decrementAndGet();
+            }
+        }
+
+        running.incrementAndGet();
+        admitted.increment();
+        return true;
+    }
+
+    /**
+     * Returns the permit of an admitted request.
+     */
+    public void release() {
+        running.decrementAndGet();
+        permits.release();
+    }
+
+    /**
+     * Returns the current state and counters of the limiter.
+     *
+     * @return AdmissionStatsDTO containing queued and running requests.
+     */
+    public AdmissionStatsDTO getStats() {
+        return new AdmissionStatsDTO(enabled, maxConcurrent, running.get(), queued.get(),
+                admitted.sum(), rejected.sum());
+    }
+}
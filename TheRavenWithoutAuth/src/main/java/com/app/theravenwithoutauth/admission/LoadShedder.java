@@ -0,0 +1,102 @@
+package com.app.theravenwithoutauth.admission;
+
+import com.app.theravenwithoutauth.model.dto.LoadSheddingStatsDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sheds customer API requests while the application is overloaded.
+ * <p>
+ * A request is rejected outright when too many requests are already in flight, or when requests
+ * recently waited longer than the threshold for a JDBC connection (as recorded by the
+ * {@link ConnectionPoolWaitTracker}). Unlike the {@link DatabaseAdmissionLimiter}, nothing waits:
+ * under overload, failing fast keeps the latency of the admitted requests low.
+ */
+@Component
+public class LoadShedder {
+    private final boolean enabled;
+    private final int maxInFlight;
+    private final long maxPoolWaitNanos;
+    private final ConnectionPoolWaitTracker poolWaitTracker;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder shedInFlight = new LongAdder();
+    private final LongAdder shedPoolWait = new LongAdder();
+
+    /**
+     * Constructor for LoadShedder.
+     *
+     * @param enabled         Whether requests are shed at all.
+     * @param maxInFlight     Number of requests in flight above which new requests are shed.
+     * @param maxPoolWait     Connection wait above which new requests are shed.
+     * @param poolWaitTracker Tracker of the recent connection waits.
+     */
+    @Autowired
+    public LoadShedder(@Value("${customers.admission.shedding.enabled:false}") boolean enabled,
+                       @Value("${customers.admission.shedding.max-in-flight:200}") int maxInFlight,
+                       @Value("${customers.admission.shedding.max-pool-wait:500ms}") Duration maxPoolWait,
+                       ConnectionPoolWaitTracker poolWaitTracker) {
+        this.enabled = enabled;
+        this.maxInFlight = maxInFlight;
+        this.maxPoolWaitNanos = maxPoolWait.toNanos();
+        this.poolWaitTracker = poolWaitTracker;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Admits a request unless the application is overloaded.
+     *
+     * @param exempt Whether the request comes from a priority client, which is admitted regardless.
+     * @return True if the request was admitted and must call {@link #exit()} when done, false if it was shed.
+     */
+    public boolean tryEnter(boolean exempt) {
+        int current = inFlight.incrementAndGet();
+
+        if (enabled && !exempt) {
+            if (current > maxInFlight) {
+                inFlight.decrementAndGet();
+                shedInFlight.increment();
+                return false;
+            }
+            if (poolWaitTracker.getRecentWaitNanos() > maxPoolWaitNanos) {
+                inFlight.decrementAndGet();
+                shedPoolWait.increment();
+                return false;
+            }
+        }
+
+        admitted.increment();
+        return true;
+    }
+
+    /**
+     * Marks an admitted request as no longer in flight.
+     */
+    public void exit() {
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * Returns the thresholds, current load and counters of the load shedder.
+     *
+     * @return LoadSheddingStatsDTO containing the in-flight requests, the recent connection wait and the counters.
+     */
+    public LoadSheddingStatsDTO getStats() {
+        long recentPoolWaitNanos = poolWaitTracker.getRecentWaitNanos();
+
+        return new LoadSheddingStatsDTO(enabled, maxInFlight, inFlight.get(),
+                TimeUnit.NANOSECONDS.toMillis(maxPoolWaitNanos),
+                recentPoolWaitNanos == Long.MAX_VALUE ? -1 : TimeUnit.NANOSECONDS.toMillis(recentPoolWaitNanos),
+                admitted.sum(), shedInFlight.sum(), shedPoolWait.sum());
+    }
+}
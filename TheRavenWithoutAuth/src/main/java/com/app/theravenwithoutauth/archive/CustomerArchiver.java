@@ -0,0 +1,160 @@
+package com.app.theravenwithoutauth.archive;
+
+import com.app.theravenwithoutauth.cache.CustomerCache;
+import com.app.theravenwithoutauth.model.dto.ArchiveStatsDTO;
+import com.app.theravenwithoutauth.repository.CustomerRepository;
+import com.app.theravenwithoutauth.sharding.CustomerShards;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Background job moving soft-deleted customers out of the customers table.
+ * <p>
+ * Customers that have been inactive for longer than the configured age (measured from their last
+ * update, which a deletion stamps) are copied to the archive table and removed from the customers
+ * table in small batches, one transaction per batch, pausing between batches so that the job never
+ * holds locks for long or competes with requests for the database. The shards are archived one after
+ * the other.
+ */
+@Component
+public class CustomerArchiver {
+    private static final Logger log = LoggerFactory.getLogger(CustomerArchiver.class);
+
+    private final CustomerRepository customerRepository;
+    private final CustomerCache customerCache;
+    private final TransactionTemplate transactionTemplate;
+    private final CustomerShards customerShards;
+    private final boolean enabled;
+    private final Duration minAge;
+    private final int batchSize;
+    private final Duration batchDelay;
+
+    private final AtomicLong totalArchived = new AtomicLong();
+    private volatile boolean running;
+    private volatile long runStarted;
+    private volatile long runFinished;
+    private volatile long runBatches;
+    private volatile long runArchived;
+    private volatile String lastError;
+
+    /**
+     * Constructor for CustomerArchiver.
+     *
+     * @param customerRepository  Repository used to find, copy and remove inactive customers.
+     * @param customerCache       Cache from which archived customers are dropped.
+     * @param transactionTemplate Template running every batch in its own transaction.
+     * @param customerShards      Shards whose customers are archived.
+     * @param enabled             Whether the job runs.
+     * @param minAge              Time a customer stays inactive before it is archived.
+     * @param batchSize           Number of customers moved per transaction.
+     * @param batchDelay          Pause between two batches.
+     */
+    @Autowired
+    public CustomerArchiver(CustomerRepository customerRepository, CustomerCache customerCache,
+                            TransactionTemplate transactionTemplate, CustomerShards customerShards,
+                            @Value("${customers.archive.enabled:true}") boolean enabled,
+                            @Value("${customers.archive.min-age:30d}") Duration minAge,
+                            @Value("${customers.archive.batch-size:500}") int batchSize,
+                            @Value("${customers.archive.batch-delay:200ms}") Duration batchDelay) {
+        this.customerRepository = customerRepository;
+        this.customerCache = customerCache;
+        this.transactionTemplate = transactionTemplate;
+        this.customerShards = customerShards;
+        this.enabled = enabled;
+        this.minAge = minAge;
+        this.batchSize = batchSize;
+        this.batchDelay = batchDelay;
+    }
+
+    /**
+     * Archives every customer that has been inactive for longer than the configured age.
+     */
+    @Scheduled(initialDelayString = "${customers.archive.initial-delay:PT1M}",
+            fixedDelayString = "${customers.archive.interval:PT1H}")
+    public void archiveInactiveCustomers() {
+        if (!enabled) {
+            return;
+        }
+
+        long cutoff = new Date().getTime() - minAge.toMillis();
+        running = true;
+        runStarted = System.currentTimeMillis();
+        runFinished = 0;
+        runBatches = 0;
+        runArchived = 0;
+        try {
+            for (int shard = 0; shard < customerShards.getCount(); shard++) {
+                try (CustomerShards.Scope scope = customerShards.select(shard)) {
+                    int archived;
+                    do {
+                        archived = archiveBatch(cutoff);
+                        if (archived > 0) {
+                            runBatches++;
+                            runArchived += archived;
+                            totalArchived.addAndGet(archived);
+                            Thread.sleep(batchDelay.toMillis());
+                        }
+                    } while (archived == batchSize);
+                }
+            }
+            lastError = null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            lastError = e.getMessage();
+            log.warn("Archival of inactive customers stopped after {} customers", runArchived, e);
+        } finally {
+            runFinished = System.currentTimeMillis();
+            running = false;
+        }
+
+        if (runArchived > 0) {
+            log.info("Archived {} inactive customers in {} batches", runArchived, runBatches);
+        }
+    }
+
+    /**
+     * Returns the progress of the current or last run and the total number of archived customers.
+     *
+     * @return ArchiveStatsDTO containing the job progress.
+     */
+    public ArchiveStatsDTO getStats() {
+        long started = runStarted;
+        long finished = running ? System.currentTimeMillis() : runFinished;
+        long archived = runArchived;
+        double rowsPerSecond = finished > started ? archived * 1000.0 / (finished - started) : 0;
+
+        return new ArchiveStatsDTO(enabled, running, started, runFinished, runBatches, archived, rowsPerSecond,
+                totalArchived.get(), lastError);
+    }
+
+    private int archiveBatch(long cutoff) {
+        List<Long> ids = transactionTemplate.execute(status -> {
+            List<Long> batch = customerRepository.findArchivableCustomerIds(cutoff, Limit.of(batchSize));
+            if (batch.isEmpty()) {
+                return batch;
+            }
+
+            int copied = customerRepository.archiveInactiveCustomers(batch, new Date().getTime());
+            int removed = customerRepository.deleteInactiveCustomers(batch);
+            if (copied != removed) {
+                throw new IllegalStateException("Archived " + copied + " customers but removed " + removed);
+            }
+            return batch;
+        });
+
+        customerCache.evictAll(ids);
+        return ids.size();
+    }
+}
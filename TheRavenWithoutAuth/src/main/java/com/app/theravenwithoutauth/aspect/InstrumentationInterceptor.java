@@ -0,0 +1,144 @@
+package com.app.theravenwithoutauth.aspect;
+
+import com.app.theravenwithoutauth.exception.CustomerUnavailableException;
+import com.app.theravenwithoutauth.metrics.MethodMetrics;
+import com.app.theravenwithoutauth.metrics.MethodMetricsRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.ClassFilter;
+import org.springframework.aop.MethodMatcher;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcher;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Role;
+import org.springframework.stereotype.Component;
+import org.springframework.stereotype.Service;
+import org.springframework.util.function.SingletonSupplier;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Method interceptor recording call counts, error counts and latency histograms of controller and service
+ * methods, applied by the advisor it declares.
+ * <p>
+ * Every call is recorded into the {@link MethodMetricsRegistry}. Logging is sampled: a fraction of
+ * calls (and, separately, of failed calls) is logged with its latency. With a sample rate of 0 no
+ * random numbers are drawn and nothing is logged, so the hot path only reads the clock twice
+ * and increments a counter. Requests for missing or deleted customers are counted as failures
+ * but never logged, as clients probing IDs can cause them at any rate.
+ * <p>
+ * It is a plain method interceptor rather than an AspectJ aspect with an annotated advice method: Spring
+ * invokes the latter reflectively, which wraps every exception passing through it in an
+ * InvocationTargetException that captures a full stack trace. Its pointcut is a plain class filter
+ * rather than an AspectJ expression, so matching it against every bean at startup only checks the
+ * package and annotations of the class, without initializing the AspectJ weaver.
+ */
+@Component
+public class InstrumentationInterceptor implements MethodInterceptor {
+    private static final String INSTRUMENTED_PACKAGE = "com.app.theravenwithoutauth.";
+
+    /**
+     * Class filter selecting the application's REST controllers and services.
+     */
+    static final ClassFilter INSTRUMENTED_CLASSES = clazz -> clazz.getName().startsWith(INSTRUMENTED_PACKAGE)
+            && (clazz.isAnnotationPresent(RestController.class) || clazz.isAnnotationPresent(Service.class));
+
+    /**
+     * Method matcher leaving out the methods inherited from outside the application, such as those of Object.
+     */
+    static final MethodMatcher INSTRUMENTED_METHODS = new StaticMethodMatcher() {
+        @Override
+        public boolean matches(Method method, Class<?> targetClass) {
+            return method.getDeclaringClass().getName().startsWith(INSTRUMENTED_PACKAGE);
+        }
+    };
+
+    private static final Logger log = LoggerFactory.getLogger(InstrumentationInterceptor.class);
+
+    private final MethodMetricsRegistry methodMetricsRegistry;
+    private final double logSampleRate;
+    private final double errorLogSampleRate;
+
+    /**
+     * Constructor for InstrumentationInterceptor.
+     *
+     * @param methodMetricsRegistry Registry receiving the recorded metrics.
+     * @param logSampleRate         Fraction of calls logged with their latency, between 0 and 1.
+     * @param errorLogSampleRate    Fraction of failed calls logged with their exception, between 0 and 1.
+     */
+    @Autowired
+    public InstrumentationInterceptor(MethodMetricsRegistry methodMetricsRegistry,
+                                      @Value("${instrumentation.log.sample-rate:0}") double logSampleRate,
+                                      @Value("${instrumentation.log.error-sample-rate:1}") double errorLogSampleRate) {
+        this.methodMetricsRegistry = methodMetricsRegistry;
+        this.logSampleRate = logSampleRate;
+        this.errorLogSampleRate = errorLogSampleRate;
+    }
+
+    /**
+     * Applies this interceptor to the instrumented methods.
+     * <p>
+     * Advisors are created along with the auto-proxy creator, before regular beans; the interceptor
+     * is looked up on first use so that it and its dependencies are still created as regular beans.
+     *
+     * @param instrumentationInterceptor Provider of the interceptor recording the calls.
+     * @return Advisor matching {@link #INSTRUMENTED_METHODS} of {@link #INSTRUMENTED_CLASSES}.
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor instrumentationAdvisor(ObjectProvider<InstrumentationInterceptor> instrumentationInterceptor) {
+        SingletonSupplier<InstrumentationInterceptor> interceptor =
+                SingletonSupplier.of(instrumentationInterceptor::getObject);
+
+        return new DefaultPointcutAdvisor(new ComposablePointcut(INSTRUMENTED_CLASSES, INSTRUMENTED_METHODS),
+                (MethodInterceptor) invocation -> interceptor.obtain().invoke(invocation));
+    }
+
+    /**
+     * Records the latency and outcome of a method call.
+     *
+     * @param invocation Invocation of the method being intercepted.
+     * @return The object returned by the intercepted method.
+     * @throws Throwable If the intercepted method throws an exception.
+     */
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        MethodMetrics methodMetrics = methodMetricsRegistry.forMethod(
+                invocation.getMethod(), invocation.getThis().getClass());
+        long start = System.nanoTime();
+
+        try {
+            Object object = invocation.proceed();
+
+            long nanos = System.nanoTime() - start;
+            methodMetrics.record(nanos, false);
+            if (sampled(logSampleRate)) {
+                log.info("{} took {} us", methodMetrics.getName(), nanos / 1000);
+            }
+
+            return object;
+        } catch (Throwable throwable) {
+            long nanos = System.nanoTime() - start;
+            methodMetrics.record(nanos, true);
+            if (!(throwable instanceof CustomerUnavailableException) && sampled(errorLogSampleRate)) {
+                log.warn("{} failed after {} us: {}", methodMetrics.getName(), nanos / 1000, throwable.toString());
+            }
+
+            throw throwable;
+        }
+    }
+
+    private static boolean sampled(double rate) {
+        return rate > 0 && (rate >= 1 || ThreadLocalRandom.current().nextDouble() < rate);
+    }
+}
@@ -0,0 +1,215 @@
+package com.app.theravenwithoutauth.cache;
+
+import com.app.theravenwithoutauth.metrics.LatencyHistogram;
+import com.app.theravenwithoutauth.model.Customer;
+import com.app.theravenwithoutauth.model.dto.BatchLoaderStatsDTO;
+import com.app.theravenwithoutauth.repository.CustomerRepository;
+import com.app.theravenwithoutauth.sharding.CustomerShards;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Coalesces concurrent customer lookups by ID into single {@code WHERE id IN (...)} queries.
+ * <p>
+ * A lookup is registered with {@link #load(long)}, which never blocks, and awaited with {@link #await}.
+ * The first lookup opens a batch that stays open for the batching window; lookups of an ID already in
+ * the batch share its result. Once the window has passed, or as soon as the batch is full, the first of
+ * its waiting threads to get there loads it with one query per shard. No background thread is involved,
+ * so the waiting lookups only ever block their own request threads.
+ * <p>
+ * Every query runs in a read-only transaction, so it may be served by a read replica; a lookup made inside
+ * a read-write transaction joins that transaction and reads from the primary database.
+ */
+@Component
+public class CustomerBatchLoader {
+    private final CustomerRepository customerRepository;
+    private final CustomerShards customerShards;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final boolean enabled;
+    private final long windowNanos;
+    private final int maxBatchSize;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private Batch openBatch;
+
+    private final LatencyHistogram batchSizes = new LatencyHistogram();
+    private final LongAdder requestedIds = new LongAdder();
+    private final LongAdder loadedIds = new LongAdder();
+
+    /**
+     * Constructor for CustomerBatchLoader.
+     *
+     * @param customerRepository  Repository used to load the batches.
+     * @param customerShards      Placement of the customers over the shards.
+     * @param transactionTemplate Template whose transaction manager runs the read-only load transactions.
+     * @param enabled             Whether lookups are batched; otherwise each lookup runs its own query.
+     * @param window              Time the first lookup of a batch waits for others to join.
+     * @param maxBatchSize        Number of distinct IDs at which a batch is loaded without waiting further.
+     */
+    @Autowired
+    public CustomerBatchLoader(CustomerRepository customerRepository, CustomerShards customerShards,
+                               TransactionTemplate transactionTemplate,
+                               @Value("${customers.batch-loading.enabled:true}") boolean enabled,
+                               @Value("${customers.batch-loading.window:200us}") Duration window,
+                               @Value("${customers.batch-loading.max-batch-size:200}") int maxBatchSize) {
+        this.customerRepository = customerRepository;
+        this.customerShards = customerShards;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.enabled = enabled;
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Registers a lookup of a customer by ID in the open batch, without blocking.
+     * <p>
+     * When batching is disabled, the customer is loaded right away with its own query.
+     *
+     * @param id ID of the customer to load.
+     * @return Future of an unmanaged copy of the customer, active or not, or of null if there is no such
+     * customer; to be passed to {@link #await}.
+     */
+    public CompletableFuture<Customer> load(long id) {
+        requestedIds.increment();
+
+        if (!enabled) {
+            loadedIds.increment();
+            batchSizes.record(1);
+            try (CustomerShards.Scope scope = customerShards.select(customerShards.shardOfId(id))) {
+                return CompletableFuture.completedFuture(readOnlyTransactionTemplate.execute(status ->
+                        customerRepository.findCustomerSnapshotById(id)));
+            }
+        }
+
+        lock.lock();
+        try {
+            if (openBatch == null) {
+                openBatch = new Batch(System.nanoTime() + windowNanos);
+            }
+            Batch batch = openBatch;
+            PendingCustomer customer = batch.customers.computeIfAbsent(id, key -> new PendingCustomer(batch));
+            if (batch.customers.size() >= maxBatchSize) {
+                close(batch);
+            }
+            return customer;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits for a lookup registered with {@link #load(long)}, loading its batch if no other thread does.
+     *
+     * @param lookup Future returned by {@link #load(long)}.
+     * @return The customer, or null if there is no customer with such an ID.
+     */
+    public Customer await(CompletableFuture<Customer> lookup) {
+        if (lookup instanceof PendingCustomer pending && !pending.isDone()) {
+            Batch batch = pending.batch;
+            long remaining;
+            while (!batch.closed && (remaining = batch.deadline - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(remaining);
+            }
+
+            lock.lock();
+            try {
+                close(batch);
+            } finally {
+                lock.unlock();
+            }
+            if (batch.dispatched.compareAndSet(false, true)) {
+                dispatch(batch);
+            }
+        }
+
+        return lookup.join();
+    }
+
+    /**
+     * Returns the batching settings and the sizes of the loaded batches.
+     *
+     * @return BatchLoaderStatsDTO containing the number of batches, requested and loaded IDs and batch size percentiles.
+     */
+    public BatchLoaderStatsDTO getStats() {
+        LatencyHistogram.Snapshot snapshot = batchSizes.snapshot();
+        long requested = requestedIds.sum();
+
+        return new BatchLoaderStatsDTO(enabled, TimeUnit.NANOSECONDS.toMicros(windowNanos), maxBatchSize,
+                snapshot.getCount(), requested, loadedIds.sum(),
+                snapshot.getCount() == 0 ? 0 : (double) loadedIds.sum() / snapshot.getCount(),
+                snapshot.getValueAtQuantile(0.5), snapshot.getValueAtQuantile(0.99), snapshot.getMax());
+    }
+
+    private void close(Batch batch) {
+        batch.closed = true;
+        if (openBatch == batch) {
+            openBatch = null;
+        }
+    }
+
+    private void dispatch(Batch batch) {
+        Map<Long, PendingCustomer> customers = batch.customers;
+        loadedIds.add(customers.size());
+        batchSizes.record(customers.size());
+
+        try {
+            Map<Integer, List<Long>> idsByShard = new HashMap<>();
+            customers.keySet().forEach(id ->
+                    idsByShard.computeIfAbsent(customerShards.shardOfId(id), shard -> new ArrayList<>()).add(id));
+
+            Map<Long, Customer> byId = new HashMap<>(customers.size() * 2);
+            idsByShard.forEach((shard, ids) -> {
+                try (CustomerShards.Scope scope = customerShards.select(shard)) {
+                    readOnlyTransactionTemplate.execute(status -> customerRepository.findCustomerSnapshotsByIds(ids))
+                            .forEach(customer -> byId.put(customer.getId(), customer));
+                }
+            });
+
+            customers.forEach((id, customer) -> customer.complete(byId.get(id)));
+        } catch (RuntimeException | Error e) {
+            customers.values().forEach(customer -> customer.completeExceptionally(e));
+        }
+    }
+
+    /**
+     * Lookups collected during one batching window, keyed by ID. The lookups are only added under the
+     * loader's lock while the batch is open, and only read once it is closed.
+     */
+    private static class Batch {
+        private final Map<Long, PendingCustomer> customers = new LinkedHashMap<>();
+        private final AtomicBoolean dispatched = new AtomicBoolean();
+        private final long deadline;
+        private volatile boolean closed;
+
+        private Batch(long deadline) {
+            this.deadline = deadline;
+        }
+    }
+
+    /**
+     * Lookup waiting for its batch to be loaded.
+     */
+    private static class PendingCustomer extends CompletableFuture<Customer> {
+        private final Batch batch;
+
+        private PendingCustomer(Batch batch) {
+            this.batch = batch;
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package com.app.theravenwithoutauth.cache;
+
+import com.app.theravenwithoutauth.model.Customer;
+import com.app.theravenwithoutauth.model.dto.CacheStatsDTO;
+import com.app.theravenwithoutauth.repository.CustomerRepository;
+import com.app.theravenwithoutauth.sharding.CustomerShards;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Bounded read-through cache in front of the customer lookups of {@link CustomerRepository}.
+ * <p>
+ * Customers are cached by ID, with a secondary email-to-ID index. Cached values are detached
+ * snapshots: misses are loaded through constructor projections that never enter the persistence
+ * context, and callers always receive a copy, so mutating a returned customer never affects the cache.
+ * Writes evict the affected entries immediately and publish the new state once the surrounding
+ * transaction commits (or right away when there is none), so readers never see uncommitted data.
+ * <p>
+ * Misses by ID are loaded through the {@link CustomerBatchLoader}, so concurrent misses are resolved with
+ * one query. The batch is awaited outside of the cache: concurrent lookups of the same ID share the pending
+ * load, and a load that is evicted while pending completes its callers without being cached.
+ * <p>
+ * Lookups by ID outside a transaction run in read-only transactions and may be served by a read replica.
+ * A customer written by this instance is reloaded from the primary database for as long as a replica
+ * may lag behind, so that a stale replica copy never re-enters the cache after the write.
+ * Lookups go to the shard of the ID or email they look up.
+ */
+@Component
+public class CustomerCache {
+    private final CustomerRepository customerRepository;
+    private final CustomerBatchLoader customerBatchLoader;
+    private final TransactionTemplate transactionTemplate;
+    private final CustomerShards customerShards;
+    private final AsyncCache<Long, Customer> customersById;
+    private final Cache<String, Long> idsByEmail;
+    private final Cache<Long, Boolean> recentlyWrittenIds;
+
+    /**
+     * Constructor for CustomerCache.
+     *
+     * @param customerRepository  Repository used to load customers by email on a cache miss.
+     * @param customerBatchLoader Loader coalescing the misses by ID into batches.
+     * @param transactionTemplate Template used to load recently written customers from the primary database.
+     * @param customerShards      Placement of the customers over the shards.
+     * @param maximumSize         Maximum number of customers kept in the cache.
+     * @param timeToLive          Time after which a cached customer is reloaded from the database.
+     * @param maxReplicaLag       Replication lag tolerated by the read replicas.
+     */
+    @Autowired
+    public CustomerCache(CustomerRepository customerRepository, CustomerBatchLoader customerBatchLoader,
+                         TransactionTemplate transactionTemplate, CustomerShards customerShards,
+                         @Value("${customers.cache.maximum-size:10000}") long maximumSize,
+                         @Value("${customers.cache.time-to-live:10m}") Duration timeToLive,
+                         @Value("${customers.datasource.max-replica-lag:PT5S}") Duration maxReplicaLag) {
+        this.customerRepository = customerRepository;
+        this.customerBatchLoader = customerBatchLoader;
+        this.transactionTemplate = transactionTemplate;
+        this.customerShards = customerShards;
+        this.customersById = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .recordStats()
+                .buildAsync();
+        this.idsByEmail = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .build();
+        this.recentlyWrittenIds = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(maxReplicaLag)
+                .build();
+    }
+
+    /**
+     * Finds a customer by ID, loading it from the database on a cache miss.
+     *
+     * @param id ID of the customer to find.
+     * @return A detached copy of the customer, or null if there is no customer with such an ID.
+     */
+    public Customer findCustomerById(long id) {
+        return resolve(lookup(id));
+    }
+
+    /**
+     * Finds several customers by ID, loading the misses from the database in as few queries as possible.
+     *
+     * @param ids IDs of the customers to find.
+     * @return Detached copies of the customers, in the order of the IDs, with null for IDs without a customer.
+     */
+    public List<Customer> findCustomersByIds(List<Long> ids) {
+        List<CompletableFuture<Customer>> lookups = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            lookups.add(lookup(id));
+        }
+
+        List<Customer> customers = new ArrayList<>(ids.size());
+        for (CompletableFuture<Customer> lookup : lookups) {
+            customers.add(resolve(lookup));
+        }
+
+        return customers;
+    }
+
+    /**
+     * Finds a customer by email, loading it from the database on a cache miss.
+     *
+     * @param email Email of the customer to find.
+     * @return A detached copy of the customer, or null if there is no customer with such an email.
+     */
+    public Customer findCustomerByEmail(String email) {
+        Long id = idsByEmail.getIfPresent(email);
+        Customer customer = id == null ? null : customersById.synchronous().getIfPresent(id);
+
+        if (customer == null) {
+            try (CustomerShards.Scope scope = customerShards.select(customerShards.shardOfEmail(email))) {
+                customer = customerRepository.findCustomerSnapshotByEmail(email);
+            }
+            if (customer == null) {
+                return null;
+            }
+            customersById.put(customer.getId(), CompletableFuture.completedFuture(customer));
+            idsByEmail.put(customer.getEmail(), customer.getId());
+        }
+
+        return copy(customer);
+    }
+
+    /**
+     * Publishes the new state of a created or updated customer.
+     *
+     * @param customer Customer whose state was written.
+     */
+    public void put(Customer customer) {
+        Customer snapshot = copy(customer);
+        customersById.synchronous().invalidate(snapshot.getId());
+        recentlyWrittenIds.put(snapshot.getId(), Boolean.TRUE);
+
+        afterCommit(() -> {
+            customersById.put(snapshot.getId(), CompletableFuture.completedFuture(snapshot));
+            idsByEmail.put(snapshot.getEmail(), snapshot.getId());
+        });
+    }
+
+    /**
+     * Drops a customer from the cache.
+     *
+     * @param id ID of the customer to drop.
+     */
+    public void evict(long id) {
+        customersById.synchronous().invalidate(id);
+        recentlyWrittenIds.put(id, Boolean.TRUE);
+        afterCommit(() -> customersById.synchronous().invalidate(id));
+    }
+
+    /**
+     * Drops several customers from the cache.
+     *
+     * @param ids IDs of the customers to drop.
+     */
+    public void evictAll(Collection<Long> ids) {
+        List<Long> snapshot = List.copyOf(ids);
+        customersById.synchronous().invalidateAll(snapshot);
+        snapshot.forEach(id -> recentlyWrittenIds.put(id, Boolean.TRUE));
+        afterCommit(() -> customersById.synchronous().invalidateAll(snapshot));
+    }
+
+    /**
+     * Returns the hit, miss and eviction counters of the cache.
+     *
+     * @return CacheStatsDTO containing the cache counters.
+     */
+    public CacheStatsDTO getStats() {
+        Cache<Long, Customer> cache = customersById.synchronous();
+        CacheStats stats = cache.stats();
+
+        return new CacheStatsDTO(cache.estimatedSize(), stats.hitCount(), stats.missCount(),
+                stats.evictionCount(), stats.hitRate());
+    }
+
+    private CompletableFuture<Customer> lookup(long id) {
+        return customersById.get(id, (key, executor) -> recentlyWrittenIds.getIfPresent(key) == null
+                ? customerBatchLoader.load(key)
+                : CompletableFuture.completedFuture(loadFromPrimary(key)));
+    }
+
+    private Customer loadFromPrimary(long id) {
+        try (CustomerShards.Scope scope = customerShards.select(customerShards.shardOfId(id))) {
+            return transactionTemplate.execute(status -> customerRepository.findCustomerSnapshotById(id));
+        }
+    }
+
+    private Customer resolve(CompletableFuture<Customer> lookup) {
+        Customer customer;
+        try {
+            customer = customerBatchLoader.await(lookup);
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+
+        if (customer != null) {
+            idsByEmail.put(customer.getEmail(), customer.getId());
+        }
+
+        return copy(customer);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static Customer copy(Customer customer) {
+        if (customer == null) {
+            return null;
+        }
+
+        return new Customer(customer.getId(), customer.getCreated(), customer.getUpdated(),
+                customer.getFullName(), customer.getEmail(), customer.getPhone(), customer.getIsActive(),
+                customer.getVersion());
+    }
+}
@@ -0,0 +1,160 @@
+package com.app.theravenwithoutauth.cache;
+
+import com.app.theravenwithoutauth.model.dto.EmailFilterStatsDTO;
+import com.app.theravenwithoutauth.repository.CustomerRepository;
+import com.app.theravenwithoutauth.sharding.CustomerShards;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Bloom filter of every email stored in the customers table, used to skip uniqueness lookups.
+ * <p>
+ * The filter is warmed in the background once the application is ready and is kept current
+ * by the insert paths. Until warming completes it answers "might contain" for every email.
+ * It only ever knows about emails inserted through this instance, so the unique constraint
+ * on the email column stays the authoritative conflict check. Emails are compared
+ * case-insensitively, matching the database collation.
+ */
+@Component
+public class CustomerEmailFilter {
+    private static final Logger log = LoggerFactory.getLogger(CustomerEmailFilter.class);
+
+    private final CustomerRepository customerRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final CustomerShards customerShards;
+    private final TaskExecutor taskExecutor;
+    private final BloomFilter bloomFilter;
+    private final boolean enabled;
+
+    private final LongAdder insertions = new LongAdder();
+    private final LongAdder skippedLookups = new LongAdder();
+    private final LongAdder performedLookups = new LongAdder();
+    private final LongAdder constraintConflicts = new LongAdder();
+    private volatile boolean ready;
+
+    /**
+     * Constructor for CustomerEmailFilter.
+     *
+     * @param customerRepository       Repository used to warm the filter.
+     * @param transactionTemplate      Template used to stream existing emails in a read-only transaction.
+     * @param customerShards           Shards whose emails are loaded.
+     * @param taskExecutor             Executor running the warm-up.
+     * @param expectedInsertions       Number of emails the filter is sized for.
+     * @param falsePositiveProbability Desired false-positive probability at that size.
+     * @param enabled                  Whether the filter is used; when disabled every email is looked up.
+     */
+    @Autowired
+    public CustomerEmailFilter(CustomerRepository customerRepository, TransactionTemplate transactionTemplate,
+                               CustomerShards customerShards, TaskExecutor taskExecutor,
+                               @Value("${customers.email-filter.expected-insertions:10000000}") long expectedInsertions,
+                               @Value("${customers.email-filter.false-positive-probability:0.01}") double falsePositiveProbability,
+                               @Value("${customers.email-filter.enabled:true}") boolean enabled) {
+        this.customerRepository = customerRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.customerShards = customerShards;
+        this.taskExecutor = taskExecutor;
+        this.bloomFilter = new BloomFilter(enabled ? expectedInsertions : 1, falsePositiveProbability);
+        this.enabled = enabled;
+    }
+
+    /**
+     * Loads every stored email into the filter in the background.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!enabled) {
+            return;
+        }
+
+        taskExecutor.execute(() -> {
+            try {
+                // read from the primary: an email missing from a lagging replica would skip the uniqueness lookup
+                customerShards.forEachShard(shard -> transactionTemplate.executeWithoutResult(status -> {
+                    try (Stream<String> emails = customerRepository.streamAllEmails()) {
+                        emails.forEach(this::add);
+                    }
+                }));
+                ready = true;
+                log.info("Customer email filter warmed with {} emails", insertions.sum());
+            } catch (RuntimeException e) {
+                log.warn("Customer email filter could not be warmed, uniqueness lookups stay enabled", e);
+            }
+        });
+    }
+
+    /**
+     * Adds an email to the filter.
+     *
+     * @param email Email of an inserted customer.
+     */
+    public void add(String email) {
+        bloomFilter.put(normalize(email));
+        insertions.increment();
+    }
+
+    /**
+     * Checks whether a customer with the given email might exist and therefore has to be looked up.
+     *
+     * @param email Email to check.
+     * @return False if no customer with such an email has been stored, true otherwise.
+     */
+    public boolean mightExist(String email) {
+        if (ready && !bloomFilter.mightContain(normalize(email))) {
+            skippedLookups.increment();
+            return false;
+        }
+
+        performedLookups.increment();
+        return true;
+    }
+
+    /**
+     * Records an insert that was rejected by the unique constraint after the filter let it through.
+     */
+    public void recordConstraintConflict() {
+        constraintConflicts.increment();
+    }
+
+    /**
+     * Returns the counters of the filter.
+     *
+     * @return EmailFilterStatsDTO containing the filter counters.
+     */
+    public EmailFilterStatsDTO getStats() {
+        return new EmailFilterStatsDTO(ready, bloomFilter.getBitCount(), bloomFilter.getHashCount(),
+                insertions.sum(), skippedLookups.sum(), performedLookups.sum(), constraintConflicts.sum());
+    }
+
+    /**
+     * Returns the key under which emails are compared: the unique key on the email column is
+     * case-insensitive, so emails that differ only in case belong to the same customer.
+     *
+     * @param email Email of a customer.
+     * @return The lowercased email.
+     */
+    public static String normalize(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Checks whether two emails belong to the same customer, ignoring case as the unique key does.
+     *
+     * @param email Email of a customer.
+     * @param other Email to compare it with.
+     * @return True if the emails are equal once normalized.
+     */
+    public static boolean sameEmail(String email, String other) {
+        return normalize(email).equals(normalize(other));
+    }
+}
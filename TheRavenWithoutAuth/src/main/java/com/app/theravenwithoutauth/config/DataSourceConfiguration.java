@@ -0,0 +1,131 @@
+package com.app.theravenwithoutauth.config;
+
+import com.app.theravenwithoutauth.admission.ConnectionPoolWaitTracker;
+import com.app.theravenwithoutauth.datasource.InstrumentedDataSource;
+import com.app.theravenwithoutauth.datasource.ReplicaRoutingDataSource;
+import com.app.theravenwithoutauth.datasource.RoutingTarget;
+import com.app.theravenwithoutauth.datasource.ShardRoutingDataSource;
+import com.app.theravenwithoutauth.metrics.JdbcMetricsRegistry;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration of the JDBC data source: the primary database, its optional read replicas and the
+ * optional further shards of the customers.
+ * <p>
+ * The exposed data source routes every connection of a read-only transaction to a healthy replica
+ * and everything else to the primary database. It is wrapped in a lazy connection proxy, so that the
+ * physical connection is only fetched at the first statement, once the transaction manager has
+ * published whether the transaction is read-only. Without configured replicas, all connections go
+ * to the primary database. Above that, every connection goes to the shard selected on the current
+ * thread, the primary database being the first shard; further shards have no replicas.
+ * <p>
+ * Connection waits of every pool are recorded for the load shedder, and unless disabled, the routed
+ * connections are instrumented to record statement timings and pool waits.
+ */
+@Configuration
+@EnableConfigurationProperties({DataSourceProperties.class, ReplicaDataSourceProperties.class,
+        ShardDataSourceProperties.class})
+public class DataSourceConfiguration {
+    private static final String HIKARI_PROPERTIES = "spring.datasource.hikari";
+
+    @Bean
+    public ReplicaRoutingDataSource routingDataSource(DataSourceProperties properties,
+                                                      ReplicaDataSourceProperties replicaProperties,
+                                                      Environment environment,
+                                                      ConnectionPoolWaitTracker poolWaitTracker) {
+        Binder binder = Binder.get(environment);
+
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind(HIKARI_PROPERTIES, Bindable.ofInstance(primary));
+        if (primary.getPoolName() == null) {
+            primary.setPoolName("primary");
+        }
+        primary.setMetricsTrackerFactory(poolWaitTracker);
+
+        List<RoutingTarget> replicas = new ArrayList<>();
+        for (ReplicaDataSourceProperties.Replica replica : replicaProperties.getReplicas()) {
+            String name = "replica-" + (replicas.size() + 1);
+            HikariDataSource dataSource = replicaDataSource(name, replica, properties, binder);
+            dataSource.setMetricsTrackerFactory(poolWaitTracker);
+            replicas.add(new RoutingTarget(name, dataSource, replica.getLagQuery()));
+        }
+
+        return new ReplicaRoutingDataSource(new RoutingTarget("primary", primary, null), replicas);
+    }
+
+    @Bean
+    public ShardRoutingDataSource shardRoutingDataSource(ReplicaRoutingDataSource routingDataSource,
+                                                         DataSourceProperties properties,
+                                                         ShardDataSourceProperties shardProperties,
+                                                         Environment environment,
+                                                         ConnectionPoolWaitTracker poolWaitTracker) {
+        Binder binder = Binder.get(environment);
+
+        List<ReplicaRoutingDataSource> shards = new ArrayList<>();
+        shards.add(routingDataSource);
+        for (ShardDataSourceProperties.Shard shard : shardProperties.getShards()) {
+            String name = "shard-" + shards.size();
+            HikariDataSource dataSource = poolDataSource(name, shard.getUrl(), shard.getUsername(),
+                    shard.getPassword(), shard.getDriverClassName(), shard.getMaximumPoolSize(), properties, binder);
+            dataSource.setMetricsTrackerFactory(poolWaitTracker);
+
+            ReplicaRoutingDataSource shardDataSource =
+                    new ReplicaRoutingDataSource(new RoutingTarget(name, dataSource, null), List.of());
+            shardDataSource.afterPropertiesSet();
+            shards.add(shardDataSource);
+        }
+
+        return new ShardRoutingDataSource(shards);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardRoutingDataSource shardRoutingDataSource, JdbcMetricsRegistry jdbcMetricsRegistry) {
+        return new LazyConnectionDataSourceProxy(jdbcMetricsRegistry.isEnabled()
+                ? new InstrumentedDataSource(shardRoutingDataSource, jdbcMetricsRegistry)
+                : shardRoutingDataSource);
+    }
+
+    private static HikariDataSource replicaDataSource(String name, ReplicaDataSourceProperties.Replica replica,
+                                                      DataSourceProperties properties, Binder binder) {
+        HikariDataSource dataSource = poolDataSource(name, replica.getUrl(), replica.getUsername(),
+                replica.getPassword(), replica.getDriverClassName(), replica.getMaximumPoolSize(), properties, binder);
+        dataSource.setReadOnly(true);
+
+        return dataSource;
+    }
+
+    private static HikariDataSource poolDataSource(String name, String url, String username, String password,
+                                                   String driverClassName, Integer maximumPoolSize,
+                                                   DataSourceProperties properties, Binder binder) {
+        HikariDataSource dataSource = DataSourceBuilder.create(properties.getClassLoader())
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username != null ? username : properties.determineUsername())
+                .password(password != null ? password : properties.determinePassword())
+                .driverClassName(driverClassName != null ? driverClassName : properties.determineDriverClassName())
+                .build();
+        binder.bind(HIKARI_PROPERTIES, Bindable.ofInstance(dataSource));
+
+        dataSource.setPoolName(name);
+        if (maximumPoolSize != null) {
+            dataSource.setMaximumPoolSize(maximumPoolSize);
+        }
+
+        return dataSource;
+    }
+}
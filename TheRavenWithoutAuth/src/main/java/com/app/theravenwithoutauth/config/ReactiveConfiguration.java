@@ -0,0 +1,35 @@
+package com.app.theravenwithoutauth.config;
+
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+/**
+ * Configuration of the reactive (WebFlux + R2DBC) customer API, active when the application
+ * runs as a reactive web application (the 'reactive' profile).
+ * <p>
+ * The R2DBC transaction manager is deliberately not exposed as a bean: the JPA transaction
+ * manager stays the only one, so {@code @Transactional} keeps resolving to it, and the reactive
+ * stack demarcates its transactions through the {@link TransactionalOperator} instead.
+ * <p>
+ * The JDBC data source is still declared by {@link DataSourceConfiguration}: JPA owns the schema
+ * and warms the known-email filter in this mode as well. R2DBC connections always go to the
+ * primary database, so the reactive variant refuses to start when customers are sharded.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveConfiguration {
+    @Bean
+    public TransactionalOperator reactiveTransactionalOperator(ConnectionFactory connectionFactory,
+                                                               ShardDataSourceProperties shardProperties) {
+        if (!shardProperties.getShards().isEmpty()) {
+            throw new IllegalStateException("The reactive variant does not support sharding, "
+                    + "remove the 'customers.sharding.shards' properties");
+        }
+
+        return TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory));
+    }
+}
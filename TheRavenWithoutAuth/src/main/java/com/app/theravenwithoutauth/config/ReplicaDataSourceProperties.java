@@ -0,0 +1,44 @@
+package com.app.theravenwithoutauth.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replicas of the database configured by the 'spring.datasource' properties.
+ * <p>
+ * Replica pools share the 'spring.datasource.hikari' settings of the primary pool; the username,
+ * password and driver default to those of the primary database.
+ */
+@Data
+@ConfigurationProperties("customers.datasource")
+public class ReplicaDataSourceProperties {
+    /**
+     * Replicas serving read-only transactions, in no particular order.
+     */
+    private List<Replica> replicas = new ArrayList<>();
+
+    /**
+     * Replication lag above which a replica stops receiving reads.
+     */
+    private Duration maxReplicaLag = Duration.ofSeconds(5);
+
+    @Data
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+        private String driverClassName;
+        private Integer maximumPoolSize;
+
+        /**
+         * Query reporting the replication lag in seconds, either in a 'Seconds_Behind_Source' column
+         * (as returned by MySQL's 'SHOW REPLICA STATUS') or in the first column. When not set, the
+         * replica is only checked for reachability and assumed to be up to date.
+         */
+        private String lagQuery;
+    }
+}
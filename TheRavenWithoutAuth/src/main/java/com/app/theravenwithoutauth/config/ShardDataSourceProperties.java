@@ -0,0 +1,34 @@
+package com.app.theravenwithoutauth.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Additional databases the customers are sharded over, next to the database configured by the
+ * 'spring.datasource' properties, which is always the first shard.
+ * <p>
+ * Shard pools share the 'spring.datasource.hikari' settings of the primary pool; the username, password
+ * and driver default to those of the primary database. Customer IDs encode their shard and customers are
+ * placed by the hash of their email, so shards can neither be removed nor reordered once customers were
+ * created, and adding shards requires moving the customers whose email now hashes elsewhere.
+ */
+@Data
+@ConfigurationProperties("customers.sharding")
+public class ShardDataSourceProperties {
+    /**
+     * Shards after the first one, in shard order.
+     */
+    private List<Shard> shards = new ArrayList<>();
+
+    @Data
+    public static class Shard {
+        private String url;
+        private String username;
+        private String password;
+        private String driverClassName;
+        private Integer maximumPoolSize;
+    }
+}
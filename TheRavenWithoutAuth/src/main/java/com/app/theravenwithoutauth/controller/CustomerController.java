@@ -1,16 +1,39 @@
 package com.app.theravenwithoutauth.controller;
 
 import com.app.theravenwithoutauth.exception.CustomerAlreadyExistsException;
+import com.app.theravenwithoutauth.exception.CustomerDeletedException;
+import com.app.theravenwithoutauth.exception.CustomerModifiedException;
+import com.app.theravenwithoutauth.exception.CustomerNotFoundException;
+import com.app.theravenwithoutauth.events.CustomerEventSubscription;
 import com.app.theravenwithoutauth.exception.InvalidInputFormatException;
+import com.app.theravenwithoutauth.model.dto.BatchCustomerResultDTO;
+import com.app.theravenwithoutauth.model.dto.BulkDeleteResultDTO;
 import com.app.theravenwithoutauth.model.dto.CustomerDTO;
 import com.app.theravenwithoutauth.model.dto.CustomerResponseDTO;
+import com.app.theravenwithoutauth.model.dto.CustomerVersionDTO;
+import com.app.theravenwithoutauth.model.dto.PatchCustomerDTO;
 import com.app.theravenwithoutauth.model.dto.UpdateCustomerDTO;
 import com.app.theravenwithoutauth.service.CustomerService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
 import java.util.List;
 
 
@@ -23,17 +46,27 @@ import java.util.List;
  */
 @RestController
 @RequestMapping("/api/customers")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class CustomerController {
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final CustomerService customerService;
+    private final ObjectMapper objectMapper;
+    private final Duration eventsConnectionTimeout;
 
     /**
      * Constructor for CustomerController.
      *
-     * @param customerService Service responsible for managing customer data.
+     * @param customerService         Service responsible for managing customer data.
+     * @param objectMapper            Mapper used to write streamed customers.
+     * @param eventsConnectionTimeout Time after which a change feed connection is closed for the client to reconnect.
      */
     @Autowired
-    public CustomerController(CustomerService customerService) {
+    public CustomerController(CustomerService customerService, ObjectMapper objectMapper,
+                              @Value("${customers.events.connection-timeout:30m}") Duration eventsConnectionTimeout) {
         this.customerService = customerService;
+        this.objectMapper = objectMapper;
+        this.eventsConnectionTimeout = eventsConnectionTimeout;
     }
 
     /**
@@ -50,50 +83,246 @@ public class CustomerController {
     }
 
     /**
-     * Endpoint for retrieving all customers.
+     * Endpoint for creating many customers at once.
+     * <p>
+     * Invalid items and duplicate emails do not fail the request; the outcome of
+     * every item is reported in the response, in the order of the request body.
+     *
+     * @param customerDTOs List of CustomerDTO containing the data for the new customers.
+     * @return ResponseEntity containing the per-item results.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<BatchCustomerResultDTO>> createCustomers(
+            @RequestBody @Size(max = 50000) List<CustomerDTO> customerDTOs) {
+        return ResponseEntity.ok(customerService.createCustomers(customerDTOs));
+    }
+
+    /**
+     * Endpoint for retrieving a page of active customers.
+     * <p>
+     * Pages are keyed on the customer ID: pass the value of the X-Next-Cursor header
+     * as the 'after' parameter to fetch the next page. The header is omitted on the last page.
+     * <p>
+     * A request carrying the ETag of a previous response in If-None-Match is first checked against
+     * the IDs and versions of the page only, and answered with 304 when nothing changed.
      *
-     * @return ResponseEntity containing a list of response DTOs for all customers.
+     * @param after   ID of the last customer of the previous page.
+     * @param limit   Maximum number of customers per page.
+     * @param request Current request, used to evaluate If-None-Match.
+     * @return ResponseEntity containing a list of response DTOs for active customers, or null if not modified.
      */
     @GetMapping
-    public ResponseEntity<List<CustomerResponseDTO>> readAllCustomers() {
-        return ResponseEntity.ok(customerService.getAllCustomers());
+    public ResponseEntity<List<CustomerResponseDTO>> readAllCustomers(
+            @RequestParam(defaultValue = "0") @Min(0) long after,
+            @RequestParam(defaultValue = "100") @Min(1) @Max(1000) int limit,
+            WebRequest request) {
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            List<CustomerVersionDTO> versions = customerService.getCustomerVersions(after, limit);
+            if (request.checkNotModified(CustomerETags.forPage(versions,
+                    CustomerVersionDTO::getId, CustomerVersionDTO::getVersion))) {
+                return null;
+            }
+        }
+
+        List<CustomerResponseDTO> customers = customerService.getAllCustomers(after, limit);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(CustomerETags.forPage(customers, CustomerResponseDTO::getId, CustomerResponseDTO::getVersion));
+        if (customers.size() == limit) {
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(customers.get(customers.size() - 1).getId()));
+        }
+
+        return response.body(customers);
+    }
+
+    /**
+     * Endpoint for retrieving several customers by their IDs in one request.
+     * <p>
+     * IDs without an active customer are skipped. The customers missing the cache are loaded with
+     * the same batched queries as concurrent single lookups.
+     *
+     * @param ids Comma-separated IDs of the customers to retrieve.
+     * @return ResponseEntity containing the response DTOs of the active customers, in the order of the IDs.
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<CustomerResponseDTO>> readCustomersByIds(
+            @RequestParam @Size(min = 1, max = 1000) List<@Min(1) Long> ids) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(customerService.getCustomersByIds(ids));
+    }
+
+    /**
+     * Endpoint for exporting all active customers as newline-delimited JSON.
+     * <p>
+     * Customers are written to the response as they are read from the database,
+     * so the export runs in constant memory.
+     *
+     * @return ResponseEntity streaming one JSON document per customer.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllCustomers() {
+        StreamingResponseBody body = outputStream -> {
+            try (SequenceWriter writer = objectMapper.writer()
+                    .withRootValueSeparator("\n")
+                    .writeValues(outputStream)) {
+                customerService.streamAllCustomers(customer -> {
+                    try {
+                        writer.write(customer);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                writer.flush();
+                outputStream.write('\n');
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    /**
+     * Endpoint streaming customer creations, updates and deletions as Server-Sent Events.
+     * <p>
+     * Each event is named after the kind of change and carries its position as id. A client resumes after
+     * the last event it received by sending its id in Last-Event-ID (as EventSource does on reconnect) or
+     * in the after parameter; without either, only new changes are sent. Clients that cannot keep up are
+     * disconnected and resume the same way.
+     *
+     * @param after       Position of the last event the client received.
+     * @param lastEventId Position of the last event the client received, sent by reconnecting EventSource clients.
+     * @return SseEmitter streaming the change events.
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamCustomerEvents(@RequestParam(required = false) @Min(0) Long after,
+                                           @RequestHeader(value = "Last-Event-ID", required = false) @Min(0) Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(eventsConnectionTimeout.toMillis());
+        CustomerEventSubscription subscription = customerService.subscribeToCustomerEvents(
+                lastEventId != null ? lastEventId : after, new SseEmitterEventSink(emitter));
+
+        emitter.onCompletion(subscription::cancel);
+        emitter.onTimeout(subscription::cancel);
+        emitter.onError(e -> subscription.cancel());
+
+        return emitter;
+    }
+
+    /**
+     * Endpoint for typeahead search over the full name, email and phone of active customers.
+     *
+     * @param q     Text to look for; one or two characters match the start of a word, longer texts any substring.
+     * @param limit Maximum number of customers to return.
+     * @return ResponseEntity containing the matching customers, those where the text starts a word first.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<CustomerResponseDTO>> searchCustomers(@RequestParam @Size(min = 1, max = 100) String q,
+                                                                     @RequestParam(defaultValue = "10") @Min(1) @Max(100) int limit) {
+        return ResponseEntity.ok(customerService.searchCustomers(q, limit));
     }
 
     /**
      * Endpoint for retrieving a customer by their ID.
+     * <p>
+     * The response carries the customer's version as ETag and its modification time as Last-Modified;
+     * a matching If-None-Match or If-Modified-Since is answered with 304 without writing the body.
      *
      * @param id ID of the customer to retrieve.
      * @return ResponseEntity containing the response DTO for the specified customer.
+     * @throws CustomerNotFoundException Thrown when there is no customer with the ID.
+     * @throws CustomerDeletedException  Thrown when the customer has been deleted.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<CustomerResponseDTO> readCustomerById(@PathVariable @Min(1) long id) {
-        return ResponseEntity.ok(customerService.getCustomerById(id));
+    public ResponseEntity<CustomerResponseDTO> readCustomerById(@PathVariable @Min(1) long id)
+            throws CustomerNotFoundException, CustomerDeletedException {
+        return withVersion(ResponseEntity.ok(), customerService.getCustomerById(id));
     }
 
     /**
      * Endpoint for updating an existing customer.
+     * <p>
+     * When an If-Match header is sent, the update only succeeds if it matches the customer's current ETag.
      *
      * @param id          ID of the customer to update.
+     * @param ifMatch     Optional ETag of the customer version the update is based on.
      * @param customerDTO UpdateCustomerDTO containing the new data for the customer.
      * @return ResponseEntity containing the response DTO for the updated customer.
      * @throws InvalidInputFormatException Thrown when the input data does not meet the required format.
+     * @throws CustomerModifiedException   Thrown when the customer does not match If-Match or was modified concurrently.
+     * @throws CustomerNotFoundException   Thrown when there is no customer with the ID.
+     * @throws CustomerDeletedException    Thrown when the customer has been deleted.
      */
     @PutMapping("/{id}")
     public ResponseEntity<CustomerResponseDTO> updateCustomer(@PathVariable @Min(1) long id,
+                                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
                                                               @RequestBody UpdateCustomerDTO customerDTO)
-            throws InvalidInputFormatException, IllegalAccessException {
-        return ResponseEntity.ok(customerService.updateCustomer(customerDTO, id));
+            throws InvalidInputFormatException, CustomerModifiedException,
+            CustomerNotFoundException, CustomerDeletedException {
+        return withVersion(ResponseEntity.ok(),
+                customerService.updateCustomer(customerDTO, id, CustomerETags.parseIfMatch(ifMatch)));
+    }
+
+    /**
+     * Endpoint for changing some fields of an existing customer.
+     * <p>
+     * Only the supplied fields are written, with a single UPDATE; the customer is not read back,
+     * so the response has no body. When an If-Match header is sent, the update only applies
+     * if it matches the customer's current ETag.
+     *
+     * @param id          ID of the customer to update.
+     * @param ifMatch     Optional ETag of the customer version the update is based on.
+     * @param customerDTO PatchCustomerDTO containing the fields to change.
+     * @return Empty ResponseEntity with status 204.
+     * @throws InvalidInputFormatException Thrown when the input data does not meet the required format.
+     * @throws CustomerModifiedException   Thrown when the customer does not match If-Match.
+     * @throws CustomerNotFoundException   Thrown when there is no customer with the ID.
+     * @throws CustomerDeletedException    Thrown when the customer has been deleted.
+     */
+    @PatchMapping("/{id}")
+    public ResponseEntity<Void> patchCustomer(@PathVariable @Min(1) long id,
+                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                              @RequestBody PatchCustomerDTO customerDTO)
+            throws InvalidInputFormatException, CustomerModifiedException,
+            CustomerNotFoundException, CustomerDeletedException {
+        customerService.patchCustomer(customerDTO, id, CustomerETags.parseIfMatch(ifMatch));
+        return ResponseEntity.noContent().build();
     }
 
     /**
      * Endpoint for deleting a customer by their ID.
      *
      * @param id ID of the customer to delete.
+     * @throws CustomerNotFoundException Thrown when there is no customer with the ID.
+     * @throws CustomerDeletedException  Thrown when the customer is already deleted.
      */
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteCustomer(@PathVariable @Min(1) long id) {
+    public ResponseEntity<Void> deleteCustomer(@PathVariable @Min(1) long id)
+            throws CustomerNotFoundException, CustomerDeletedException {
         customerService.deleteCustomer(id);
         return ResponseEntity.ok().build();
     }
 
+    /**
+     * Endpoint for deleting many customers at once.
+     * <p>
+     * IDs that do not exist or are already deleted are skipped and do not fail the request.
+     *
+     * @param ids List of IDs of the customers to delete.
+     * @return ResponseEntity containing the number of requested and deleted customers.
+     */
+    @PostMapping("/batch/delete")
+    public ResponseEntity<BulkDeleteResultDTO> deleteCustomers(@RequestBody @Size(max = 50000) List<Long> ids) {
+        return ResponseEntity.ok(customerService.deleteCustomers(ids));
+    }
+
+    private static ResponseEntity<CustomerResponseDTO> withVersion(ResponseEntity.BodyBuilder response,
+                                                                   CustomerResponseDTO customer) {
+        return response.cacheControl(CacheControl.noCache())
+                .eTag(CustomerETags.forCustomer(customer.getVersion()))
+                .lastModified(customer.getLastModified())
+                .body(customer);
+    }
+
 }
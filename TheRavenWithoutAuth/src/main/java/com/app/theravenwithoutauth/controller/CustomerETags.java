@@ -0,0 +1,66 @@
+package com.app.theravenwithoutauth.controller;
+
+import com.app.theravenwithoutauth.exception.CustomerModifiedException;
+
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * Entity tags of customer representations.
+ * <p>
+ * A single customer is tagged with its version, as a strong tag that can be sent back in If-Match.
+ * A page of customers gets a weak tag fingerprinting the IDs and versions it contains, so it changes
+ * whenever a customer enters, leaves or changes within the page.
+ */
+final class CustomerETags {
+    private static final String ANY = "*";
+
+    private CustomerETags() {
+    }
+
+    static String forCustomer(long version) {
+        return "\"" + version + "\"";
+    }
+
+    static <T> String forPage(List<T> customers, ToLongFunction<T> id, ToLongFunction<T> version) {
+        long hash = customers.size();
+        for (T customer : customers) {
+            hash = mix(hash + id.applyAsLong(customer));
+            hash = mix(hash + version.applyAsLong(customer));
+        }
+
+        return "W/\"" + Long.toHexString(hash) + "\"";
+    }
+
+    /**
+     * Parses an If-Match header into the customer version it requires.
+     *
+     * @param ifMatch Value of the If-Match header, or null if it is absent.
+     * @return The required version, or null if any version matches.
+     * @throws CustomerModifiedException Thrown if the header is not '*' or a single strong customer tag,
+     *                                   so no current version can match it.
+     */
+    static Long parseIfMatch(String ifMatch) throws CustomerModifiedException {
+        if (ifMatch == null || ANY.equals(ifMatch.trim())) {
+            return null;
+        }
+
+        String tag = ifMatch.trim();
+        if (tag.length() > 2 && tag.charAt(0) == '"' && tag.charAt(tag.length() - 1) == '"') {
+            try {
+                return Long.parseLong(tag.substring(1, tag.length() - 1));
+            } catch (NumberFormatException ignored) {
+                // falls through, the tag cannot match any version
+            }
+        }
+
+        throw new CustomerModifiedException("If-Match " + tag + " does not match the current version of the customer.");
+    }
+
+    // finalizer of MurmurHash3, so that neighbouring IDs and versions do not cancel out
+    private static long mix(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+}
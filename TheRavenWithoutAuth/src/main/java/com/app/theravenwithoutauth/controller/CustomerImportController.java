@@ -0,0 +1,89 @@
+package com.app.theravenwithoutauth.controller;
+
+import com.app.theravenwithoutauth.exception.ImportJobNotFoundException;
+import com.app.theravenwithoutauth.exception.InvalidInputFormatException;
+import com.app.theravenwithoutauth.model.dto.ImportJobDTO;
+import com.app.theravenwithoutauth.service.CustomerImportService;
+import com.app.theravenwithoutauth.service.impl.CustomerImportServiceImpl;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.List;
+
+/**
+ * Controller class handling bulk customer imports.
+ * <p>
+ * Imports are uploaded as the raw request body in CSV ('text/csv') or NDJSON ('application/x-ndjson').
+ * Once the upload is received, the import runs in the background: the response is 202 Accepted with
+ * the job, whose progress and rejection report are polled through the job endpoints.
+ */
+@RestController
+@RequestMapping("/api/customers/imports")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class CustomerImportController {
+    private static final String TEXT_CSV_VALUE = "text/csv";
+
+    private final CustomerImportService customerImportService;
+
+    /**
+     * Constructor for CustomerImportController.
+     *
+     * @param customerImportService Service responsible for importing customers.
+     */
+    @Autowired
+    public CustomerImportController(CustomerImportService customerImportService) {
+        this.customerImportService = customerImportService;
+    }
+
+    /**
+     * Endpoint for importing customers from a CSV or NDJSON request body.
+     *
+     * @param request Request whose body contains the customers.
+     * @return ResponseEntity containing the started import job, with its location in the Location header.
+     * @throws InvalidInputFormatException Thrown when the CSV header is invalid.
+     * @throws IOException                 Thrown when the request body cannot be read.
+     */
+    @PostMapping(consumes = {TEXT_CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<ImportJobDTO> importCustomers(HttpServletRequest request)
+            throws InvalidInputFormatException, IOException {
+        String format = MediaType.parseMediaType(request.getContentType()).getSubtype().equals("csv")
+                ? CustomerImportServiceImpl.FORMAT_CSV : CustomerImportServiceImpl.FORMAT_NDJSON;
+
+        ImportJobDTO job = customerImportService.importCustomers(request.getInputStream(), format);
+        URI location = ServletUriComponentsBuilder.fromCurrentRequestUri()
+                .path("/{id}")
+                .buildAndExpand(job.getId())
+                .toUri();
+
+        return ResponseEntity.accepted().location(location).body(job);
+    }
+
+    /**
+     * Endpoint for retrieving the progress of the most recent import jobs.
+     *
+     * @return ResponseEntity containing the import jobs without their rejected rows.
+     */
+    @GetMapping
+    public ResponseEntity<List<ImportJobDTO>> readImportJobs() {
+        return ResponseEntity.ok(customerImportService.getImportJobs());
+    }
+
+    /**
+     * Endpoint for retrieving the progress and rejection report of an import job.
+     *
+     * @param id ID of the import job.
+     * @return ResponseEntity containing the import job.
+     * @throws ImportJobNotFoundException Thrown when there is no retained import job with the ID.
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<ImportJobDTO> readImportJob(@PathVariable String id) throws ImportJobNotFoundException {
+        return ResponseEntity.ok(customerImportService.getImportJob(id));
+    }
+}
@@ -0,0 +1,216 @@
+package com.app.theravenwithoutauth.controller;
+
+import com.app.theravenwithoutauth.admission.ClientRateLimiter;
+import com.app.theravenwithoutauth.admission.DatabaseAdmissionLimiter;
+import com.app.theravenwithoutauth.admission.LoadShedder;
+import com.app.theravenwithoutauth.archive.CustomerArchiver;
+import com.app.theravenwithoutauth.cache.CustomerBatchLoader;
+import com.app.theravenwithoutauth.cache.CustomerCache;
+import com.app.theravenwithoutauth.cache.CustomerEmailFilter;
+import com.app.theravenwithoutauth.datasource.ShardRoutingDataSource;
+import com.app.theravenwithoutauth.events.CustomerEventDispatcher;
+import com.app.theravenwithoutauth.metrics.JdbcMetricsRegistry;
+import com.app.theravenwithoutauth.metrics.MethodMetricsRegistry;
+import com.app.theravenwithoutauth.model.dto.AdmissionStatsDTO;
+import com.app.theravenwithoutauth.model.dto.ArchiveStatsDTO;
+import com.app.theravenwithoutauth.model.dto.BatchLoaderStatsDTO;
+import com.app.theravenwithoutauth.model.dto.CacheStatsDTO;
+import com.app.theravenwithoutauth.model.dto.CustomerEventStatsDTO;
+import com.app.theravenwithoutauth.model.dto.DataSourceStatsDTO;
+import com.app.theravenwithoutauth.model.dto.EmailFilterStatsDTO;
+import com.app.theravenwithoutauth.model.dto.JdbcStatsDTO;
+import com.app.theravenwithoutauth.model.dto.LoadSheddingStatsDTO;
+import com.app.theravenwithoutauth.model.dto.MethodMetricsDTO;
+import com.app.theravenwithoutauth.model.dto.RateLimitStatsDTO;
+import com.app.theravenwithoutauth.model.dto.SearchIndexStatsDTO;
+import com.app.theravenwithoutauth.search.CustomerSearchIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Controller class exposing runtime metrics of the application.
+ */
+@RestController
+@RequestMapping("/api/metrics")
+public class MetricsController {
+    private final CustomerCache customerCache;
+    private final CustomerBatchLoader customerBatchLoader;
+    private final CustomerEmailFilter customerEmailFilter;
+    private final MethodMetricsRegistry methodMetricsRegistry;
+    private final JdbcMetricsRegistry jdbcMetricsRegistry;
+    private final DatabaseAdmissionLimiter databaseAdmissionLimiter;
+    private final ClientRateLimiter clientRateLimiter;
+    private final LoadShedder loadShedder;
+    private final CustomerArchiver customerArchiver;
+    private final CustomerSearchIndex customerSearchIndex;
+    private final ShardRoutingDataSource shardRoutingDataSource;
+    private final CustomerEventDispatcher customerEventDispatcher;
+
+    /**
+     * Constructor for MetricsController.
+     *
+     * @param customerCache            Cache of customer lookups.
+     * @param customerBatchLoader      Loader coalescing customer lookups into batches.
+     * @param customerEmailFilter      Bloom filter of known customer emails.
+     * @param methodMetricsRegistry    Registry of controller and service method metrics.
+     * @param jdbcMetricsRegistry      Registry of statement timings and statements per request.
+     * @param databaseAdmissionLimiter Limiter of concurrent customer requests.
+     * @param clientRateLimiter        Per-client rate limiter of customer requests.
+     * @param loadShedder              Shedder of customer requests under overload.
+     * @param customerArchiver         Job archiving inactive customers.
+     * @param customerSearchIndex      Typeahead index of active customers.
+     * @param shardRoutingDataSource   Data source routing connections to the shards and their replicas.
+     * @param customerEventDispatcher  Dispatcher of the customer change feed.
+     */
+    @Autowired
+    public MetricsController(CustomerCache customerCache, CustomerBatchLoader customerBatchLoader,
+                             CustomerEmailFilter customerEmailFilter,
+                             MethodMetricsRegistry methodMetricsRegistry,
+                             JdbcMetricsRegistry jdbcMetricsRegistry,
+                             DatabaseAdmissionLimiter databaseAdmissionLimiter,
+                             ClientRateLimiter clientRateLimiter,
+                             LoadShedder loadShedder,
+                             CustomerArchiver customerArchiver,
+                             CustomerSearchIndex customerSearchIndex,
+                             ShardRoutingDataSource shardRoutingDataSource,
+                             CustomerEventDispatcher customerEventDispatcher) {
+        this.customerCache = customerCache;
+        this.customerBatchLoader = customerBatchLoader;
+        this.customerEmailFilter = customerEmailFilter;
+        this.methodMetricsRegistry = methodMetricsRegistry;
+        this.jdbcMetricsRegistry = jdbcMetricsRegistry;
+        this.databaseAdmissionLimiter = databaseAdmissionLimiter;
+        this.clientRateLimiter = clientRateLimiter;
+        this.loadShedder = loadShedder;
+        this.customerArchiver = customerArchiver;
+        this.customerSearchIndex = customerSearchIndex;
+        this.shardRoutingDataSource = shardRoutingDataSource;
+        this.customerEventDispatcher = customerEventDispatcher;
+    }
+
+    /**
+     * Endpoint for retrieving the call counts and latency percentiles of controller and service methods.
+     *
+     * @return ResponseEntity containing the metrics of every method called so far.
+     */
+    @GetMapping("/methods")
+    public ResponseEntity<List<MethodMetricsDTO>> readMethodMetrics() {
+        return ResponseEntity.ok(methodMetricsRegistry.getMethodMetrics());
+    }
+
+    /**
+     * Endpoint for retrieving the statement timings by SQL shape, the connection waits and the statements per
+     * request of every customer endpoint.
+     *
+     * @return ResponseEntity containing the JDBC metrics, statements executed most often first.
+     */
+    @GetMapping("/jdbc")
+    public ResponseEntity<JdbcStatsDTO> readJdbcStats() {
+        return ResponseEntity.ok(jdbcMetricsRegistry.getStats());
+    }
+
+    /**
+     * Endpoint for retrieving the counters of the customer cache.
+     *
+     * @return ResponseEntity containing the cache counters.
+     */
+    @GetMapping("/customer-cache")
+    public ResponseEntity<CacheStatsDTO> readCustomerCacheStats() {
+        return ResponseEntity.ok(customerCache.getStats());
+    }
+
+    /**
+     * Endpoint for retrieving the batch sizes of the customer lookups loaded from the database.
+     *
+     * @return ResponseEntity containing the batching settings, counters and batch size percentiles.
+     */
+    @GetMapping("/batch-loading")
+    public ResponseEntity<BatchLoaderStatsDTO> readBatchLoadingStats() {
+        return ResponseEntity.ok(customerBatchLoader.getStats());
+    }
+
+    /**
+     * Endpoint for retrieving the counters of the known-email filter.
+     *
+     * @return ResponseEntity containing the filter counters.
+     */
+    @GetMapping("/customer-email-filter")
+    public ResponseEntity<EmailFilterStatsDTO> readCustomerEmailFilterStats() {
+        return ResponseEntity.ok(customerEmailFilter.getStats());
+    }
+
+    /**
+     * Endpoint for retrieving the size and build state of the customer search index.
+     *
+     * @return ResponseEntity containing the index state.
+     */
+    @GetMapping("/customer-search")
+    public ResponseEntity<SearchIndexStatsDTO> readCustomerSearchStats() {
+        return ResponseEntity.ok(customerSearchIndex.getStats());
+    }
+
+    /**
+     * Endpoint for retrieving the subscribers and counters of the customer change feed.
+     *
+     * @return ResponseEntity containing the change feed state.
+     */
+    @GetMapping("/customer-events")
+    public ResponseEntity<CustomerEventStatsDTO> readCustomerEventStats() {
+        return ResponseEntity.ok(customerEventDispatcher.getStats());
+    }
+
+    /**
+     * Endpoint for retrieving the queued and running customer requests of the admission limiter.
+     *
+     * @return ResponseEntity containing the limiter state and counters.
+     */
+    @GetMapping("/admission")
+    public ResponseEntity<AdmissionStatsDTO> readAdmissionStats() {
+        return ResponseEntity.ok(databaseAdmissionLimiter.getStats());
+    }
+
+    /**
+     * Endpoint for retrieving the admitted and rejected requests of the per-client rate limiter.
+     *
+     * @return ResponseEntity containing the limiter counters and the clients rejected most often.
+     */
+    @GetMapping("/rate-limits")
+    public ResponseEntity<RateLimitStatsDTO> readRateLimitStats() {
+        return ResponseEntity.ok(clientRateLimiter.getStats());
+    }
+
+    /**
+     * Endpoint for retrieving the current load and the admitted and shed requests of the load shedder.
+     *
+     * @return ResponseEntity containing the shedder state and counters.
+     */
+    @GetMapping("/load-shedding")
+    public ResponseEntity<LoadSheddingStatsDTO> readLoadSheddingStats() {
+        return ResponseEntity.ok(loadShedder.getStats());
+    }
+
+    /**
+     * Endpoint for retrieving the progress and throughput of the customer archival job.
+     *
+     * @return ResponseEntity containing the job progress.
+     */
+    @GetMapping("/archive")
+    public ResponseEntity<ArchiveStatsDTO> readArchiveStats() {
+        return ResponseEntity.ok(customerArchiver.getStats());
+    }
+
+    /**
+     * Endpoint for retrieving the routing counters, replication lag and pool state of the shards and their replicas.
+     *
+     * @return ResponseEntity containing the state of every data source, shard by shard, the primary database first.
+     */
+    @GetMapping("/datasources")
+    public ResponseEntity<List<DataSourceStatsDTO>> readDataSourceStats() {
+        return ResponseEntity.ok(shardRoutingDataSource.getStats());
+    }
+}
@@ -0,0 +1,242 @@
+package com.app.theravenwithoutauth.controller;
+
+import com.app.theravenwithoutauth.exception.CustomerModifiedException;
+import com.app.theravenwithoutauth.model.dto.CustomerDTO;
+import com.app.theravenwithoutauth.model.dto.CustomerEventDTO;
+import com.app.theravenwithoutauth.model.dto.CustomerResponseDTO;
+import com.app.theravenwithoutauth.model.dto.CustomerVersionDTO;
+import com.app.theravenwithoutauth.model.dto.PatchCustomerDTO;
+import com.app.theravenwithoutauth.model.dto.UpdateCustomerDTO;
+import com.app.theravenwithoutauth.service.ReactiveCustomerService;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Non-blocking controller class handling customer-related operations.
+ * <p>
+ * Exposes the same endpoints and responses as {@link CustomerController} (except batch creation
+ * and imports) when the application runs as a reactive web application (the 'reactive' profile).
+ */
+@RestController
+@RequestMapping("/api/customers")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveCustomerController {
+    private final ReactiveCustomerService customerService;
+    private final Duration eventsHeartbeatInterval;
+    private final Duration eventsConnectionTimeout;
+
+    /**
+     * Constructor for ReactiveCustomerController.
+     *
+     * @param customerService         Reactive service responsible for managing customer data.
+     * @param eventsHeartbeatInterval Time between two keep-alive messages on a change feed connection.
+     * @param eventsConnectionTimeout Time after which a change feed connection is closed for the client to reconnect.
+     */
+    @Autowired
+    public ReactiveCustomerController(ReactiveCustomerService customerService,
+                                      @Value("${customers.events.heartbeat-interval:15s}") Duration eventsHeartbeatInterval,
+                                      @Value("${customers.events.connection-timeout:30m}") Duration eventsConnectionTimeout) {
+        this.customerService = customerService;
+        this.eventsHeartbeatInterval = eventsHeartbeatInterval;
+        this.eventsConnectionTimeout = eventsConnectionTimeout;
+    }
+
+    /**
+     * Endpoint for creating a new customer.
+     *
+     * @param customerDTO CustomerDTO containing the data for the new customer.
+     * @return Mono emitting the response DTO for the created customer.
+     */
+    @PostMapping
+    public Mono<ResponseEntity<CustomerResponseDTO>> createCustomer(@RequestBody CustomerDTO customerDTO) {
+        return customerService.createCustomer(customerDTO)
+                .map(ResponseEntity::ok);
+    }
+
+    /**
+     * Endpoint for retrieving a page of active customers, keyed on the customer ID like
+     * {@link CustomerController#readAllCustomers}.
+     *
+     * @param after    ID of the last customer of the previous page.
+     * @param limit    Maximum number of customers per page.
+     * @param exchange Current exchange, used to evaluate If-None-Match.
+     * @return Mono emitting the list of response DTOs for active customers, or empty if not modified.
+     */
+    @GetMapping
+    public Mono<ResponseEntity<List<CustomerResponseDTO>>> readAllCustomers(
+            @RequestParam(defaultValue = "0") @Min(0) long after,
+            @RequestParam(defaultValue = "100") @Min(1) @Max(1000) int limit,
+            ServerWebExchange exchange) {
+        Mono<Boolean> notModified = !exchange.getRequest().getHeaders().containsKey(HttpHeaders.IF_NONE_MATCH)
+                ? Mono.just(false)
+                : customerService.getCustomerVersions(after, limit)
+                .collectList()
+                .map(versions -> exchange.checkNotModified(CustomerETags.forPage(versions,
+                        CustomerVersionDTO::getId, CustomerVersionDTO::getVersion)));
+
+        return notModified
+                .filter(unchanged -> !unchanged)
+                .flatMap(unchanged -> customerService.getAllCustomers(after, limit).collectList())
+                .map(customers -> {
+                    ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                            .cacheControl(CacheControl.noCache())
+                            .eTag(CustomerETags.forPage(customers,
+                                    CustomerResponseDTO::getId, CustomerResponseDTO::getVersion));
+                    if (customers.size() == limit) {
+                        response.header(CustomerController.NEXT_CURSOR_HEADER,
+                                String.valueOf(customers.get(customers.size() - 1).getId()));
+                    }
+                    return response.body(customers);
+                });
+    }
+
+    /**
+     * Endpoint for streaming all active customers as newline-delimited JSON, with backpressure
+     * from the client connection down to the database cursor.
+     *
+     * @return Flux of response DTOs for active customers.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<CustomerResponseDTO> streamAllCustomers() {
+        return customerService.streamAllCustomers();
+    }
+
+    /**
+     * Endpoint streaming customer creations, updates and deletions as Server-Sent Events.
+     * <p>
+     * Each event is named after the kind of change and carries its position as id. A client resumes after
+     * the last event it received by sending its id in Last-Event-ID (as EventSource does on reconnect) or
+     * in the after parameter; without either, only new changes are sent. Clients that cannot keep up are
+     * disconnected and resume the same way.
+     *
+     * @param after       Position of the last event the client received.
+     * @param lastEventId Position of the last event the client received, sent by reconnecting EventSource clients.
+     * @return Flux of the change events, interleaved with keep-alive comments.
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<CustomerEventDTO>> streamCustomerEvents(
+            @RequestParam(required = false) @Min(0) Long after,
+            @RequestHeader(value = "Last-Event-ID", required = false) @Min(0) Long lastEventId) {
+        Flux<ServerSentEvent<CustomerEventDTO>> events = customerService
+                .streamCustomerEvents(lastEventId != null ? lastEventId : after)
+                .map(event -> ServerSentEvent.builder(event)
+                        .id(String.valueOf(event.getPosition()))
+                        .event(event.getType().name())
+                        .build());
+        Flux<ServerSentEvent<CustomerEventDTO>> heartbeats = Flux.interval(eventsHeartbeatInterval)
+                .map(tick -> ServerSentEvent.<CustomerEventDTO>builder().comment("heartbeat").build());
+
+        return events
+                .publish(shared -> Flux.merge(shared, heartbeats.takeUntilOther(shared.ignoreElements())))
+                .takeUntilOther(Mono.delay(eventsConnectionTimeout));
+    }
+
+    /**
+     * Endpoint for typeahead search over the full name, email and phone of active customers.
+     *
+     * @param q     Text to look for; one or two characters match the start of a word, longer texts any substring.
+     * @param limit Maximum number of customers to return.
+     * @return Mono emitting the matching customers, those where the text starts a word first.
+     */
+    @GetMapping("/search")
+    public Mono<ResponseEntity<List<CustomerResponseDTO>>> searchCustomers(@RequestParam @Size(min = 1, max = 100) String q,
+                                                                           @RequestParam(defaultValue = "10") @Min(1) @Max(100) int limit) {
+        return customerService.searchCustomers(q, limit)
+                .collectList()
+                .map(ResponseEntity::ok);
+    }
+
+    /**
+     * Endpoint for retrieving a customer by their ID.
+     *
+     * @param id ID of the customer to retrieve.
+     * @return Mono emitting the response DTO for the specified customer.
+     */
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<CustomerResponseDTO>> readCustomerById(@PathVariable @Min(1) long id) {
+        return customerService.getCustomerById(id)
+                .map(ReactiveCustomerController::withVersion);
+    }
+
+    /**
+     * Endpoint for updating an existing customer.
+     *
+     * @param id          ID of the customer to update.
+     * @param ifMatch     Optional ETag of the customer version the update is based on.
+     * @param customerDTO UpdateCustomerDTO containing the new data for the customer.
+     * @return Mono emitting the response DTO for the updated customer.
+     */
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<CustomerResponseDTO>> updateCustomer(@PathVariable @Min(1) long id,
+                                                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                                    @RequestBody UpdateCustomerDTO customerDTO) {
+        Long expectedVersion;
+        try {
+            expectedVersion = CustomerETags.parseIfMatch(ifMatch);
+        } catch (CustomerModifiedException e) {
+            return Mono.error(e);
+        }
+
+        return customerService.updateCustomer(customerDTO, id, expectedVersion)
+                .map(ReactiveCustomerController::withVersion);
+    }
+
+    /**
+     * Endpoint for changing some fields of an existing customer with a single UPDATE.
+     *
+     * @param id          ID of the customer to update.
+     * @param ifMatch     Optional ETag of the customer version the update is based on.
+     * @param customerDTO PatchCustomerDTO containing the fields to change.
+     * @return Mono emitting an empty response with status 204 once the customer is updated.
+     */
+    @PatchMapping("/{id}")
+    public Mono<ResponseEntity<Void>> patchCustomer(@PathVariable @Min(1) long id,
+                                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                    @RequestBody PatchCustomerDTO customerDTO) {
+        Long expectedVersion;
+        try {
+            expectedVersion = CustomerETags.parseIfMatch(ifMatch);
+        } catch (CustomerModifiedException e) {
+            return Mono.error(e);
+        }
+
+        return customerService.patchCustomer(customerDTO, id, expectedVersion)
+                .then(Mono.just(ResponseEntity.noContent().<Void>build()));
+    }
+
+    /**
+     * Endpoint for deleting a customer by their ID.
+     *
+     * @param id ID of the customer to delete.
+     * @return Mono emitting an empty response once the customer is deleted.
+     */
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deleteCustomer(@PathVariable @Min(1) long id) {
+        return customerService.deleteCustomer(id)
+                .then(Mono.just(ResponseEntity.ok().<Void>build()));
+    }
+
+    private static ResponseEntity<CustomerResponseDTO> withVersion(CustomerResponseDTO customer) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(CustomerETags.forCustomer(customer.getVersion()))
+                .lastModified(customer.getLastModified())
+                .body(customer);
+    }
+}
@@ -0,0 +1,47 @@
+package com.app.theravenwithoutauth.controller;
+
+import com.app.theravenwithoutauth.events.CustomerEventSink;
+import com.app.theravenwithoutauth.model.dto.CustomerEventDTO;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Change feed connection writing events to a servlet Server-Sent Events response, one flush per batch.
+ * Every event carries its position as the SSE id, so that a reconnecting client resumes through Last-Event-ID.
+ */
+class SseEmitterEventSink implements CustomerEventSink {
+    private final SseEmitter emitter;
+
+    SseEmitterEventSink(SseEmitter emitter) {
+        this.emitter = emitter;
+    }
+
+    @Override
+    public void send(List<CustomerEventDTO> events) throws IOException {
+        Set<ResponseBodyEmitter.DataWithMediaType> batch = new LinkedHashSet<>();
+        for (CustomerEventDTO event : events) {
+            batch.addAll(SseEmitter.event()
+                    .id(String.valueOf(event.getPosition()))
+                    .name(event.getType().name())
+                    .data(event, MediaType.APPLICATION_JSON)
+                    .build());
+        }
+        emitter.send(batch);
+    }
+
+    @Override
+    public void heartbeat() throws IOException {
+        emitter.send(SseEmitter.event().comment("heartbeat"));
+    }
+
+    @Override
+    public void close() {
+        emitter.complete();
+    }
+}
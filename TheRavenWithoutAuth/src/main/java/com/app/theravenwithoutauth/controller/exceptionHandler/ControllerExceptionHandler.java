@@ -1,6 +1,11 @@
 package com.app.theravenwithoutauth.controller.exceptionHandler;
 
+import com.app.theravenwithoutauth.exception.CustomerDeletedException;
+import com.app.theravenwithoutauth.exception.CustomerModifiedException;
+import com.app.theravenwithoutauth.exception.CustomerNotFoundException;
+import com.app.theravenwithoutauth.exception.ImportJobNotFoundException;
 import com.app.theravenwithoutauth.model.dto.ExceptionResponseDTO;
+import org.springframework.context.MessageSourceResolvable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -10,9 +15,33 @@ import org.springframework.web.method.annotation.HandlerMethodValidationExceptio
 /**
  * Global exception handler for controllers.
  * This class provides a centralized way to handle exceptions thrown by controllers.
+ * <p>
+ * Missing and deleted customers are answered with prebuilt responses, as those exceptions carry fixed messages.
  */
 @RestControllerAdvice
 public class ControllerExceptionHandler {
+    private static final ResponseEntity<ExceptionResponseDTO> CUSTOMER_NOT_FOUND = provideResponseEntity(
+            HttpStatus.NOT_FOUND, CustomerNotFoundException.MESSAGE, CustomerNotFoundException.class.getSimpleName());
+    private static final ResponseEntity<ExceptionResponseDTO> CUSTOMER_DELETED = provideResponseEntity(
+            HttpStatus.GONE, CustomerDeletedException.MESSAGE, CustomerDeletedException.class.getSimpleName());
+    private static final ResponseEntity<ExceptionResponseDTO> IMPORT_JOB_NOT_FOUND = provideResponseEntity(
+            HttpStatus.NOT_FOUND, ImportJobNotFoundException.MESSAGE, ImportJobNotFoundException.class.getSimpleName());
+
+    @ExceptionHandler
+    public ResponseEntity<ExceptionResponseDTO> handleCustomerNotFoundExceptions(CustomerNotFoundException exception) {
+        return CUSTOMER_NOT_FOUND;
+    }
+
+    @ExceptionHandler
+    public ResponseEntity<ExceptionResponseDTO> handleCustomerDeletedExceptions(CustomerDeletedException exception) {
+        return CUSTOMER_DELETED;
+    }
+
+    @ExceptionHandler
+    public ResponseEntity<ExceptionResponseDTO> handleImportJobNotFoundExceptions(ImportJobNotFoundException exception) {
+        return IMPORT_JOB_NOT_FOUND;
+    }
+
     @ExceptionHandler
     public ResponseEntity<ExceptionResponseDTO> handleNullPointerExceptions(NullPointerException exception) {
         return provideResponseEntity(HttpStatus.BAD_REQUEST,
@@ -21,9 +50,19 @@ public class ControllerExceptionHandler {
 
     @ExceptionHandler
     public ResponseEntity<ExceptionResponseDTO> handleValidationExceptions(HandlerMethodValidationException exception) {
-        String[] exParts = exception.getMessage().split("\\\"");
+        String message = exception.getAllValidationResults().stream()
+                .flatMap(result -> result.getResolvableErrors().stream())
+                .map(MessageSourceResolvable::getDefaultMessage)
+                .findFirst()
+                .orElse(exception.getReason());
         return provideResponseEntity(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE,
-                exParts[exParts.length - 1], exception.getClass().getSimpleName());
+                message, exception.getClass().getSimpleName());
+    }
+
+    @ExceptionHandler
+    public ResponseEntity<ExceptionResponseDTO> handleCustomerModifiedExceptions(CustomerModifiedException exception) {
+        return provideResponseEntity(HttpStatus.PRECONDITION_FAILED,
+                exception.getMessage(), exception.getClass().getSimpleName());
     }
 
     @ExceptionHandler
@@ -46,8 +85,8 @@ public class ControllerExceptionHandler {
      * @param simpleName Simple name of the exception class.
      * @return ResponseEntity containing the response DTO with error details.
      */
-    private ResponseEntity<ExceptionResponseDTO> provideResponseEntity(HttpStatus status,
-                                                                       String message, String simpleName) {
+    private static ResponseEntity<ExceptionResponseDTO> provideResponseEntity(HttpStatus status,
+                                                                              String message, String simpleName) {
         ExceptionResponseDTO responseDTO = new ExceptionResponseDTO(status.value(), message, simpleName);
 
         return new ResponseEntity<>(responseDTO, status);
@@ -0,0 +1,197 @@
+package com.app.theravenwithoutauth.datasource;
+
+import com.app.theravenwithoutauth.metrics.JdbcMetricsRegistry;
+import com.app.theravenwithoutauth.metrics.StatementMetrics;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Data source recording the JDBC activity of the connections it hands out in a {@link JdbcMetricsRegistry}.
+ * <p>
+ * The time spent in {@code getConnection} is recorded as the pool wait. The connections are wrapped in
+ * proxies whose statements time every execution against the statement's SQL: prepared and callable
+ * statements against the SQL they were prepared with, plain statements against the SQL passed to
+ * {@code execute}, or the last SQL added to the batch for {@code executeBatch}. All other calls are passed
+ * through untouched, and {@code unwrap} returns the driver's objects.
+ */
+public class InstrumentedDataSource extends DelegatingDataSource {
+    private final JdbcMetricsRegistry registry;
+
+    /**
+     * Constructor for InstrumentedDataSource.
+     *
+     * @param targetDataSource Data source handing out the connections.
+     * @param registry         Registry recording the connection waits and statement executions.
+     */
+    public InstrumentedDataSource(DataSource targetDataSource, JdbcMetricsRegistry registry) {
+        super(targetDataSource);
+        this.registry = registry;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        long start = System.nanoTime();
+        Connection connection = obtainTargetDataSource().getConnection();
+        registry.recordConnectionAcquired(System.nanoTime() - start);
+
+        return wrap(connection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        long start = System.nanoTime();
+        Connection connection = obtainTargetDataSource().getConnection(username, password);
+        registry.recordConnectionAcquired(System.nanoTime() - start);
+
+        return wrap(connection);
+    }
+
+    private Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                new ConnectionHandler(connection));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static Object unwrap(Object target, Object proxy, Method method, Object[] args) throws Throwable {
+        Class<?> type = (Class<?>) args[0];
+        if (method.getName().equals("unwrap")) {
+            return type.isInstance(proxy) && !type.isInstance(target) ? proxy : invoke(target, method, args);
+        }
+        return type.isInstance(proxy) || (Boolean) invoke(target, method, args);
+    }
+
+    /**
+     * Handler of the connection proxies, wrapping the statements they create.
+     */
+    private class ConnectionHandler implements InvocationHandler {
+        private final Connection connection;
+
+        private ConnectionHandler(Connection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "unwrap", "isWrapperFor" -> {
+                    return unwrap(connection, proxy, method, args);
+                }
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                case "toString" -> {
+                    return "Instrumented " + connection;
+                }
+                default -> {
+                }
+            }
+
+            Object result = InstrumentedDataSource.invoke(connection, method, args);
+
+            if (result instanceof CallableStatement statement) {
+                return wrap(statement, CallableStatement.class, (Connection) proxy, (String) args[0]);
+            }
+            if (result instanceof PreparedStatement statement) {
+                return wrap(statement, PreparedStatement.class, (Connection) proxy, (String) args[0]);
+            }
+            if (result instanceof Statement statement) {
+                return wrap(statement, Statement.class, (Connection) proxy, null);
+            }
+            return result;
+        }
+
+        private Object wrap(Statement statement, Class<? extends Statement> type, Connection connection, String sql) {
+            return Proxy.newProxyInstance(InstrumentedDataSource.class.getClassLoader(), new Class<?>[]{type},
+                    new StatementHandler(statement, connection, sql));
+        }
+    }
+
+    /**
+     * Handler of the statement proxies, timing every execution.
+     */
+    private class StatementHandler implements InvocationHandler {
+        private final Statement statement;
+        private final Connection connection;
+        private final StatementMetrics preparedMetrics;
+        private String lastBatchSql;
+
+        private StatementHandler(Statement statement, Connection connection, String sql) {
+            this.statement = statement;
+            this.connection = connection;
+            this.preparedMetrics = sql != null ? registry.forStatement(sql) : null;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "unwrap", "isWrapperFor" -> {
+                    return unwrap(statement, proxy, method, args);
+                }
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                case "toString" -> {
+                    return "Instrumented " + statement;
+                }
+                case "getConnection" -> {
+                    return connection;
+                }
+                case "addBatch" -> {
+                    if (args != null && args.length == 1) {
+                        lastBatchSql = (String) args[0];
+                    }
+                }
+                default -> {
+                }
+            }
+
+            if (!name.startsWith("execute")) {
+                return InstrumentedDataSource.invoke(statement, method, args);
+            }
+
+            StatementMetrics metrics = preparedMetrics;
+            if (args != null && args.length > 0 && args[0] instanceof String sql) {
+                metrics = registry.forStatement(sql);
+            } else if (metrics == null && lastBatchSql != null) {
+                metrics = registry.forStatement(lastBatchSql);
+            }
+            if (metrics == null) {
+                return InstrumentedDataSource.invoke(statement, method, args);
+            }
+
+            boolean failed = true;
+            long start = System.nanoTime();
+            try {
+                Object result = InstrumentedDataSource.invoke(statement, method, args);
+                failed = false;
+                return result;
+            } finally {
+                registry.recordStatement(metrics, System.nanoTime() - start, failed);
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.app.theravenwithoutauth.datasource;
+
+import com.app.theravenwithoutauth.config.ReplicaDataSourceProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * Periodic check of the read replicas, taking a replica out of the read rotation while it is
+ * unreachable or lags the primary database by more than the configured tolerance.
+ * <p>
+ * Replicas start out of the rotation and join it after their first successful check.
+ */
+@Component
+public class ReplicaLagMonitor {
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+    private static final int CHECK_TIMEOUT_SECONDS = 2;
+
+    private final ReplicaRoutingDataSource routingDataSource;
+    private final Duration maxReplicaLag;
+
+    /**
+     * Constructor for ReplicaLagMonitor.
+     *
+     * @param routingDataSource Data source whose replicas are checked.
+     * @param properties        Replica properties, providing the lag tolerance.
+     */
+    @Autowired
+    public ReplicaLagMonitor(ReplicaRoutingDataSource routingDataSource, ReplicaDataSourceProperties properties) {
+        this.routingDataSource = routingDataSource;
+        this.maxReplicaLag = properties.getMaxReplicaLag();
+    }
+
+    /**
+     * Measures the lag of every replica and updates whether it may serve reads.
+     */
+    @Scheduled(fixedDelayString = "${customers.datasource.lag-check-interval:PT5S}")
+    public void checkReplicas() {
+        for (RoutingTarget replica : routingDataSource.getReplicas()) {
+            long lagMillis;
+            try {
+                lagMillis = measureLagMillis(replica);
+            } catch (SQLException | RuntimeException e) {
+                if (replica.isHealthy() || !replica.isChecked()) {
+                    log.warn("Replica {} is unreachable, reads go elsewhere", replica.getName(), e);
+                }
+                replica.recordCheck(false, -1);
+                continue;
+            }
+
+            boolean healthy = lagMillis >= 0 && lagMillis <= maxReplicaLag.toMillis();
+            if (healthy != replica.isHealthy() || !replica.isChecked()) {
+                if (healthy) {
+                    log.info("Replica {} serves reads (lag {} ms)", replica.getName(), lagMillis);
+                } else {
+                    log.warn("Replica {} lags by {} ms, reads go elsewhere", replica.getName(), lagMillis);
+                }
+            }
+            replica.recordCheck(healthy, lagMillis);
+        }
+    }
+
+    private static long measureLagMillis(RoutingTarget replica) throws SQLException {
+        try (Connection connection = replica.getDataSource().getConnection()) {
+            if (replica.getLagQuery() == null) {
+                if (!connection.isValid(CHECK_TIMEOUT_SECONDS)) {
+                    throw new SQLException("Connection validation failed");
+                }
+                return 0;
+            }
+
+            try (Statement statement = connection.createStatement()) {
+                statement.setQueryTimeout(CHECK_TIMEOUT_SECONDS);
+                try (ResultSet resultSet = statement.executeQuery(replica.getLagQuery())) {
+                    if (!resultSet.next()) {
+                        return -1; // the server does not replicate
+                    }
+                    BigDecimal seconds = resultSet.getBigDecimal(lagColumn(resultSet.getMetaData()));
+                    return seconds == null ? -1 : seconds.movePointRight(3).longValue(); // null while replication is stopped
+                }
+            }
+        }
+    }
+
+    private static int lagColumn(ResultSetMetaData metaData) throws SQLException {
+        for (int column = 1; column <= metaData.getColumnCount(); column++) {
+            if ("Seconds_Behind_Source".equalsIgnoreCase(metaData.getColumnLabel(column))) {
+                return column;
+            }
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,102 @@
+package com.app.theravenwithoutauth.datasource;
+
+import com.app.theravenwithoutauth.model.dto.DataSourceStatsDTO;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Data source sending the connections of read-only transactions to the read replicas and all other
+ * connections to the primary database.
+ * <p>
+ * Read-only transactions are spread round-robin over the replicas currently marked healthy by the
+ * {@link ReplicaLagMonitor}; when none is, they fall back to the primary database. Connections taken
+ * outside a read-only transaction, including those of read-write transactions that only read (such as
+ * the email check of a customer creation), always go to the primary database.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+    private final RoutingTarget primary;
+    private final List<RoutingTarget> replicas;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    /**
+     * Constructor for ReplicaRoutingDataSource.
+     *
+     * @param primary  Primary database, receiving all writes.
+     * @param replicas Read replicas of the primary database, possibly none.
+     */
+    public ReplicaRoutingDataSource(RoutingTarget primary, List<RoutingTarget> replicas) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        primary.recordCheck(true, 0);
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(primary.getName(), primary.getDataSource());
+        replicas.forEach(replica -> targets.put(replica.getName(), replica.getDataSource()));
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary.getDataSource());
+        setLenientFallback(false);
+    }
+
+    /**
+     * Returns the read replicas.
+     *
+     * @return List of the replicas, in configuration order.
+     */
+    public List<RoutingTarget> getReplicas() {
+        return replicas;
+    }
+
+    /**
+     * Returns the routing counters, replication state and pool state of the primary database and every replica.
+     *
+     * @return List of DataSourceStatsDTO, the primary database first.
+     */
+    public List<DataSourceStatsDTO> getStats() {
+        List<DataSourceStatsDTO> stats = new ArrayList<>(replicas.size() + 1);
+        stats.add(primary.getStats("PRIMARY"));
+        replicas.forEach(replica -> stats.add(replica.getStats("REPLICA")));
+        return stats;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean readOnly = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        RoutingTarget target = readOnly ? nextHealthyReplica() : null;
+
+        if (target == null) {
+            target = primary;
+        }
+        target.recordConnection(readOnly);
+
+        return target.getName();
+    }
+
+    @Override
+    public void close() {
+        primary.getDataSource().close();
+        replicas.forEach(replica -> replica.getDataSource().close());
+    }
+
+    private RoutingTarget nextHealthyReplica() {
+        int count = replicas.size();
+        if (count == 0) {
+            return null;
+        }
+
+        int start = Math.floorMod(nextReplica.getAndIncrement(), count);
+        for (int i = 0; i < count; i++) {
+            RoutingTarget replica = replicas.get((start + i) % count);
+            if (replica.isHealthy()) {
+                return replica;
+            }
+        }
+
+        return null;
+    }
+}
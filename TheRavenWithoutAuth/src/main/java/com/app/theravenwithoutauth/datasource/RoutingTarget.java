@@ -0,0 +1,90 @@
+package com.app.theravenwithoutauth.datasource;
+
+import com.app.theravenwithoutauth.model.dto.DataSourceStatsDTO;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A connection pool the {@link ReplicaRoutingDataSource} routes to, with its replication state and counters.
+ */
+public class RoutingTarget {
+    private final String name;
+    private final HikariDataSource dataSource;
+    private final String lagQuery;
+
+    private final LongAdder connections = new LongAdder();
+    private final LongAdder readOnlyConnections = new LongAdder();
+    private volatile boolean healthy;
+    private volatile long lagMillis = -1;
+    private volatile long lastChecked;
+
+    /**
+     * Constructor for RoutingTarget.
+     *
+     * @param name       Name of the target, used as its routing key.
+     * @param dataSource Connection pool of the target.
+     * @param lagQuery   Query reporting the replication lag in seconds, or null when it cannot be measured.
+     */
+    public RoutingTarget(String name, HikariDataSource dataSource, String lagQuery) {
+        this.name = name;
+        this.dataSource = dataSource;
+        this.lagQuery = lagQuery;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public HikariDataSource getDataSource() {
+        return dataSource;
+    }
+
+    public String getLagQuery() {
+        return lagQuery;
+    }
+
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    boolean isChecked() {
+        return lastChecked != 0;
+    }
+
+    /**
+     * Records the outcome of a replication check.
+     *
+     * @param healthy   Whether the target may serve reads.
+     * @param lagMillis Measured replication lag in milliseconds, or -1 when unknown.
+     */
+    void recordCheck(boolean healthy, long lagMillis) {
+        this.healthy = healthy;
+        this.lagMillis = lagMillis;
+        this.lastChecked = System.currentTimeMillis();
+    }
+
+    void recordConnection(boolean readOnly) {
+        connections.increment();
+        if (readOnly) {
+            readOnlyConnections.increment();
+        }
+    }
+
+    /**
+     * Returns the routing counters and pool state of the target.
+     *
+     * @param role Role of the target, PRIMARY or REPLICA.
+     * @return DataSourceStatsDTO containing the target state.
+     */
+    DataSourceStatsDTO getStats(String role) {
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+
+        return new DataSourceStatsDTO(name, role, healthy, lagMillis, lastChecked,
+                connections.sum(), readOnlyConnections.sum(),
+                pool == null ? 0 : pool.getActiveConnections(),
+                pool == null ? 0 : pool.getIdleConnections(),
+                pool == null ? 0 : pool.getThreadsAwaitingConnection());
+    }
+}
@@ -0,0 +1,74 @@
+package com.app.theravenwithoutauth.datasource;
+
+import com.app.theravenwithoutauth.model.dto.DataSourceStatsDTO;
+import com.app.theravenwithoutauth.sharding.CustomerShards;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Data source sending every connection to the shard selected on the current thread with
+ * {@link CustomerShards#select(int)}, or to the first shard when none is.
+ * <p>
+ * Each shard is a {@link ReplicaRoutingDataSource}; only the first shard has read replicas. The shard is
+ * chosen when the physical connection is fetched, so it must be selected before the first statement of a
+ * transaction, and all statements of a transaction run on the same shard.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+    private final List<ReplicaRoutingDataSource> shards;
+
+    /**
+     * Constructor for ShardRoutingDataSource.
+     *
+     * @param shards Data sources of the shards, in shard order; the first one is not closed with this data source.
+     */
+    public ShardRoutingDataSource(List<ReplicaRoutingDataSource> shards) {
+        this.shards = List.copyOf(shards);
+
+        Map<Object, Object> targets = new HashMap<>();
+        for (int shard = 0; shard < shards.size(); shard++) {
+            targets.put(shard, shards.get(shard));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(shards.get(0));
+        setLenientFallback(false);
+    }
+
+    /**
+     * Returns the data source of a shard.
+     *
+     * @param shard Index of the shard.
+     * @return The shard's data source.
+     */
+    public ReplicaRoutingDataSource getShard(int shard) {
+        return shards.get(shard);
+    }
+
+    public int getShardCount() {
+        return shards.size();
+    }
+
+    /**
+     * Returns the routing counters, replication state and pool state of every database of every shard.
+     *
+     * @return List of DataSourceStatsDTO, shard by shard, the primary database of each shard first.
+     */
+    public List<DataSourceStatsDTO> getStats() {
+        List<DataSourceStatsDTO> stats = new ArrayList<>();
+        shards.forEach(shard -> stats.addAll(shard.getStats()));
+        return stats;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return Math.max(CustomerShards.currentShard(), 0);
+    }
+
+    @Override
+    public void close() {
+        shards.stream().skip(1).forEach(ReplicaRoutingDataSource::close);
+    }
+}
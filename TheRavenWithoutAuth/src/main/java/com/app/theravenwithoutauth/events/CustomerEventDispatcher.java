@@ -0,0 +1,354 @@
+package com.app.theravenwithoutauth.events;
+
+import com.app.theravenwithoutauth.model.CustomerEvent;
+import com.app.theravenwithoutauth.model.dto.CustomerEventDTO;
+import com.app.theravenwithoutauth.model.dto.CustomerEventStatsDTO;
+import com.app.theravenwithoutauth.repository.CustomerEventRepository;
+import com.app.theravenwithoutauth.sharding.CustomerShards;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Publishes the events of the customer outbox to the change feed subscribers.
+ * <p>
+ * A dispatcher thread, woken up after every recorded change and otherwise polling, assigns the next
+ * positions to newly committed events and hands them in batches to every subscriber's bounded buffer.
+ * Each subscriber is drained by its own virtual thread, so a slow connection never holds up the others.
+ * A subscriber resuming from an older position first replays the events after it from the table, and so
+ * does a subscriber whose buffer overflows during a burst. A subscriber falling further behind than the
+ * configured lag is disconnected; it can resume from the last position it received.
+ * <p>
+ * Every shard has its own outbox, written in the transactions of its customers. Positions are assigned
+ * shard after shard from one sequence continuing after the highest position of all shards, and the
+ * events are read from all shards and merged by position. Positions are only unique per shard, so with
+ * several shards, concurrent positioning by several instances is not detected.
+ */
+@Component
+public class CustomerEventDispatcher {
+    private static final Logger log = LoggerFactory.getLogger(CustomerEventDispatcher.class);
+
+    private final CustomerEventRepository customerEventRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final CustomerShards customerShards;
+    private final int batchSize;
+    private final int subscriberBufferSize;
+    private final long maxSubscriberLag;
+    private final Duration pollInterval;
+    private final Duration heartbeatInterval;
+    private final Duration retention;
+
+    private final List<CustomerEventSubscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private volatile Thread dispatcherThread;
+    private volatile boolean running;
+    private volatile long lastPosition;
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder replayed = new LongAdder();
+    private final LongAdder bufferOverflows = new LongAdder();
+    private final LongAdder slowConsumerDisconnects = new LongAdder();
+    private final LongAdder purged = new LongAdder();
+
+    /**
+     * Constructor for CustomerEventDispatcher.
+     *
+     * @param customerEventRepository Repository of the outbox table.
+     * @param transactionTemplate     Template running the positioning and reads against the primary database.
+     * @param customerShards          Shards whose outboxes are published.
+     * @param batchSize               Maximum number of events positioned, published or sent at once.
+     * @param subscriberBufferSize    Number of published events buffered per subscriber, at least the batch size.
+     * @param maxSubscriberLag        Number of events a subscriber may fall behind before it is disconnected.
+     * @param pollInterval            Time between two looks at the outbox when no change wakes the dispatcher up.
+     * @param heartbeatInterval       Time between two keep-alive messages to the subscribers.
+     * @param retention               Time after which dispatched events are removed from the outbox.
+     */
+    @Autowired
+    public CustomerEventDispatcher(CustomerEventRepository customerEventRepository,
+                                   TransactionTemplate transactionTemplate,
+                                   CustomerShards customerShards,
+                                   @Value("${customers.events.batch-size:500}") int batchSize,
+                                   @Value("${customers.events.subscriber-buffer-size:1000}") int subscriberBufferSize,
+                                   @Value("${customers.events.max-subscriber-lag:100000}") long maxSubscriberLag,
+                                   @Value("${customers.events.poll-interval:200ms}") Duration pollInterval,
+                                   @Value("${customers.events.heartbeat-interval:15s}") Duration heartbeatInterval,
+                                   @Value("${customers.events.retention:7d}") Duration retention) {
+        this.customerEventRepository = customerEventRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.customerShards = customerShards;
+        this.batchSize = batchSize;
+        this.subscriberBufferSize = subscriberBufferSize;
+        this.maxSubscriberLag = maxSubscriberLag;
+        this.pollInterval = pollInterval;
+        this.heartbeatInterval = heartbeatInterval;
+        this.retention = retention;
+    }
+
+    /**
+     * Starts the dispatcher thread, publishing from the last position assigned so far.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        lastPosition = findLastPosition();
+        running = true;
+        dispatcherThread = Thread.ofPlatform().name("customer-events").daemon().start(this::dispatch);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        wakeUp();
+        subscriptions.forEach(subscription -> subscription.getSink().close());
+        subscriptions.clear();
+        senders.shutdownNow();
+    }
+
+    /**
+     * Makes the dispatcher look at the outbox right away instead of at its next poll.
+     */
+    public void wakeUp() {
+        Thread thread = dispatcherThread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+     * Subscribes to the change feed.
+     *
+     * @param afterPosition Position of the last event the subscriber received, or null to receive only new events.
+     * @param sink          Connection of the subscriber.
+     * @return The subscription, to be cancelled when the subscriber disconnects.
+     */
+    public CustomerEventSubscription subscribe(Long afterPosition, CustomerEventSink sink) {
+        CustomerEventSubscription subscription = new CustomerEventSubscription(this, sink, subscriberBufferSize,
+                afterPosition != null ? Math.min(afterPosition, lastPosition) : lastPosition);
+        subscriptions.add(subscription);
+        scheduleDrain(subscription);
+        return subscription;
+    }
+
+    void unsubscribe(CustomerEventSubscription subscription) {
+        subscriptions.remove(subscription);
+    }
+
+    /**
+     * Returns the state and counters of the dispatcher.
+     *
+     * @return CustomerEventStatsDTO containing the dispatcher state.
+     */
+    public CustomerEventStatsDTO getStats() {
+        return new CustomerEventStatsDTO(lastPosition, subscriptions.size(), published.sum(), delivered.sum(),
+                replayed.sum(), bufferOverflows.sum(), slowConsumerDisconnects.sum(), purged.sum());
+    }
+
+    /**
+     * Removes dispatched events older than the retention period, in batches.
+     */
+    @Scheduled(initialDelayString = "${customers.events.purge-interval:PT1H}",
+            fixedDelayString = "${customers.events.purge-interval:PT1H}")
+    public void purgeExpiredEvents() {
+        long cutoff = new Date().getTime() - retention.toMillis();
+        customerShards.forEachShard(shard -> {
+            int count;
+            do {
+                count = transactionTemplate.execute(status -> {
+                    List<Long> ids = customerEventRepository.findExpiredEventIds(cutoff, Limit.of(batchSize));
+                    customerEventRepository.deleteAllByIdInBatch(ids);
+                    return ids.size();
+                });
+                purged.add(count);
+            } while (count == batchSize && running);
+        });
+    }
+
+    private void dispatch() {
+        long nextHeartbeat = System.nanoTime() + heartbeatInterval.toNanos();
+
+        while (running) {
+            int count;
+            try {
+                count = publishNextEvents();
+            } catch (RuntimeException e) {
+                log.warn("Dispatching customer events failed, retrying", e);
+                count = 0;
+            }
+
+            if (System.nanoTime() - nextHeartbeat >= 0) {
+                subscriptions.forEach(subscription -> {
+                    subscription.requestHeartbeat();
+                    scheduleDrain(subscription);
+                });
+                nextHeartbeat = System.nanoTime() + heartbeatInterval.toNanos();
+            }
+
+            if (count < batchSize) {
+                LockSupport.parkNanos(this, pollInterval.toNanos());
+            }
+        }
+    }
+
+    /**
+     * Positions newly committed events and publishes the next batch of positioned ones.
+     *
+     * @return The number of published events.
+     */
+    private int publishNextEvents() {
+        positionNewEvents();
+
+        List<CustomerEventDTO> events = readEventsAfter(lastPosition);
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        lastPosition = events.get(events.size() - 1).getPosition();
+        published.add(events.size());
+        for (CustomerEventSubscription subscription : subscriptions) {
+            if (lastPosition - subscription.getPosition() > maxSubscriberLag) {
+                slowConsumerDisconnects.increment();
+                log.info("Dropping change feed subscriber at position {}: it cannot keep up", subscription.getPosition());
+                drop(subscription);
+                continue;
+            }
+            if (!subscription.offer(events)) {
+                bufferOverflows.increment();
+            }
+            scheduleDrain(subscription);
+        }
+
+        return events.size();
+    }
+
+    /**
+     * Assigns consecutive positions to committed events without one, shard by shard. Positions are unique,
+     * so when another instance positions the same events concurrently, one of the two transactions fails
+     * and its events are positioned again at the next round.
+     */
+    private void positionNewEvents() {
+        AtomicLong lastAssigned = new AtomicLong(customerShards.isSharded() ? findLastPosition() : 0);
+
+        customerShards.forEachShard(shard -> {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    List<CustomerEvent> events = customerEventRepository.findUnpositionedEvents(Limit.of(batchSize));
+                    if (events.isEmpty()) {
+                        return;
+                    }
+
+                    long position = Math.max(customerEventRepository.findLastPosition(), lastAssigned.get());
+                    for (CustomerEvent event : events) {
+                        event.setPosition(++position);
+                    }
+                    lastAssigned.set(position);
+                });
+            } catch (DataIntegrityViolationException e) {
+                log.debug("Customer events were positioned concurrently, retrying", e);
+            }
+        });
+    }
+
+    private long findLastPosition() {
+        return customerShards.scatter(shard -> transactionTemplate.execute(status ->
+                        customerEventRepository.findLastPosition())).stream()
+                .mapToLong(Long::longValue)
+                .max()
+                .orElse(0);
+    }
+
+    private void scheduleDrain(CustomerEventSubscription subscription) {
+        if (subscription.startDraining()) {
+            try {
+                senders.execute(() -> drain(subscription));
+            } catch (RuntimeException e) { // shutting down
+                subscription.stopDraining();
+            }
+        }
+    }
+
+    /**
+     * Sends a subscriber what it has not received yet: first the events after its position read from the
+     * table, until it has caught up with what the dispatcher published since it subscribed, then its buffer.
+     */
+    private void drain(CustomerEventSubscription subscription) {
+        try {
+            while (!subscription.isCancelled()) {
+                List<CustomerEventDTO> events;
+                if (subscription.isReplaying()) {
+                    subscription.startReplayRead();
+                    events = readEventsAfter(subscription.getPosition());
+                    if (events.size() < batchSize) {
+                        subscription.finishReplay();
+                    }
+                    replayed.add(events.size());
+                } else {
+                    events = subscription.poll(batchSize);
+                    if (events.isEmpty() && !subscription.hasBufferedEvents() && !subscription.isReplaying()) {
+                        break;
+                    }
+                }
+
+                if (!events.isEmpty()) {
+                    subscription.getSink().send(events);
+                    subscription.advance(events.get(events.size() - 1).getPosition());
+                    delivered.add(events.size());
+                }
+            }
+
+            if (subscription.takeHeartbeat() && !subscription.isCancelled()) {
+                subscription.getSink().heartbeat();
+            }
+        } catch (IOException | RuntimeException e) {
+            log.debug("Change feed subscriber at position {} disconnected", subscription.getPosition(), e);
+            subscription.cancel();
+        } finally {
+            subscription.stopDraining();
+        }
+
+        if (!subscription.isCancelled() && subscription.hasPendingWork()) {
+            scheduleDrain(subscription);
+        }
+    }
+
+    private List<CustomerEventDTO> readEventsAfter(long position) {
+        List<List<CustomerEventDTO>> events = customerShards.scatter(shard -> transactionTemplate.execute(status ->
+                customerEventRepository.findEventsAfter(position, Limit.of(batchSize)).stream()
+                        .map(CustomerEventDTO::fromCustomerEvent)
+                        .toList()));
+        if (events.size() == 1) {
+            return events.get(0);
+        }
+
+        return events.stream()
+                .flatMap(List::stream)
+                .sorted(Comparator.comparingLong(CustomerEventDTO::getPosition))
+                .limit(batchSize)
+                .toList();
+    }
+
+    private void drop(CustomerEventSubscription subscription) {
+        subscription.cancel();
+        subscription.getSink().close();
+    }
+}
@@ -0,0 +1,94 @@
+package com.app.theravenwithoutauth.events;
+
+import com.app.theravenwithoutauth.model.CustomerEventType;
+import com.app.theravenwithoutauth.repository.CustomerEventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Writes customer changes into the outbox of the change feed, in the transaction of the change.
+ * <p>
+ * Each call records the state of the changed customers with a single INSERT ... SELECT, so the
+ * customers are never loaded for it. The dispatcher is woken up once the transaction commits.
+ */
+@Component
+public class CustomerEventOutbox {
+    private final CustomerEventRepository customerEventRepository;
+    private final CustomerEventDispatcher customerEventDispatcher;
+
+    /**
+     * Constructor for CustomerEventOutbox.
+     *
+     * @param customerEventRepository Repository of the outbox table.
+     * @param customerEventDispatcher Dispatcher publishing the recorded events.
+     */
+    @Autowired
+    public CustomerEventOutbox(CustomerEventRepository customerEventRepository,
+                               CustomerEventDispatcher customerEventDispatcher) {
+        this.customerEventRepository = customerEventRepository;
+        this.customerEventDispatcher = customerEventDispatcher;
+    }
+
+    /**
+     * Records the creation of the given customers. Must run inside the transaction that created them.
+     *
+     * @param ids IDs of the created customers.
+     */
+    public void recordCreated(Collection<Long> ids) {
+        record(CustomerEventType.CREATED, ids);
+    }
+
+    /**
+     * Records the update of a customer. Must run inside the transaction that updated it.
+     *
+     * @param id ID of the updated customer.
+     */
+    public void recordUpdated(long id) {
+        record(CustomerEventType.UPDATED, List.of(id));
+    }
+
+    /**
+     * Records the deletion of those of the given customers that were deleted at the given time.
+     * Must run inside the transaction that deleted them.
+     *
+     * @param ids     IDs of the customers the deletion was requested for.
+     * @param deleted Time the deletion stamped as the customers' update time.
+     */
+    public void recordDeleted(Collection<Long> ids, long deleted) {
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        customerEventRepository.recordDeletions(ids, deleted);
+        wakeUpDispatcherAfterCommit();
+    }
+
+    private void record(CustomerEventType type, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        customerEventRepository.recordEvents(type, ids, new Date().getTime());
+        wakeUpDispatcherAfterCommit();
+    }
+
+    private void wakeUpDispatcherAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            customerEventDispatcher.wakeUp();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                customerEventDispatcher.wakeUp();
+            }
+        });
+    }
+}
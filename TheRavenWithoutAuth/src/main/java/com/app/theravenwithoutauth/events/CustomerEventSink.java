@@ -0,0 +1,31 @@
+package com.app.theravenwithoutauth.events;
+
+import com.app.theravenwithoutauth.model.dto.CustomerEventDTO;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Connection of a change feed subscriber, written to by one thread at a time.
+ */
+public interface CustomerEventSink {
+    /**
+     * Sends events to the subscriber, in position order. May block while the connection is congested.
+     *
+     * @param events Events to send, never empty.
+     * @throws IOException Thrown if the connection is broken; the subscription is then cancelled.
+     */
+    void send(List<CustomerEventDTO> events) throws IOException;
+
+    /**
+     * Sends a keep-alive message, which also detects connections closed by the subscriber.
+     *
+     * @throws IOException Thrown if the connection is broken; the subscription is then cancelled.
+     */
+    void heartbeat() throws IOException;
+
+    /**
+     * Ends the connection because the dispatcher dropped the subscriber.
+     */
+    void close();
+}
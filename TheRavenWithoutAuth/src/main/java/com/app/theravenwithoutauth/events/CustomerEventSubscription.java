@@ -0,0 +1,141 @@
+package com.app.theravenwithoutauth.events;
+
+import com.app.theravenwithoutauth.model.dto.CustomerEventDTO;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A change feed subscriber: its bounded buffer of published events, the position of the last event
+ * sent to it, and whether it replays events from the outbox table instead, which it does after
+ * subscribing until it has caught up and again whenever its buffer overflows.
+ */
+public class CustomerEventSubscription {
+    private final CustomerEventDispatcher dispatcher;
+    private final CustomerEventSink sink;
+    private final BlockingQueue<CustomerEventDTO> buffer;
+
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean heartbeatDue = new AtomicBoolean();
+    private boolean overflowed;
+    private volatile boolean replaying = true;
+    private volatile boolean cancelled;
+    private volatile long position;
+
+    CustomerEventSubscription(CustomerEventDispatcher dispatcher, CustomerEventSink sink,
+                              int bufferSize, long position) {
+        this.dispatcher = dispatcher;
+        this.sink = sink;
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        this.position = position;
+    }
+
+    /**
+     * Ends the subscription, typically because the subscriber disconnected.
+     */
+    public void cancel() {
+        cancelled = true;
+        dispatcher.unsubscribe(this);
+    }
+
+    /**
+     * Returns the position of the last event sent to the subscriber.
+     *
+     * @return Position of the last sent event.
+     */
+    public long getPosition() {
+        return position;
+    }
+
+    CustomerEventSink getSink() {
+        return sink;
+    }
+
+    boolean isCancelled() {
+        return cancelled;
+    }
+
+    boolean isReplaying() {
+        return replaying;
+    }
+
+    /**
+     * Marks the start of a replay read.
+     */
+    synchronized void startReplayRead() {
+        overflowed = false;
+    }
+
+    /**
+     * Ends the replay after a read that reached the last published event, unless the buffer overflowed
+     * during the read: the dropped events may have been published after it.
+     *
+     * @return Whether the subscriber is back to its buffer.
+     */
+    synchronized boolean finishReplay() {
+        if (overflowed) {
+            return false;
+        }
+        replaying = false;
+        return true;
+    }
+
+    void advance(long position) {
+        this.position = position;
+    }
+
+    /**
+     * Buffers published events. When the buffer is full it is emptied and the subscriber switches to
+     * replaying, reading the dropped events back from the table at its own pace.
+     *
+     * @return False if the buffer overflowed.
+     */
+    synchronized boolean offer(List<CustomerEventDTO> events) {
+        for (CustomerEventDTO event : events) {
+            if (!buffer.offer(event)) {
+                buffer.clear();
+                overflowed = true;
+                replaying = true;
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Takes up to the given number of buffered events that were not sent yet.
+     */
+    List<CustomerEventDTO> poll(int maxEvents) {
+        List<CustomerEventDTO> events = new ArrayList<>(Math.min(maxEvents, buffer.size()));
+        buffer.drainTo(events, maxEvents);
+        events.removeIf(event -> event.getPosition() <= position);
+        return events;
+    }
+
+    boolean hasBufferedEvents() {
+        return !buffer.isEmpty();
+    }
+
+    void requestHeartbeat() {
+        heartbeatDue.set(true);
+    }
+
+    boolean takeHeartbeat() {
+        return heartbeatDue.getAndSet(false);
+    }
+
+    boolean hasPendingWork() {
+        return replaying || !buffer.isEmpty() || heartbeatDue.get();
+    }
+
+    boolean startDraining() {
+        return draining.compareAndSet(false, true);
+    }
+
+    void stopDraining() {
+        draining.set(false);
+    }
+}
@@ -0,0 +1,12 @@
+package com.app.theravenwithoutauth.exception;
+
+/**
+ * Exception thrown to indicate that the requested customer has been deleted.
+ */
+public class CustomerDeletedException extends CustomerUnavailableException {
+    public static final String MESSAGE = "Customer with such an id has been deleted.";
+
+    public CustomerDeletedException() {
+        super(MESSAGE);
+    }
+}
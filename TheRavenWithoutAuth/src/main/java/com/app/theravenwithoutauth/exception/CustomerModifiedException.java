@@ -0,0 +1,14 @@
+package com.app.theravenwithoutauth.exception;
+
+/**
+ * Exception thrown to indicate that a customer was modified since the version the client based its update on.
+ */
+public class CustomerModifiedException extends Exception {
+    public CustomerModifiedException(String msg, Throwable cause) {
+        super(msg, cause);
+    }
+
+    public CustomerModifiedException(String msg) {
+        super(msg);
+    }
+}
@@ -0,0 +1,12 @@
+package com.app.theravenwithoutauth.exception;
+
+/**
+ * Exception thrown to indicate that there is no customer with the requested ID.
+ */
+public class CustomerNotFoundException extends CustomerUnavailableException {
+    public static final String MESSAGE = "Customer with such an id does not exist.";
+
+    public CustomerNotFoundException() {
+        super(MESSAGE);
+    }
+}
@@ -0,0 +1,14 @@
+package com.app.theravenwithoutauth.exception;
+
+/**
+ * Base of the exceptions thrown when a requested customer cannot be served.
+ * <p>
+ * These are expected outcomes of client requests rather than faults, and clients probing random IDs can
+ * trigger them at a high rate, so they carry a fixed message and neither capture a stack trace nor record
+ * suppressed exceptions.
+ */
+public abstract class CustomerUnavailableException extends Exception {
+    protected CustomerUnavailableException(String msg) {
+        super(msg, null, false, false);
+    }
+}
@@ -0,0 +1,12 @@
+package com.app.theravenwithoutauth.exception;
+
+/**
+ * Exception thrown to indicate that there is no retained import job with the requested ID.
+ */
+public class ImportJobNotFoundException extends Exception {
+    public static final String MESSAGE = "Import job with such an id does not exist.";
+
+    public ImportJobNotFoundException() {
+        super(MESSAGE, null, false, false);
+    }
+}
@@ -0,0 +1,257 @@
+package com.app.theravenwithoutauth.metrics;
+
+import com.app.theravenwithoutauth.model.dto.JdbcStatsDTO;
+import com.app.theravenwithoutauth.model.dto.RequestQueryStatsDTO;
+import com.app.theravenwithoutauth.model.dto.StatementMetricsDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Registry of the JDBC activity recorded by the instrumented data source.
+ * <p>
+ * Statements are grouped by shape: the SQL with whitespace collapsed, literals replaced by '?' and IN
+ * lists of any length folded into one, so that Hibernate's statements map to a bounded set of shapes.
+ * Executions slower than the threshold are logged with their shape (never with parameter values).
+ * <p>
+ * Per request, the statements are counted through a {@link QueryScope}. A request that runs the same
+ * query at least the repeated-query threshold times (an N+1 pattern), or more queries than the per-request
+ * maximum, is flagged; flagged requests are counted per endpoint and logged at exponentially growing
+ * intervals (the 1st, 2nd, 4th, 8th... of every endpoint) so that a hot endpoint cannot flood the log.
+ */
+@Component
+public class JdbcMetricsRegistry {
+    static final String OTHER_STATEMENTS = "(other statements)";
+
+    private static final Logger log = LoggerFactory.getLogger(JdbcMetricsRegistry.class);
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMERIC_LITERAL = Pattern.compile("(?<![\\w.])\\d+(?:\\.\\d+)?(?![\\w.])");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final int MAX_ENDPOINTS = 200;
+
+    private final boolean enabled;
+    private final long slowStatementThresholdNanos;
+    private final int repeatedQueryThreshold;
+    private final int maxQueriesPerRequest;
+    private final int maxStatementShapes;
+
+    private final ConcurrentMap<String, StatementMetrics> statementsBySql = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, StatementMetrics> statementsByShape = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, RequestMetrics> requestsByEndpoint = new ConcurrentHashMap<>();
+    private final StatementMetrics otherStatements = new StatementMetrics(OTHER_STATEMENTS, false);
+    private final LatencyHistogram connectionAcquisitions = new LatencyHistogram();
+    private final LongAdder slowStatements = new LongAdder();
+    private final ThreadLocal<QueryScope> currentScope = new ThreadLocal<>();
+
+    /**
+     * Constructor for JdbcMetricsRegistry.
+     *
+     * @param enabled                 Whether the data source is instrumented at all.
+     * @param slowStatementThreshold  Execution time above which a statement is logged as slow.
+     * @param repeatedQueryThreshold  Executions of the same query within one request that flag the request as N+1.
+     * @param maxQueriesPerRequest    Number of queries above which a request is flagged.
+     * @param maxStatementShapes      Number of statement shapes tracked; further shapes are counted together.
+     */
+    @Autowired
+    public JdbcMetricsRegistry(@Value("${customers.jdbc.instrumentation.enabled:true}") boolean enabled,
+                               @Value("${customers.jdbc.slow-statement-threshold:100ms}") Duration slowStatementThreshold,
+                               @Value("${customers.jdbc.repeated-query-threshold:10}") int repeatedQueryThreshold,
+                               @Value("${customers.jdbc.max-queries-per-request:50}") int maxQueriesPerRequest,
+                               @Value("${customers.jdbc.max-statement-shapes:500}") int maxStatementShapes) {
+        this.enabled = enabled;
+        this.slowStatementThresholdNanos = slowStatementThreshold.toNanos();
+        this.repeatedQueryThreshold = repeatedQueryThreshold;
+        this.maxQueriesPerRequest = maxQueriesPerRequest;
+        this.maxStatementShapes = maxStatementShapes;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the metrics of the shape of a SQL statement, creating them on first use.
+     *
+     * @param sql SQL of the statement as passed to the driver.
+     * @return StatementMetrics of the statement's shape.
+     */
+    public StatementMetrics forStatement(String sql) {
+        StatementMetrics statement = statementsBySql.get(sql);
+        if (statement != null) {
+            return statement;
+        }
+
+        String shape = normalize(sql);
+        statement = statementsByShape.get(shape);
+        if (statement == null) {
+            statement = statementsByShape.size() < maxStatementShapes
+                    ? statementsByShape.computeIfAbsent(shape, key -> new StatementMetrics(key, isQuery(key)))
+                    : otherStatements;
+        }
+        if (statementsBySql.size() < maxStatementShapes * 4) {
+            statementsBySql.putIfAbsent(sql, statement);
+        }
+
+        return statement;
+    }
+
+    /**
+     * Records the execution of a statement.
+     *
+     * @param statement Metrics of the statement's shape.
+     * @param nanos     Execution time in nanoseconds.
+     * @param failed    Whether the execution threw an exception.
+     */
+    public void recordStatement(StatementMetrics statement, long nanos, boolean failed) {
+        boolean slow = nanos >= slowStatementThresholdNanos;
+        statement.record(nanos, failed, slow);
+
+        if (slow) {
+            slowStatements.increment();
+            log.warn("Slow statement took {} ms: {}", TimeUnit.NANOSECONDS.toMillis(nanos), statement.getSql());
+        }
+
+        QueryScope scope = currentScope.get();
+        if (scope != null) {
+            scope.recordStatement(statement, nanos);
+        }
+    }
+
+    /**
+     * Records the time spent waiting for a connection from the pool.
+     *
+     * @param nanos Time in nanoseconds until the connection was handed out.
+     */
+    public void recordConnectionAcquired(long nanos) {
+        connectionAcquisitions.record(nanos);
+
+        QueryScope scope = currentScope.get();
+        if (scope != null) {
+            scope.recordConnectionAcquired(nanos);
+        }
+    }
+
+    /**
+     * Opens a scope counting the statements executed by the current thread until it is closed.
+     *
+     * @return The new scope, nested in the scope already open on this thread, if any.
+     */
+    public QueryScope openScope() {
+        QueryScope scope = new QueryScope(this, currentScope.get());
+        currentScope.set(scope);
+        return scope;
+    }
+
+    void closeScope(QueryScope scope) {
+        if (currentScope.get() != scope) {
+            throw new IllegalStateException("Query scopes must be closed in reverse order, on the thread that opened them");
+        }
+
+        if (scope.getParent() == null) {
+            currentScope.remove();
+        } else {
+            currentScope.set(scope.getParent());
+        }
+    }
+
+    /**
+     * Records the statements of a finished request and flags it if they look like an N+1 pattern.
+     *
+     * @param endpoint Method and path pattern of the request.
+     * @param scope    Closed scope of the request.
+     */
+    public void recordRequest(String endpoint, QueryScope scope) {
+        RequestMetrics request = requestsByEndpoint.get(endpoint);
+        if (request == null) {
+            request = requestsByEndpoint.size() < MAX_ENDPOINTS
+                    ? requestsByEndpoint.computeIfAbsent(endpoint, RequestMetrics::new)
+                    : requestsByEndpoint.computeIfAbsent(OTHER_STATEMENTS, RequestMetrics::new);
+        }
+        request.statements.record(scope.getStatementCount());
+
+        Map.Entry<String, Integer> repeated = scope.getMostRepeatedQuery();
+        boolean nPlusOne = repeated != null && repeated.getValue() >= repeatedQueryThreshold;
+        if (!nPlusOne && scope.getQueryCount() <= maxQueriesPerRequest) {
+            return;
+        }
+
+        request.flagged.increment();
+        long flagged = request.flagged.sum();
+        if (Long.bitCount(flagged) == 1) {
+            log.warn("{} ran {} queries in one request ({} flagged requests so far); most repeated, {} times: {}",
+                    endpoint, scope.getQueryCount(), flagged, repeated.getValue(), repeated.getKey());
+        }
+    }
+
+    /**
+     * Returns the connection acquisition times, the statement shapes by execution count and the statements
+     * per request of every endpoint.
+     *
+     * @return JdbcStatsDTO containing the recorded JDBC activity.
+     */
+    public JdbcStatsDTO getStats() {
+        LatencyHistogram.Snapshot acquisitions = connectionAcquisitions.snapshot();
+
+        List<StatementMetricsDTO> statements = Stream.concat(statementsByShape.values().stream(), Stream.of(otherStatements))
+                .map(StatementMetrics::toDTO)
+                .filter(statement -> statement.getExecutions() > 0)
+                .sorted(Comparator.comparingLong(StatementMetricsDTO::getExecutions).reversed())
+                .toList();
+        List<RequestQueryStatsDTO> requests = requestsByEndpoint.values().stream()
+                .map(RequestMetrics::toDTO)
+                .sorted(Comparator.comparing(RequestQueryStatsDTO::getEndpoint))
+                .toList();
+
+        return new JdbcStatsDTO(enabled, TimeUnit.NANOSECONDS.toMillis(slowStatementThresholdNanos),
+                repeatedQueryThreshold, maxQueriesPerRequest, acquisitions.getCount(),
+                TimeUnit.NANOSECONDS.toMicros(acquisitions.getValueAtQuantile(0.5)),
+                TimeUnit.NANOSECONDS.toMicros(acquisitions.getValueAtQuantile(0.99)),
+                TimeUnit.NANOSECONDS.toMicros(acquisitions.getMax()),
+                slowStatements.sum(), statements, requests);
+    }
+
+    static String normalize(String sql) {
+        String shape = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        shape = STRING_LITERAL.matcher(shape).replaceAll("?");
+        shape = NUMERIC_LITERAL.matcher(shape).replaceAll("?");
+        return IN_LIST.matcher(shape).replaceAll("(?...)");
+    }
+
+    static boolean isQuery(String shape) {
+        return shape.regionMatches(true, 0, "select", 0, 6) || shape.regionMatches(true, 0, "with", 0, 4);
+    }
+
+    /**
+     * Statements per request and flagged requests of one endpoint.
+     */
+    private static class RequestMetrics {
+        private final String endpoint;
+        private final LatencyHistogram statements = new LatencyHistogram();
+        private final LongAdder flagged = new LongAdder();
+
+        private RequestMetrics(String endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        private RequestQueryStatsDTO toDTO() {
+            LatencyHistogram.Snapshot snapshot = statements.snapshot();
+
+            return new RequestQueryStatsDTO(endpoint, snapshot.getCount(), snapshot.getValueAtQuantile(0.5),
+                    snapshot.getValueAtQuantile(0.99), snapshot.getMax(), flagged.sum());
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.app.theravenwithoutauth.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free, striped latency histogram.
+ * <p>
+ * Values are recorded into log-linear buckets (16 sub-buckets per power of two, so a reported
+ * percentile is at most ~6% above the true value) and clamped to about 18 minutes in nanoseconds.
+ * Each thread records into one of several stripes of an {@link AtomicLongArray}, so concurrent
+ * recorders rarely touch the same counter; the stripes are summed when a snapshot is taken.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 40;
+    private static final long MAX_VALUE = (1L << (MAX_EXPONENT + 1)) - 1;
+    private static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+    private static final int STRIPES = Math.min(8, Integer.highestOneBit(Runtime.getRuntime().availableProcessors()));
+
+    private final AtomicLongArray counts = new AtomicLongArray(STRIPES * BUCKETS);
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records a value.
+     *
+     * @param nanos Latency in nanoseconds.
+     */
+    public void record(long nanos) {
+        long value = Math.min(Math.max(nanos, 0), MAX_VALUE);
+        int stripe = (int) Thread.currentThread().threadId() & (STRIPES - 1);
+
+        counts.getAndIncrement(stripe * BUCKETS + bucketOf(value));
+
+        if (value > max.get()) {
+            max.accumulateAndGet(value, Math::max);
+        }
+    }
+
+    /**
+     * Takes a snapshot of the recorded values.
+     *
+     * @return Snapshot able to answer percentile queries.
+     */
+    public Snapshot snapshot() {
+        long[] buckets = new long[BUCKETS];
+        long total = 0;
+
+        for (int i = 0; i < STRIPES * BUCKETS; i++) {
+            long count = counts.get(i);
+            buckets[i % BUCKETS] += count;
+            total += count;
+        }
+
+        return new Snapshot(buckets, total, max.get());
+    }
+
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long highestValueOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        int shift = exponent - SUB_BUCKET_BITS;
+        long lowest = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+
+    /**
+     * Point-in-time view of a histogram.
+     */
+    public static class Snapshot {
+        private final long[] buckets;
+        private final long count;
+        private final long max;
+
+        private Snapshot(long[] buckets, long count, long max) {
+            this.buckets = buckets;
+            this.count = count;
+            this.max = max;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getMax() {
+            return max;
+        }
+
+        /**
+         * Returns the value below which the given fraction of recorded values falls.
+         *
+         * @param quantile Fraction between 0 and 1, e.g. 0.99.
+         * @return Upper bound of the bucket holding the quantile, capped at the maximum, or 0 if empty.
+         */
+        public long getValueAtQuantile(double quantile) {
+            if (count == 0) {
+                return 0;
+            }
+
+            long rank = Math.max(1, (long) Math.ceil(quantile * count));
+            long seen = 0;
+
+            for (int i = 0; i < buckets.length; i++) {
+                seen += buckets[i];
+                if (seen >= rank) {
+                    return Math.min(highestValueOf(i), max);
+                }
+            }
+
+            return max;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.app.theravenwithoutauth.metrics;
+
+import com.app.theravenwithoutauth.model.dto.MethodMetricsDTO;
+import lombok.Getter;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Call count, error count and latency histogram of a single instrumented method.
+ */
+public class MethodMetrics {
+    @Getter
+    private final String name;
+    private final LongAdder errors = new LongAdder();
+    private final LatencyHistogram latencies = new LatencyHistogram();
+
+    public MethodMetrics(String name) {
+        this.name = name;
+    }
+
+    public void record(long nanos, boolean failed) {
+        latencies.record(nanos);
+        if (failed) {
+            errors.increment();
+        }
+    }
+
+    public MethodMetricsDTO toDTO() {
+        LatencyHistogram.Snapshot snapshot = latencies.snapshot();
+
+        return new MethodMetricsDTO(name, snapshot.getCount(), errors.sum(),
+                toMicros(snapshot.getValueAtQuantile(0.5)),
+                toMicros(snapshot.getValueAtQuantile(0.99)),
+                toMicros(snapshot.getValueAtQuantile(0.999)),
+                toMicros(snapshot.getMax()));
+    }
+
+    private static long toMicros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+}
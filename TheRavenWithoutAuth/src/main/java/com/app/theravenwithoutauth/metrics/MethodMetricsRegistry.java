@@ -0,0 +1,47 @@
+package com.app.theravenwithoutauth.metrics;
+
+import com.app.theravenwithoutauth.model.dto.MethodMetricsDTO;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Registry of the metrics recorded for every instrumented method.
+ */
+@Component
+public class MethodMetricsRegistry {
+    private final ConcurrentMap<Method, MethodMetrics> metrics = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the metrics of a method, creating them on first use.
+     *
+     * @param method      Invoked method.
+     * @param targetClass Class of the bean the method was invoked on.
+     * @return MethodMetrics of the method.
+     */
+    public MethodMetrics forMethod(Method method, Class<?> targetClass) {
+        MethodMetrics methodMetrics = metrics.get(method);
+        if (methodMetrics != null) {
+            return methodMetrics;
+        }
+
+        return metrics.computeIfAbsent(method,
+                key -> new MethodMetrics(targetClass.getSimpleName() + "." + key.getName()));
+    }
+
+    /**
+     * Returns the metrics of all instrumented methods, ordered by method name.
+     *
+     * @return List of MethodMetricsDTO.
+     */
+    public List<MethodMetricsDTO> getMethodMetrics() {
+        return metrics.values().stream()
+                .map(MethodMetrics::toDTO)
+                .sorted(Comparator.comparing(MethodMetricsDTO::getMethod))
+                .toList();
+    }
+}
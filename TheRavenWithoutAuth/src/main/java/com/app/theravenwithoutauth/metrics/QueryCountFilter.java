@@ -0,0 +1,60 @@
+package com.app.theravenwithoutauth.metrics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Filter counting the SQL statements of every customer API request in a {@link QueryScope}.
+ * <p>
+ * Requests are grouped by method and path pattern, so that the statements per request of every endpoint
+ * can be compared and requests looking like an N+1 pattern flagged. Only the statements executed on the
+ * container thread are counted; the asynchronous part of streamed responses is not.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 2)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class QueryCountFilter extends OncePerRequestFilter {
+    private static final String FILTERED_PATH = "/api/customers";
+
+    private final JdbcMetricsRegistry jdbcMetricsRegistry;
+
+    /**
+     * Constructor for QueryCountFilter.
+     *
+     * @param jdbcMetricsRegistry Registry recording the statements per request.
+     */
+    @Autowired
+    public QueryCountFilter(JdbcMetricsRegistry jdbcMetricsRegistry) {
+        this.jdbcMetricsRegistry = jdbcMetricsRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !jdbcMetricsRegistry.isEnabled() || !request.getRequestURI().startsWith(FILTERED_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        QueryScope scope = jdbcMetricsRegistry.openScope();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            scope.close();
+
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            jdbcMetricsRegistry.recordRequest(request.getMethod() + " " + (pattern != null ? pattern : "unmatched"), scope);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.app.theravenwithoutauth.metrics;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Counts the SQL statements executed and the connections acquired by the current thread while it is open.
+ * <p>
+ * Scopes are opened with {@link JdbcMetricsRegistry#openScope()} and must be closed on the thread that
+ * opened them; work handed to other threads is not counted. Scopes nest: closing a scope adds its counts
+ * to the enclosing one. The request filter opens one scope per request, and tests can open their own to
+ * assert on the statements issued by a call:
+ * <pre>{@code
+ * try (QueryScope scope = jdbcMetricsRegistry.openScope()) {
+ *     customerService.getCustomersByIds(ids);
+ *     assertEquals(1, scope.getQueryCount());
+ * }
+ * }</pre>
+ */
+public class QueryScope implements AutoCloseable {
+    private final JdbcMetricsRegistry registry;
+    private final QueryScope parent;
+    private final Map<String, Integer> executionsBySql = new HashMap<>();
+    private int statementCount;
+    private int queryCount;
+    private long statementNanos;
+    private int connectionCount;
+    private long connectionWaitNanos;
+    private boolean closed;
+
+    QueryScope(JdbcMetricsRegistry registry, QueryScope parent) {
+        this.registry = registry;
+        this.parent = parent;
+    }
+
+    void recordStatement(StatementMetrics statement, long nanos) {
+        statementCount++;
+        if (statement.isQuery()) {
+            queryCount++;
+        }
+        statementNanos += nanos;
+        executionsBySql.merge(statement.getSql(), 1, Integer::sum);
+    }
+
+    void recordConnectionAcquired(long nanos) {
+        connectionCount++;
+        connectionWaitNanos += nanos;
+    }
+
+    QueryScope getParent() {
+        return parent;
+    }
+
+    /**
+     * Returns the number of statements executed in this scope; a JDBC batch counts as one statement.
+     */
+    public int getStatementCount() {
+        return statementCount;
+    }
+
+    /**
+     * Returns the number of queries (SELECT statements) executed in this scope.
+     */
+    public int getQueryCount() {
+        return queryCount;
+    }
+
+    /**
+     * Returns the total time spent executing statements in this scope, in nanoseconds.
+     */
+    public long getStatementNanos() {
+        return statementNanos;
+    }
+
+    /**
+     * Returns the number of connections acquired from the pool in this scope.
+     */
+    public int getConnectionCount() {
+        return connectionCount;
+    }
+
+    /**
+     * Returns the total time spent waiting for pool connections in this scope, in nanoseconds.
+     */
+    public long getConnectionWaitNanos() {
+        return connectionWaitNanos;
+    }
+
+    /**
+     * Returns the number of executions of every statement shape executed in this scope.
+     *
+     * @return Unmodifiable map from normalized SQL to execution count.
+     */
+    public Map<String, Integer> getExecutionsBySql() {
+        return Collections.unmodifiableMap(executionsBySql);
+    }
+
+    /**
+     * Returns the query shape executed most often in this scope, the usual sign of an N+1 pattern.
+     *
+     * @return Entry of normalized SQL and execution count, or null if no query was executed.
+     */
+    public Map.Entry<String, Integer> getMostRepeatedQuery() {
+        Map.Entry<String, Integer> mostRepeated = null;
+
+        for (Map.Entry<String, Integer> execution : executionsBySql.entrySet()) {
+            if (JdbcMetricsRegistry.isQuery(execution.getKey())
+                    && (mostRepeated == null || execution.getValue() > mostRepeated.getValue())) {
+                mostRepeated = execution;
+            }
+        }
+
+        return mostRepeated;
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        registry.closeScope(this);
+
+        if (parent != null) {
+            parent.statementCount += statementCount;
+            parent.queryCount += queryCount;
+            parent.statementNanos += statementNanos;
+            parent.connectionCount += connectionCount;
+            parent.connectionWaitNanos += connectionWaitNanos;
+            executionsBySql.forEach((sql, executions) -> parent.executionsBySql.merge(sql, executions, Integer::sum));
+        }
+    }
+}
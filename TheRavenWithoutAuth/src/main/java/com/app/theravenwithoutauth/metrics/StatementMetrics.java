@@ -0,0 +1,49 @@
+package com.app.theravenwithoutauth.metrics;
+
+import com.app.theravenwithoutauth.model.dto.StatementMetricsDTO;
+import lombok.Getter;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Execution count, error count, slow execution count and latency histogram of one SQL statement shape.
+ */
+public class StatementMetrics {
+    @Getter
+    private final String sql;
+    @Getter
+    private final boolean query;
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder slow = new LongAdder();
+    private final LatencyHistogram latencies = new LatencyHistogram();
+
+    public StatementMetrics(String sql, boolean query) {
+        this.sql = sql;
+        this.query = query;
+    }
+
+    public void record(long nanos, boolean failed, boolean slowExecution) {
+        latencies.record(nanos);
+        if (failed) {
+            errors.increment();
+        }
+        if (slowExecution) {
+            slow.increment();
+        }
+    }
+
+    public StatementMetricsDTO toDTO() {
+        LatencyHistogram.Snapshot snapshot = latencies.snapshot();
+
+        return new StatementMetricsDTO(sql, snapshot.getCount(), errors.sum(), slow.sum(),
+                toMicros(snapshot.getValueAtQuantile(0.5)),
+                toMicros(snapshot.getValueAtQuantile(0.99)),
+                toMicros(snapshot.getValueAtQuantile(0.999)),
+                toMicros(snapshot.getMax()));
+    }
+
+    private static long toMicros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+}
@@ -0,0 +1,43 @@
+package com.app.theravenwithoutauth.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entity representing a soft-deleted customer moved out of the customers table by the archival job.
+ * <p>
+ * The email is not unique here: once archived, an email can be registered again.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "customers_archive")
+public class ArchivedCustomer {
+    @Id
+    @Column(name = "id")
+    private long id;
+
+    @Column(name = "created")
+    private long created;
+
+    @Column(name = "updated")
+    private long updated;
+
+    @Column(name = "full_name")
+    private String fullName;
+
+    @Column(name = "email")
+    private String email;
+
+    @Column(name = "phone")
+    private String phone;
+
+    @Column(name = "version")
+    private long version;
+
+    @Column(name = "archived")
+    private long archived;
+}
@@ -2,24 +2,43 @@ package com.app.theravenwithoutauth.model;
 
 import com.app.theravenwithoutauth.model.dto.CustomerDTO;
 import com.app.theravenwithoutauth.model.dto.UpdateCustomerDTO;
+import com.app.theravenwithoutauth.sharding.ShardedCustomerIdGenerator;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 
 import java.util.Date;
 
 /**
  * Entity representing a customer.
+ * <p>
+ * The indexes serve the keyset reads of active customers (the version is included so that
+ * page versions are read from the index alone) and the archival job's scan for old inactive ones.
+ * IDs are drawn from the sequence of the customer's shard and encode the shard when there are several.
  */
 @Data
 @NoArgsConstructor
 @RequiredArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "customers")
+@Table(name = "customers", indexes = {
+        @Index(name = "idx_customers_active_id", columnList = "is_active, id, version"),
+        @Index(name = "idx_customers_active_updated", columnList = "is_active, updated")
+})
 public class Customer {
+    /**
+     * Number of IDs reserved by each value drawn from the customer sequence.
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
     @Column(name = "id")
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "customers_seq")
+    @GenericGenerator(name = "customers_seq", type = ShardedCustomerIdGenerator.class, parameters = {
+            @Parameter(name = "sequence_name", value = "customers_seq"),
+            @Parameter(name = "increment_size", value = "" + ID_ALLOCATION_SIZE)
+    })
     private long id;
     
     @Column(name = "created")
@@ -42,6 +61,10 @@ public class Customer {
     @Column(name = "is_active")
     private boolean isActive;
 
+    @Version
+    @Column(name = "version")
+    private long version;
+
     public Customer(@NonNull String fullName, @NonNull String email,
                     String phone, boolean isActive, long created) {
         this.fullName = fullName;
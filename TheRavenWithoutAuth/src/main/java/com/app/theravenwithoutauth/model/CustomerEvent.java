@@ -0,0 +1,52 @@
+package com.app.theravenwithoutauth.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entity representing a customer change in the transactional outbox of the change feed.
+ * <p>
+ * Events are written in the transaction of the change, with the state of the customer after it.
+ * The position is assigned by the dispatcher once the event is committed: positions are gapless and
+ * follow commit order, so a subscriber can resume from the position of the last event it received.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "customer_events", indexes = {
+        @Index(name = "idx_customer_events_position", columnList = "position", unique = true)
+})
+public class CustomerEvent {
+    @Id
+    @Column(name = "id")
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private long id;
+
+    @Column(name = "position")
+    private Long position;
+
+    @Column(name = "type")
+    @Enumerated(EnumType.STRING)
+    private CustomerEventType type;
+
+    @Column(name = "customer_id")
+    private long customerId;
+
+    @Column(name = "full_name")
+    private String fullName;
+
+    @Column(name = "email")
+    private String email;
+
+    @Column(name = "phone")
+    private String phone;
+
+    @Column(name = "version")
+    private long version;
+
+    @Column(name = "occurred")
+    private long occurred;
+}
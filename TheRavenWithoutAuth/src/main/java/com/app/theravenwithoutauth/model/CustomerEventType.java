@@ -0,0 +1,10 @@
+package com.app.theravenwithoutauth.model;
+
+/**
+ * Kind of change recorded in the customer change feed.
+ */
+public enum CustomerEventType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
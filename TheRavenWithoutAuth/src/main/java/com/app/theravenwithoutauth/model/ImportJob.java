@@ -0,0 +1,93 @@
+package com.app.theravenwithoutauth.model;
+
+import com.app.theravenwithoutauth.model.dto.ImportJobDTO;
+import com.app.theravenwithoutauth.model.dto.ImportRejectionDTO;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory state of a customer import job.
+ * <p>
+ * Counters are updated by the parsing and writing threads while the job runs
+ * and can be read at any time. Only the first rejections are kept in detail.
+ */
+public class ImportJob {
+    @Getter
+    private final String id;
+    private final String format;
+    private final long started;
+    private final int maxReportedRejections;
+
+    private final AtomicLong rowsRead = new AtomicLong();
+    private final AtomicLong rowsImported = new AtomicLong();
+    private final AtomicLong rowsRejected = new AtomicLong();
+    private final List<ImportRejectionDTO> rejections = new ArrayList<>();
+
+    private volatile ImportJobDTO.Status status = ImportJobDTO.Status.RUNNING;
+    private volatile long finished;
+    private volatile String failure;
+
+    public ImportJob(String id, String format, int maxReportedRejections) {
+        this.id = id;
+        this.format = format;
+        this.maxReportedRejections = maxReportedRejections;
+        this.started = new Date().getTime();
+    }
+
+    public void rowRead() {
+        rowsRead.incrementAndGet();
+    }
+
+    public void rowsImported(int count) {
+        rowsImported.addAndGet(count);
+    }
+
+    public void reject(long row, ImportRejectionDTO.Reason reason, String message) {
+        rowsRejected.incrementAndGet();
+        synchronized (rejections) {
+            if (rejections.size() < maxReportedRejections) {
+                rejections.add(new ImportRejectionDTO(row, reason, message));
+            }
+        }
+    }
+
+    public void complete() {
+        finish(ImportJobDTO.Status.COMPLETED, null);
+    }
+
+    public void fail(String failure) {
+        finish(ImportJobDTO.Status.FAILED, failure);
+    }
+
+    public boolean isRunning() {
+        return status == ImportJobDTO.Status.RUNNING;
+    }
+
+    private void finish(ImportJobDTO.Status status, String failure) {
+        this.failure = failure;
+        this.finished = new Date().getTime();
+        this.status = status;
+    }
+
+    /**
+     * Creates a snapshot of the job's current state.
+     *
+     * @param withRejections Whether to include the detailed rejection report.
+     * @return An ImportJobDTO object.
+     */
+    public ImportJobDTO toDTO(boolean withRejections) {
+        List<ImportRejectionDTO> report = null;
+        if (withRejections) {
+            synchronized (rejections) {
+                report = List.copyOf(rejections);
+            }
+        }
+
+        return new ImportJobDTO(id, status, format, started, finished, rowsRead.get(),
+                rowsImported.get(), rowsRejected.get(), failure, report);
+    }
+}
@@ -0,0 +1,20 @@
+package com.app.theravenwithoutauth.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object (DTO) representing the state and counters of the database admission limiter.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AdmissionStatsDTO {
+    private boolean enabled;
+    private int maxConcurrent;
+    private int running;
+    private int queued;
+    private long admitted;
+    private long rejected;
+}
@@ -0,0 +1,25 @@
+package com.app.theravenwithoutauth.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object (DTO) representing the progress of the customer archival job.
+ * <p>
+ * The run fields describe the current run while one is in progress, the last run otherwise.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchiveStatsDTO {
+    private boolean enabled;
+    private boolean running;
+    private long runStarted;
+    private long runFinished;
+    private long runBatches;
+    private long runArchived;
+    private double runRowsPerSecond;
+    private long totalArchived;
+    private String lastError;
+}
@@ -0,0 +1,30 @@
+package com.app.theravenwithoutauth.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object (DTO) representing the outcome of one item of a batch customer creation.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchCustomerResultDTO {
+    private int index;
+    private Status status;
+    private CustomerResponseDTO customer;
+    private String message;
+
+    public enum Status {
+        CREATED, INVALID, DUPLICATE
+    }
+
+    public static BatchCustomerResultDTO created(int index, CustomerResponseDTO customer) {
+        return new BatchCustomerResultDTO(index, Status.CREATED, customer, null);
+    }
+
+    public static BatchCustomerResultDTO rejected(int index, Status status, String message) {
+        return new BatchCustomerResultDTO(index, status, null, message);
+    }
+}
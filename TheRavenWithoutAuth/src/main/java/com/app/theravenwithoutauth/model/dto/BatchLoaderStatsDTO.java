@@ -0,0 +1,24 @@
+package com.app.theravenwithoutauth.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object (DTO) representing the settings and batch sizes of the customer batch loader.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchLoaderStatsDTO {
+    private boolean enabled;
+    private long windowMicros;
+    private int maxBatchSize;
+    private long batches;
+    private long requestedIds;
+    private long loadedIds;
+    private double averageBatchSize;
+    private long p50BatchSize;
+    private long p99BatchSize;
+    private long maxObservedBatchSize;
+}
@@ -0,0 +1,18 @@
+package com.app.theravenwithoutauth.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object (DTO) representing the outcome of a bulk customer deletion.
+ * <p>
+ * Requested IDs that were not deleted did not exist or had already been deleted.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkDeleteResultDTO {
+    private int requested;
+    private int deleted;
+}
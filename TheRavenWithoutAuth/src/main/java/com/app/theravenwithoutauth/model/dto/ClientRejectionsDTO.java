@@ -0,0 +1,16 @@
+package com.app.theravenwithoutauth.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object (DTO) representing the number of rate-limited requests of a client.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClientRejectionsDTO {
+    private String clientId;
+    private long rejected;
+}
@@ -0,0 +1,28 @@
+package com.app.theravenwithoutauth.model.dto;
+
+import com.app.theravenwithoutauth.model.CustomerEvent;
+import com.app.theravenwithoutauth.model.CustomerEventType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object (DTO) representing an event of the customer change feed: the kind of change,
+ * when it happened and the state of the customer after it (the last state for deletions).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerEventDTO {
+    private long position;
+    private CustomerEventType type;
+    private long occurred;
+    private long version;
+    private CustomerResponseDTO customer;
+
+    public static CustomerEventDTO fromCustomerEvent(CustomerEvent event) {
+        return new CustomerEventDTO(event.getPosition(), event.getType(), event.getOccurred(), event.getVersion(),
+                new CustomerResponseDTO(event.getCustomerId(), event.getFullName(), event.getEmail(),
+                        event.getPhone(), event.getVersion(), event.getOccurred()));
+    }
+}
@@ -0,0 +1,22 @@
+package com.app.theravenwithoutauth.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object (DTO) representing the state and counters of the customer change feed dispatcher.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerEventStatsDTO {
+    private long lastPosition;
+    private int subscribers;
+    private long published;
+    private long delivered;
+    private long replayed;
+    private long bufferOverflows;
+    private long slowConsumerDisconnects;
+    private long purged;
+}
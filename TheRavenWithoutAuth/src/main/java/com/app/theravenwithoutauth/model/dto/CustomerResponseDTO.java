@@ -1,12 +1,16 @@
 package com.app.theravenwithoutauth.model.dto;
 
 import com.app.theravenwithoutauth.model.Customer;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 /**
  * Data Transfer Object (DTO) representing a response for customer data.
+ * <p>
+ * The version and modification time are not part of the body; they are sent as the
+ * ETag and Last-Modified headers.
  */
 @Data
 @NoArgsConstructor
@@ -17,6 +21,12 @@ public class CustomerResponseDTO {
     private String email;
     private String phone;
 
+    @JsonIgnore
+    private long version;
+
+    @JsonIgnore
+    private long lastModified;
+
     /**
      * Creates a CustomerResponseDTO from a Customer entity.
      *
@@ -25,6 +35,7 @@ public class CustomerResponseDTO {
      */
     public static CustomerResponseDTO fromCustomer(Customer customer) {
         return new CustomerResponseDTO(customer.getId(), customer.getFullName(),
-                customer.getEmail(), customer.getPhone());
+                customer.getEmail(), customer.getPhone(), customer.getVersion(),
+                Math.max(customer.getCreated(), customer.getUpdated()));
     }
 }
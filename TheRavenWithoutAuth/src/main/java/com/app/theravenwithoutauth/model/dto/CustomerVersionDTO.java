@@ -0,0 +1,17 @@
+package com.app.theravenwithoutauth.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object (DTO) representing the ID and version of a customer, used to validate
+ * cached pages without loading the customers themselves.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerVersionDTO {
+    private long id;
+    private long version;
+}
@@ -0,0 +1,28 @@
+package com.app.theravenwithoutauth.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object (DTO) representing the routing counters, replication state and pool state
+ * of the primary database or of a read replica.
+ * <p>
+ * For the primary database, readOnlyConnections counts the read-only transactions that fell back to
+ * it because no replica was healthy, and lagMillis is always 0.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DataSourceStatsDTO {
+    private String name;
+    private String role;
+    private boolean healthy;
+    private long lagMillis;
+    private long lastChecked;
+    private long connections;
+    private long readOnlyConnections;
+    private int activeConnections;
+    private int idleConnections;
+    private int threadsAwaitingConnection;
+}
@@ -0,0 +1,21 @@
+package com.app.theravenwithoutauth.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object (DTO) representing the counters of the known-email filter.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmailFilterStatsDTO {
+    private boolean ready;
+    private long bitCount;
+    private int hashCount;
+    private long insertions;
+    private long skippedLookups;
+    private long performedLookups;
+    private long constraintConflicts;
+}
@@ -0,0 +1,30 @@
+package com.app.theravenwithoutauth.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) representing the progress and rejection report of a customer import.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJobDTO {
+    private String id;
+    private Status status;
+    private String format;
+    private long started;
+    private long finished;
+    private long rowsRead;
+    private long rowsImported;
+    private long rowsRejected;
+    private String failure;
+    private List<ImportRejectionDTO> rejections;
+
+    public enum Status {
+        RUNNING, COMPLETED, FAILED
+    }
+}
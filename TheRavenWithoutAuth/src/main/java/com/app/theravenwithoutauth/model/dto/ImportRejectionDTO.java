@@ -0,0 +1,21 @@
+package com.app.theravenwithoutauth.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object (DTO) representing a row rejected by a customer import.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportRejectionDTO {
+    private long row;
+    private Reason reason;
+    private String message;
+
+    public enum Reason {
+        MALFORMED, INVALID, DUPLICATE
+    }
+}
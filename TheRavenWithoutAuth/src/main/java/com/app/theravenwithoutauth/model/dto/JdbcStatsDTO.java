@@ -0,0 +1,28 @@
+package com.app.theravenwithoutauth.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) representing the JDBC activity of the application: connection acquisition
+ * times, statement latencies per statement shape and statements per request per endpoint.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JdbcStatsDTO {
+    private boolean enabled;
+    private long slowStatementThresholdMillis;
+    private int repeatedQueryThreshold;
+    private int maxQueriesPerRequest;
+    private long connectionAcquisitions;
+    private long acquisitionP50Micros;
+    private long acquisitionP99Micros;
+    private long acquisitionMaxMicros;
+    private long slowStatements;
+    private List<StatementMetricsDTO> statements;
+    private List<RequestQueryStatsDTO> requests;
+}
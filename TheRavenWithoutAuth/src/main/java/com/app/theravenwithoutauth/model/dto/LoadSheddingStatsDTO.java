@@ -0,0 +1,24 @@
+package com.app.theravenwithoutauth.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object (DTO) representing the thresholds, current load and counters of the load shedder.
+ * <p>
+ * The recent pool wait is -1 when a connection request timed out.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoadSheddingStatsDTO {
+    private boolean enabled;
+    private int maxInFlight;
+    private int inFlight;
+    private long maxPoolWaitMillis;
+    private long recentPoolWaitMillis;
+    private long admitted;
+    private long shedInFlight;
+    private long shedPoolWait;
+}
@@ -0,0 +1,21 @@
+package com.app.theravenwithoutauth.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object (DTO) representing the call counters and latency percentiles of a method.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MethodMetricsDTO {
+    private String method;
+    private long calls;
+    private long errors;
+    private long p50Micros;
+    private long p99Micros;
+    private long p999Micros;
+    private long maxMicros;
+}
@@ -0,0 +1,20 @@
+package com.app.theravenwithoutauth.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object (DTO) representing a partial update for customer data.
+ * <p>
+ * Fields left null are not changed. The email cannot be changed; when supplied,
+ * the update only applies if it matches the customer's email.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PatchCustomerDTO {
+    private String fullName;
+    private String email;
+    private String phone;
+}
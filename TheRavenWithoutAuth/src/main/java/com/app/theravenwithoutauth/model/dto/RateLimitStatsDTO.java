@@ -0,0 +1,29 @@
+package com.app.theravenwithoutauth.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) representing the configuration and counters of the per-client rate limiter.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RateLimitStatsDTO {
+    private boolean enabled;
+    private double requestsPerSecond;
+    private int burst;
+    private double addressRequestsPerSecond;
+    private int addressBurst;
+    private long trackedClients;
+    private long trackedAddresses;
+    private int priorityClients;
+    private long admitted;
+    private long priorityAdmitted;
+    private long rejected;
+    private List<ClientRejectionsDTO> topRejectedClients;
+    private List<ClientRejectionsDTO> topRejectedAddresses;
+}
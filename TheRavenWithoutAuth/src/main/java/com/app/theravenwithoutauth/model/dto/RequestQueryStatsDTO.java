@@ -0,0 +1,20 @@
+package com.app.theravenwithoutauth.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object (DTO) representing the number of SQL statements issued per request to an endpoint.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RequestQueryStatsDTO {
+    private String endpoint;
+    private long requests;
+    private long p50Statements;
+    private long p99Statements;
+    private long maxStatements;
+    private long flaggedRequests;
+}
@@ -0,0 +1,21 @@
+package com.app.theravenwithoutauth.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object (DTO) representing the state of the customer search index.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchIndexStatsDTO {
+    private boolean ready;
+    private int customers;
+    private int retiredDocuments;
+    private int grams;
+    private long lastBuildFinished;
+    private long lastBuildMillis;
+    private long searches;
+}
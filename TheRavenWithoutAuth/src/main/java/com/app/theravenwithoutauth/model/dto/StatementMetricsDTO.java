@@ -0,0 +1,22 @@
+package com.app.theravenwithoutauth.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object (DTO) representing the execution counters and latency percentiles of a SQL statement shape.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatementMetricsDTO {
+    private String sql;
+    private long executions;
+    private long errors;
+    private long slowExecutions;
+    private long p50Micros;
+    private long p99Micros;
+    private long p999Micros;
+    private long maxMicros;
+}
@@ -0,0 +1,177 @@
+package com.app.theravenwithoutauth.protobuf;
+
+import com.app.theravenwithoutauth.model.dto.CustomerResponseDTO;
+import com.app.theravenwithoutauth.model.dto.ExceptionResponseDTO;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Protocol Buffers encoding of customer responses, following the schema in 'proto/customers.proto'.
+ * <p>
+ * Messages are written from and read into the response DTOs directly, without generated message
+ * classes in between. Fields holding their default value are omitted and unknown fields are skipped
+ * on read, as protobuf requires, so clients may use code generated from the schema.
+ */
+public final class CustomerProtobufCodec {
+    private static final int CUSTOMER_ID = 1;
+    private static final int CUSTOMER_FULL_NAME = 2;
+    private static final int CUSTOMER_EMAIL = 3;
+    private static final int CUSTOMER_PHONE = 4;
+
+    private static final int CUSTOMER_LIST_CUSTOMERS = 1;
+
+    private static final int EXCEPTION_STATUS = 1;
+    private static final int EXCEPTION_MESSAGE = 2;
+    private static final int EXCEPTION_NAME = 3;
+
+    private static final int CUSTOMER_ID_TAG = tag(CUSTOMER_ID, WireFormat.WIRETYPE_VARINT);
+    private static final int CUSTOMER_FULL_NAME_TAG = tag(CUSTOMER_FULL_NAME, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+    private static final int CUSTOMER_EMAIL_TAG = tag(CUSTOMER_EMAIL, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+    private static final int CUSTOMER_PHONE_TAG = tag(CUSTOMER_PHONE, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+    private static final int CUSTOMER_LIST_CUSTOMERS_TAG =
+            tag(CUSTOMER_LIST_CUSTOMERS, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+
+    private CustomerProtobufCodec() {
+    }
+
+    /**
+     * Writes a customer as a Customer message.
+     *
+     * @param customer     Customer to write.
+     * @param outputStream Stream to write the message to; it is not closed.
+     * @throws IOException Thrown if writing to the stream fails.
+     */
+    public static void writeCustomer(CustomerResponseDTO customer, OutputStream outputStream) throws IOException {
+        CodedOutputStream output = CodedOutputStream.newInstance(outputStream);
+        writeCustomerFields(customer, output);
+        output.flush();
+    }
+
+    /**
+     * Writes a list of customers as a CustomerList message.
+     *
+     * @param customers    Customers to write.
+     * @param outputStream Stream to write the message to; it is not closed.
+     * @throws IOException Thrown if writing to the stream fails.
+     */
+    public static void writeCustomers(List<CustomerResponseDTO> customers, OutputStream outputStream)
+            throws IOException {
+        CodedOutputStream output = CodedOutputStream.newInstance(outputStream);
+        for (CustomerResponseDTO customer : customers) {
+            output.writeTag(CUSTOMER_LIST_CUSTOMERS, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+            output.writeUInt32NoTag(computeCustomerSize(customer));
+            writeCustomerFields(customer, output);
+        }
+        output.flush();
+    }
+
+    /**
+     * Writes an error response as an ExceptionResponse message.
+     *
+     * @param exception    Error response to write.
+     * @param outputStream Stream to write the message to; it is not closed.
+     * @throws IOException Thrown if writing to the stream fails.
+     */
+    public static void writeException(ExceptionResponseDTO exception, OutputStream outputStream) throws IOException {
+        CodedOutputStream output = CodedOutputStream.newInstance(outputStream);
+        if (exception.getStatus() != 0) {
+            output.writeInt32(EXCEPTION_STATUS, exception.getStatus());
+        }
+        writeString(output, EXCEPTION_MESSAGE, exception.getMessage());
+        writeString(output, EXCEPTION_NAME, exception.getExceptionName());
+        output.flush();
+    }
+
+    /**
+     * Reads a Customer message.
+     *
+     * @param inputStream Stream holding exactly one message.
+     * @return The customer read.
+     * @throws IOException Thrown if reading fails or the message is malformed.
+     */
+    public static CustomerResponseDTO readCustomer(InputStream inputStream) throws IOException {
+        return readCustomer(CodedInputStream.newInstance(inputStream));
+    }
+
+    /**
+     * Reads a CustomerList message.
+     *
+     * @param inputStream Stream holding exactly one message.
+     * @return The customers read, in message order.
+     * @throws IOException Thrown if reading fails or the message is malformed.
+     */
+    public static List<CustomerResponseDTO> readCustomers(InputStream inputStream) throws IOException {
+        CodedInputStream input = CodedInputStream.newInstance(inputStream);
+        List<CustomerResponseDTO> customers = new ArrayList<>();
+
+        for (int tag = input.readTag(); tag != 0; tag = input.readTag()) {
+            if (tag == CUSTOMER_LIST_CUSTOMERS_TAG) {
+                int limit = input.pushLimit(input.readRawVarint32());
+                customers.add(readCustomer(input));
+                input.popLimit(limit);
+            } else {
+                input.skipField(tag);
+            }
+        }
+
+        return customers;
+    }
+
+    private static CustomerResponseDTO readCustomer(CodedInputStream input) throws IOException {
+        CustomerResponseDTO customer = new CustomerResponseDTO();
+
+        for (int tag = input.readTag(); tag != 0; tag = input.readTag()) {
+            if (tag == CUSTOMER_ID_TAG) {
+                customer.setId(input.readInt64());
+            } else if (tag == CUSTOMER_FULL_NAME_TAG) {
+                customer.setFullName(input.readStringRequireUtf8());
+            } else if (tag == CUSTOMER_EMAIL_TAG) {
+                customer.setEmail(input.readStringRequireUtf8());
+            } else if (tag == CUSTOMER_PHONE_TAG) {
+                customer.setPhone(input.readStringRequireUtf8());
+            } else {
+                input.skipField(tag);
+            }
+        }
+
+        return customer;
+    }
+
+    private static void writeCustomerFields(CustomerResponseDTO customer, CodedOutputStream output)
+            throws IOException {
+        if (customer.getId() != 0) {
+            output.writeInt64(CUSTOMER_ID, customer.getId());
+        }
+        writeString(output, CUSTOMER_FULL_NAME, customer.getFullName());
+        writeString(output, CUSTOMER_EMAIL, customer.getEmail());
+        writeString(output, CUSTOMER_PHONE, customer.getPhone());
+    }
+
+    private static int computeCustomerSize(CustomerResponseDTO customer) {
+        return (customer.getId() != 0 ? CodedOutputStream.computeInt64Size(CUSTOMER_ID, customer.getId()) : 0)
+                + computeStringSize(CUSTOMER_FULL_NAME, customer.getFullName())
+                + computeStringSize(CUSTOMER_EMAIL, customer.getEmail())
+                + computeStringSize(CUSTOMER_PHONE, customer.getPhone());
+    }
+
+    private static int tag(int field, int wireType) {
+        return field << 3 | wireType;
+    }
+
+    private static void writeString(CodedOutputStream output, int field, String value) throws IOException {
+        if (value != null && !value.isEmpty()) {
+            output.writeString(field, value);
+        }
+    }
+
+    private static int computeStringSize(int field, String value) {
+        return value != null && !value.isEmpty() ? CodedOutputStream.computeStringSize(field, value) : 0;
+    }
+}
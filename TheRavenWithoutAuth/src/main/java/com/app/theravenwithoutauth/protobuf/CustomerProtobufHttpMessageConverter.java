@@ -0,0 +1,84 @@
+package com.app.theravenwithoutauth.protobuf;
+
+import com.app.theravenwithoutauth.model.dto.CustomerResponseDTO;
+import com.app.theravenwithoutauth.model.dto.ExceptionResponseDTO;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Message converter writing customer responses as Protocol Buffers through {@link CustomerProtobufCodec}.
+ * <p>
+ * Handles single customers, lists of customers and error responses; other bodies are not
+ * available in this format, and requests accepting only protobuf for them are answered with 406.
+ */
+public class CustomerProtobufHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+    public static final MediaType PROTOBUF = new MediaType("application", "x-protobuf");
+
+    public CustomerProtobufHttpMessageConverter() {
+        super(PROTOBUF);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return CustomerResponseDTO.class == clazz || ExceptionResponseDTO.class == clazz
+                || List.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return (isCustomer(type) || isCustomerList(type)) && canRead(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        Type valueType = type != null ? type : clazz;
+        return (isCustomer(valueType) || isCustomerList(valueType) || ExceptionResponseDTO.class == valueType)
+                && canWrite(mediaType);
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage)
+            throws IOException, HttpMessageNotReadableException {
+        return isCustomerList(type)
+                ? CustomerProtobufCodec.readCustomers(inputMessage.getBody())
+                : CustomerProtobufCodec.readCustomer(inputMessage.getBody());
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage)
+            throws IOException, HttpMessageNotReadableException {
+        return CustomerProtobufCodec.readCustomer(inputMessage.getBody());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void writeInternal(Object body, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        if (body instanceof CustomerResponseDTO customer) {
+            CustomerProtobufCodec.writeCustomer(customer, outputMessage.getBody());
+        } else if (body instanceof ExceptionResponseDTO exception) {
+            CustomerProtobufCodec.writeException(exception, outputMessage.getBody());
+        } else {
+            CustomerProtobufCodec.writeCustomers((List<CustomerResponseDTO>) body, outputMessage.getBody());
+        }
+    }
+
+    private static boolean isCustomer(Type type) {
+        return CustomerResponseDTO.class == type;
+    }
+
+    private static boolean isCustomerList(Type type) {
+        ResolvableType resolvableType = ResolvableType.forType(type);
+        return List.class.isAssignableFrom(resolvableType.toClass())
+                && CustomerResponseDTO.class == resolvableType.asCollection().resolveGeneric(0);
+    }
+}
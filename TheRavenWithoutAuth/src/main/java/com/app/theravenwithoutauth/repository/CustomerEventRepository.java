@@ -0,0 +1,61 @@
+package com.app.theravenwithoutauth.repository;
+
+import com.app.theravenwithoutauth.model.CustomerEvent;
+import com.app.theravenwithoutauth.model.CustomerEventType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface CustomerEventRepository extends JpaRepository<CustomerEvent, Long> {
+    /**
+     * Records an event with the current state of each of the given customers, in one statement.
+     *
+     * @return The number of recorded events.
+     */
+    @Modifying
+    @Query("insert into CustomerEvent (type, customerId, fullName, email, phone, version, occurred) "
+            + "select :type, c.id, c.fullName, c.email, c.phone, c.version, :occurred "
+            + "from Customer c where c.id in :ids")
+    int recordEvents(@Param("type") CustomerEventType type, @Param("ids") Collection<Long> ids,
+                     @Param("occurred") long occurred);
+
+    /**
+     * Records a deletion event for each of the given customers that was deleted at the given time, in one statement.
+     *
+     * @return The number of recorded events.
+     */
+    @Modifying
+    @Query("insert into CustomerEvent (type, customerId, fullName, email, phone, version, occurred) "
+            + "select com.app.theravenwithoutauth.model.CustomerEventType.DELETED, c.id, c.fullName, c.email, "
+            + "c.phone, c.version, c.updated "
+            + "from Customer c where c.id in :ids and c.isActive = false and c.updated = :deleted")
+    int recordDeletions(@Param("ids") Collection<Long> ids, @Param("deleted") long deleted);
+
+    /**
+     * Returns the committed events that have no position yet, in insertion order.
+     */
+    @Query("select e from CustomerEvent e where e.position is null order by e.id asc")
+    List<CustomerEvent> findUnpositionedEvents(Limit limit);
+
+    @Query("select coalesce(max(e.position), 0) from CustomerEvent e")
+    long findLastPosition();
+
+    /**
+     * Returns the next events after the given position, in position order.
+     */
+    @Query("select e from CustomerEvent e where e.position > :position order by e.position asc")
+    List<CustomerEvent> findEventsAfter(@Param("position") long position, Limit limit);
+
+    /**
+     * Returns the ids of dispatched events that occurred before the cutoff, oldest first.
+     */
+    @Query("select e.id from CustomerEvent e where e.position is not null and e.occurred < :cutoff order by e.position")
+    List<Long> findExpiredEventIds(@Param("cutoff") long cutoff, Limit limit);
+}
@@ -1,11 +1,143 @@
 package com.app.theravenwithoutauth.repository;
 
 import com.app.theravenwithoutauth.model.Customer;
+import com.app.theravenwithoutauth.model.dto.CustomerResponseDTO;
+import com.app.theravenwithoutauth.model.dto.CustomerVersionDTO;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+
+/**
+ * Repository of customers.
+ * <p>
+ * The read paths select with constructor expressions straight into unmanaged objects: no entity
+ * is added to the persistence context or snapshotted for dirty checking. Callers run them in
+ * read-only transactions, in which Spring also switches the Hibernate session to manual flushing.
+ */
 @Repository
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
+    String RESPONSE_PROJECTION = "select new com.app.theravenwithoutauth.model.dto.CustomerResponseDTO("
+            + "c.id, c.fullName, c.email, c.phone, c.version, "
+            + "case when c.updated > c.created then c.updated else c.created end) ";
+    String SNAPSHOT_PROJECTION = "select new com.app.theravenwithoutauth.model.Customer("
+            + "c.id, c.created, c.updated, c.fullName, c.email, c.phone, c.isActive, c.version) ";
+
     Customer findCustomerByEmail(String email);
     Customer findCustomerById(Long id);
+
+    /**
+     * Returns an unmanaged copy of the customer with the given id, active or not.
+     */
+    @Query(SNAPSHOT_PROJECTION + "from Customer c where c.id = :id")
+    Customer findCustomerSnapshotById(@Param("id") long id);
+
+    /**
+     * Returns unmanaged copies of the customers with the given ids, active or not, in no particular order.
+     */
+    @Query(SNAPSHOT_PROJECTION + "from Customer c where c.id in :ids")
+    List<Customer> findCustomerSnapshotsByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Returns an unmanaged copy of the customer with the given email, active or not.
+     */
+    @Query(SNAPSHOT_PROJECTION + "from Customer c where c.email = :email")
+    Customer findCustomerSnapshotByEmail(@Param("email") String email);
+
+    /**
+     * Returns those of the given emails that already belong to a customer.
+     */
+    @Query("select c.email from Customer c where c.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    /**
+     * Streams the emails of all customers, including inactive ones.
+     * Must be consumed inside a transaction and closed afterwards.
+     */
+    @Query("select c.email from Customer c")
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    Stream<String> streamAllEmails();
+
+    /**
+     * Returns the next page of active customers after the given id as response DTOs (keyset pagination).
+     */
+    @Query(RESPONSE_PROJECTION + "from Customer c where c.isActive = true and c.id > :afterId order by c.id asc")
+    List<CustomerResponseDTO> findActiveCustomerResponsesAfter(@Param("afterId") long afterId, Limit limit);
+
+    /**
+     * Returns the ids and versions of the next page of active customers after the given id,
+     * without loading the customers.
+     */
+    @Query("select new com.app.theravenwithoutauth.model.dto.CustomerVersionDTO(c.id, c.version) "
+            + "from Customer c where c.isActive = true and c.id > :afterId order by c.id asc")
+    List<CustomerVersionDTO> findActiveCustomerVersionsAfter(@Param("afterId") long afterId, Limit limit);
+
+    /**
+     * Changes the given fields of an active customer in one statement; null arguments leave the field unchanged.
+     * The update only applies if the email (when given, ignoring case) and the version (when given) match.
+     *
+     * @return The number of updated rows, 0 or 1.
+     */
+    @Modifying
+    @Query("update Customer c set c.fullName = coalesce(:fullName, c.fullName), c.phone = coalesce(:phone, c.phone), "
+            + "c.updated = :updated, c.version = c.version + 1 "
+            + "where c.id = :id and c.isActive = true and (:email is null or lower(c.email) = lower(:email)) "
+            + "and (:version is null or c.version = :version)")
+    int patchActiveCustomer(@Param("id") long id, @Param("fullName") String fullName, @Param("email") String email,
+                            @Param("phone") String phone, @Param("version") Long version,
+                            @Param("updated") long updated);
+
+    /**
+     * Soft-deletes the given customers that are still active, in one statement.
+     *
+     * @return The number of deleted customers.
+     */
+    @Modifying
+    @Query("update Customer c set c.isActive = false, c.updated = :updated, c.version = c.version + 1 "
+            + "where c.id in :ids and c.isActive = true")
+    int deactivateCustomers(@Param("ids") Collection<Long> ids, @Param("updated") long updated);
+
+    /**
+     * Returns the ids of inactive customers last updated before the cutoff, oldest first.
+     */
+    @Query("select c.id from Customer c where c.isActive = false and c.updated < :cutoff order by c.updated, c.id")
+    List<Long> findArchivableCustomerIds(@Param("cutoff") long cutoff, Limit limit);
+
+    /**
+     * Copies the given inactive customers into the archive table.
+     *
+     * @return The number of copied customers.
+     */
+    @Modifying
+    @Query("insert into ArchivedCustomer (id, created, updated, fullName, email, phone, version, archived) "
+            + "select c.id, c.created, c.updated, c.fullName, c.email, c.phone, c.version, :archived "
+            + "from Customer c where c.id in :ids and c.isActive = false")
+    int archiveInactiveCustomers(@Param("ids") Collection<Long> ids, @Param("archived") long archived);
+
+    /**
+     * Removes the given inactive customers.
+     *
+     * @return The number of removed customers.
+     */
+    @Modifying
+    @Query("delete from Customer c where c.id in :ids and c.isActive = false")
+    int deleteInactiveCustomers(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Streams all active customers ordered by id as response DTOs through a server-side cursor.
+     * Must be consumed inside a transaction and closed afterwards.
+     */
+    @Query(RESPONSE_PROJECTION + "from Customer c where c.isActive = true order by c.id asc")
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    Stream<CustomerResponseDTO> streamActiveCustomerResponses();
 }
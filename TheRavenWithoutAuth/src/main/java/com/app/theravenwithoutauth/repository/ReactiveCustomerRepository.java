@@ -0,0 +1,255 @@
+package com.app.theravenwithoutauth.repository;
+
+import com.app.theravenwithoutauth.model.Customer;
+import com.app.theravenwithoutauth.model.CustomerEventType;
+import com.app.theravenwithoutauth.model.dto.CustomerVersionDTO;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Parameters;
+import io.r2dbc.spi.R2dbcType;
+import io.r2dbc.spi.Readable;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking access to the customers table through R2DBC.
+ * <p>
+ * New IDs are taken from the same 'customers_seq' sequence the JPA entity uses, with the same pooled
+ * allocation (each sequence value reserves the 50 IDs ending at it), so both stacks can insert
+ * into one database without colliding. On MySQL the sequence is the table Hibernate emulates it with.
+ */
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveCustomerRepository {
+    private static final int ID_ALLOCATION_SIZE = 50;
+    private static final String COLUMNS = "id, created, updated, full_name, email, phone, is_active, version";
+
+    private final DatabaseClient databaseClient;
+    private final boolean tableSequence;
+
+    private long nextId;
+    private long lastReservedId = -1;
+
+    public ReactiveCustomerRepository(DatabaseClient databaseClient, ConnectionFactory connectionFactory) {
+        this.databaseClient = databaseClient;
+        this.tableSequence = !"H2".equalsIgnoreCase(connectionFactory.getMetadata().getName());
+    }
+
+    public Mono<Customer> findCustomerById(long id) {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM customers WHERE id = :id")
+                .bind("id", id)
+                .map(ReactiveCustomerRepository::toCustomer)
+                .one();
+    }
+
+    public Mono<Customer> findCustomerByEmail(String email) {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM customers WHERE email = :email")
+                .bind("email", email)
+                .map(ReactiveCustomerRepository::toCustomer)
+                .one();
+    }
+
+    /**
+     * Returns the next page of active customers after the given id (keyset pagination).
+     */
+    public Flux<Customer> findActiveCustomersAfter(long afterId, int limit) {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM customers WHERE is_active = TRUE AND id > :afterId "
+                        + "ORDER BY id LIMIT :limit")
+                .bind("afterId", afterId)
+                .bind("limit", limit)
+                .map(ReactiveCustomerRepository::toCustomer)
+                .all();
+    }
+
+    /**
+     * Returns the ids and versions of the next page of active customers after the given id.
+     */
+    public Flux<CustomerVersionDTO> findActiveCustomerVersionsAfter(long afterId, int limit) {
+        return databaseClient.sql("SELECT id, version FROM customers WHERE is_active = TRUE AND id > :afterId "
+                        + "ORDER BY id LIMIT :limit")
+                .bind("afterId", afterId)
+                .bind("limit", limit)
+                .map(row -> new CustomerVersionDTO(row.get("id", Long.class), row.get("version", Long.class)))
+                .all();
+    }
+
+    /**
+     * Streams all active customers ordered by id; rows are fetched as the subscriber requests them.
+     */
+    public Flux<Customer> streamActiveCustomers() {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM customers WHERE is_active = TRUE ORDER BY id")
+                .map(ReactiveCustomerRepository::toCustomer)
+                .all();
+    }
+
+    /**
+     * Inserts a new customer, assigning its ID. Must run inside a transaction.
+     */
+    public Mono<Customer> insert(Customer customer) {
+        return allocateId()
+                .flatMap(id -> {
+                    customer.setId(id);
+                    return databaseClient.sql("INSERT INTO customers (" + COLUMNS + ") "
+                                    + "VALUES (:id, :created, :updated, :fullName, :email, :phone, :isActive, :version)")
+                            .bind("id", id)
+                            .bind("created", customer.getCreated())
+                            .bind("updated", customer.getUpdated())
+                            .bind("fullName", customer.getFullName())
+                            .bind("email", customer.getEmail())
+                            .bind("phone", Parameters.in(R2dbcType.VARCHAR, customer.getPhone()))
+                            .bind("isActive", customer.getIsActive())
+                            .bind("version", customer.getVersion())
+                            .then()
+                            .thenReturn(customer);
+                });
+    }
+
+    /**
+     * Writes the mutable fields of an existing customer and increments its version, provided the
+     * stored version is still the one the customer was read with (as the JPA entity's version column does).
+     * Fails with OptimisticLockingFailureException otherwise.
+     */
+    public Mono<Customer> update(Customer customer) {
+        return databaseClient.sql("UPDATE customers SET updated = :updated, full_name = :fullName, "
+                        + "phone = :phone, is_active = :isActive, version = version + 1 "
+                        + "WHERE id = :id AND version = :version")
+                .bind("updated", customer.getUpdated())
+                .bind("fullName", customer.getFullName())
+                .bind("phone", Parameters.in(R2dbcType.VARCHAR, customer.getPhone()))
+                .bind("isActive", customer.getIsActive())
+                .bind("id", customer.getId())
+                .bind("version", customer.getVersion())
+                .fetch()
+                .rowsUpdated()
+                .flatMap(rows -> {
+                    if (rows == 0) {
+                        return Mono.error(new OptimisticLockingFailureException(
+                                "Customer with id " + customer.getId() + " was updated concurrently."));
+                    }
+                    customer.setVersion(customer.getVersion() + 1);
+                    return Mono.just(customer);
+                });
+    }
+
+    /**
+     * Changes the supplied fields of an active customer in one statement; null arguments leave the field unchanged.
+     * The update only applies if the email (when given, ignoring case) and the version (when given) match.
+     *
+     * @return Mono emitting the number of updated rows, 0 or 1.
+     */
+    public Mono<Long> patchActiveCustomer(long id, String fullName, String email, String phone,
+                                          Long version, long updated) {
+        StringBuilder sql = new StringBuilder("UPDATE customers SET updated = :updated, version = version + 1");
+        if (fullName != null) {
+            sql.append(", full_name = :fullName");
+        }
+        if (phone != null) {
+            sql.append(", phone = :phone");
+        }
+        sql.append(" WHERE id = :id AND is_active = TRUE");
+        if (email != null) {
+            sql.append(" AND LOWER(email) = LOWER(:email)");
+        }
+        if (version != null) {
+            sql.append(" AND version = :version");
+        }
+
+        DatabaseClient.GenericExecuteSpec statement = databaseClient.sql(sql.toString())
+                .bind("updated", updated)
+                .bind("id", id);
+        if (fullName != null) {
+            statement = statement.bind("fullName", fullName);
+        }
+        if (phone != null) {
+            statement = statement.bind("phone", phone);
+        }
+        if (email != null) {
+            statement = statement.bind("email", email);
+        }
+        if (version != null) {
+            statement = statement.bind("version", version);
+        }
+
+        return statement.fetch().rowsUpdated();
+    }
+
+    /**
+     * Soft-deletes a customer that is still active, in one statement.
+     *
+     * @return Mono emitting the number of deleted customers, 0 or 1.
+     */
+    public Mono<Long> deactivateCustomer(long id, long updated) {
+        return databaseClient.sql("UPDATE customers SET is_active = FALSE, updated = :updated, version = version + 1 "
+                        + "WHERE id = :id AND is_active = TRUE")
+                .bind("updated", updated)
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    /**
+     * Records a change feed event with the current state of a customer, in one statement.
+     * Must run inside the transaction of the change.
+     */
+    public Mono<Void> recordEvent(CustomerEventType type, long id, long occurred) {
+        return databaseClient.sql("INSERT INTO customer_events (type, customer_id, full_name, email, phone, version, occurred) "
+                        + "SELECT :type, id, full_name, email, phone, version, :occurred FROM customers WHERE id = :id")
+                .bind("type", type.name())
+                .bind("occurred", occurred)
+                .bind("id", id)
+                .then();
+    }
+
+    private Mono<Long> allocateId() {
+        return Mono.defer(() -> {
+            synchronized (this) {
+                if (nextId <= lastReservedId) {
+                    return Mono.just(nextId++);
+                }
+            }
+
+            return nextSequenceValue().map(this::reserveBlock);
+        });
+    }
+
+    /**
+     * Mirrors Hibernate's pooled optimizer: the initial value 1 reserves only itself,
+     * any later value v reserves the block (v - 50, v].
+     */
+    private synchronized long reserveBlock(long sequenceValue) {
+        if (nextId <= lastReservedId) { // another caller refilled the block meanwhile, the new value is wasted
+            return nextId++;
+        }
+
+        nextId = sequenceValue == 1 ? 1 : sequenceValue - ID_ALLOCATION_SIZE + 1;
+        lastReservedId = sequenceValue;
+        return nextId++;
+    }
+
+    private Mono<Long> nextSequenceValue() {
+        if (!tableSequence) {
+            return databaseClient.sql("SELECT NEXT VALUE FOR customers_seq")
+                    .map(row -> row.get(0, Long.class))
+                    .one();
+        }
+
+        return databaseClient.sql("SELECT next_val FROM customers_seq FOR UPDATE")
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .flatMap(value -> databaseClient.sql("UPDATE customers_seq SET next_val = :next WHERE next_val = :current")
+                        .bind("next", value + ID_ALLOCATION_SIZE)
+                        .bind("current", value)
+                        .then()
+                        .thenReturn(value));
+    }
+
+    private static Customer toCustomer(Readable row) {
+        return new Customer(row.get("id", Long.class), row.get("created", Long.class),
+                row.get("updated", Long.class), row.get("full_name", String.class),
+                row.get("email", String.class), row.get("phone", String.class),
+                Boolean.TRUE.equals(row.get("is_active", Boolean.class)), row.get("version", Long.class));
+    }
+}
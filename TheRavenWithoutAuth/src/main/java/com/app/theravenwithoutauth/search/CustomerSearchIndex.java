@@ -0,0 +1,257 @@
+package com.app.theravenwithoutauth.search;
+
+import com.app.theravenwithoutauth.model.Customer;
+import com.app.theravenwithoutauth.model.dto.CustomerResponseDTO;
+import com.app.theravenwithoutauth.model.dto.SearchIndexStatsDTO;
+import com.app.theravenwithoutauth.repository.CustomerRepository;
+import com.app.theravenwithoutauth.sharding.CustomerShards;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * In-memory typeahead index over the full name, email and phone of active customers.
+ * <p>
+ * The index is built in the background once the application is ready and rebuilt periodically,
+ * which drops retired documents and picks up customers written by other instances. Between
+ * rebuilds it is kept current by the customer service: changes are applied once the surrounding
+ * transaction commits, and changes made while a rebuild runs are replayed onto the new index
+ * before it replaces the old one. Searches run concurrently under a read lock.
+ * <p>
+ * The rebuild streams projections in read-only transactions, so it may be served by a read replica;
+ * a customer missing from a lagging replica is picked up by the next rebuild.
+ */
+@Component
+public class CustomerSearchIndex {
+    private static final Logger log = LoggerFactory.getLogger(CustomerSearchIndex.class);
+
+    private final CustomerRepository customerRepository;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final CustomerShards customerShards;
+    private final TaskExecutor taskExecutor;
+    private final boolean enabled;
+    private final int maxCandidates;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private NGramIndex index = new NGramIndex(0);
+    private List<Consumer<NGramIndex>> changesDuringRebuild;
+
+    private final LongAdder searches = new LongAdder();
+    private volatile boolean ready;
+    private volatile long lastBuildFinished;
+    private volatile long lastBuildMillis;
+
+    /**
+     * Constructor for CustomerSearchIndex.
+     *
+     * @param customerRepository  Repository used to build the index.
+     * @param transactionTemplate Template whose transaction manager runs the read-only rebuild transactions.
+     * @param customerShards      Shards whose customers are indexed.
+     * @param taskExecutor        Executor running the initial build.
+     * @param enabled             Whether the index is built; when disabled searches find nothing.
+     * @param maxCandidates       Maximum number of customers a search examines.
+     */
+    @Autowired
+    public CustomerSearchIndex(CustomerRepository customerRepository, TransactionTemplate transactionTemplate,
+                               CustomerShards customerShards, TaskExecutor taskExecutor,
+                               @Value("${customers.search.enabled:true}") boolean enabled,
+                               @Value("${customers.search.max-candidates:20000}") int maxCandidates) {
+        this.customerRepository = customerRepository;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.customerShards = customerShards;
+        this.taskExecutor = taskExecutor;
+        this.enabled = enabled;
+        this.maxCandidates = maxCandidates;
+    }
+
+    /**
+     * Builds the index in the background.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (enabled) {
+            taskExecutor.execute(this::rebuild);
+        }
+    }
+
+    /**
+     * Rebuilds the index from the database, once the initial build has completed.
+     */
+    @Scheduled(initialDelayString = "${customers.search.rebuild-interval:PT15M}",
+            fixedDelayString = "${customers.search.rebuild-interval:PT15M}")
+    public void scheduledRebuild() {
+        if (enabled && ready) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Finds active customers whose full name, email or phone contains the query.
+     *
+     * @param query Text to look for; queries of one or two characters match the start of a word.
+     * @param limit Maximum number of customers to return.
+     * @return Matching customers, those where the query starts a word first.
+     */
+    public List<CustomerResponseDTO> search(String query, int limit) {
+        searches.increment();
+
+        lock.readLock().lock();
+        try {
+            return index.search(query, limit, maxCandidates);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Indexes the committed state of a created or updated customer.
+     *
+     * @param customer Customer whose state was written.
+     */
+    public void put(Customer customer) {
+        long id = customer.getId();
+        String fullName = customer.getFullName(), email = customer.getEmail(), phone = customer.getPhone();
+        afterCommit(index -> index.put(id, fullName, email, phone));
+    }
+
+    /**
+     * Indexes the committed state of several created customers.
+     *
+     * @param customers Customers that were written.
+     */
+    public void putAll(Collection<Customer> customers) {
+        List<Customer> snapshot = List.copyOf(customers);
+        afterCommit(index -> snapshot.forEach(customer -> index.put(customer.getId(), customer.getFullName(),
+                customer.getEmail(), customer.getPhone())));
+    }
+
+    /**
+     * Applies a committed partial update of a customer.
+     *
+     * @param id       ID of the updated customer.
+     * @param fullName New full name, or null if unchanged.
+     * @param phone    New phone, or null if unchanged.
+     */
+    public void patch(long id, String fullName, String phone) {
+        afterCommit(index -> index.patch(id, fullName, phone));
+    }
+
+    /**
+     * Drops deleted customers from the index once the deletion commits.
+     *
+     * @param ids IDs of the deleted customers.
+     */
+    public void removeAll(Collection<Long> ids) {
+        List<Long> snapshot = List.copyOf(ids);
+        afterCommit(index -> snapshot.forEach(index::remove));
+    }
+
+    /**
+     * Returns the size and build state of the index.
+     *
+     * @return SearchIndexStatsDTO containing the index state.
+     */
+    public SearchIndexStatsDTO getStats() {
+        lock.readLock().lock();
+        try {
+            return new SearchIndexStatsDTO(ready, index.customers(), index.retiredDocuments(), index.grams(),
+                    lastBuildFinished, lastBuildMillis, searches.sum());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void rebuild() {
+        long started = System.currentTimeMillis();
+        NGramIndex rebuilt;
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = new ArrayList<>();
+            rebuilt = new NGramIndex(index.customers());
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        try {
+            customerShards.forEachShard(shard -> readOnlyTransactionTemplate.executeWithoutResult(status -> {
+                try (Stream<CustomerResponseDTO> customers = customerRepository.streamActiveCustomerResponses()) {
+                    customers.forEach(customer ->
+                            rebuilt.put(customer.getId(), customer.getFullName(), customer.getEmail(), customer.getPhone()));
+                }
+            }));
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                changesDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.warn("Customer search index could not be built", e);
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild.forEach(change -> change.accept(rebuilt));
+            changesDuringRebuild = null;
+            index = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        lastBuildFinished = System.currentTimeMillis();
+        lastBuildMillis = lastBuildFinished - started;
+        if (!ready) {
+            ready = true;
+            log.info("Customer search index built with {} customers in {} ms", rebuilt.customers(), lastBuildMillis);
+        }
+    }
+
+    private void apply(Consumer<NGramIndex> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(index);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void afterCommit(Consumer<NGramIndex> change) {
+        if (!enabled) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(change);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(change);
+            }
+        });
+    }
+}
@@ -0,0 +1,252 @@
+package com.app.theravenwithoutauth.search;
+
+import com.app.theravenwithoutauth.model.dto.CustomerResponseDTO;
+
+import java.util.*;
+
+/**
+ * Trigram index over the full name, email and phone of customers.
+ * <p>
+ * Every customer is a document with a dense int number; each trigram (and each one- and two-character
+ * word prefix, for short queries) maps to the ascending list of documents containing it. Updating a
+ * customer retires its document and appends a new one, so posting lists stay sorted; retired documents
+ * are skipped by searches and dropped when the index is rebuilt. Not thread-safe.
+ */
+final class NGramIndex {
+    private static final char FIELD_SEPARATOR = '\n';
+    private static final long SHORT_PREFIX = 1L << 48, SINGLE_CHAR_PREFIX = 2L << 48;
+
+    private final Map<Long, Postings> postings = new HashMap<>();
+    private final LongIntHashMap documentsByCustomerId;
+    private final BitSet retired = new BitSet();
+    private long[] customerIds;
+    private String[][] fields;
+    private String[] texts;
+    private int documents;
+
+    NGramIndex(int expectedCustomers) {
+        int capacity = Math.max(16, expectedCustomers);
+        documentsByCustomerId = new LongIntHashMap(capacity);
+        customerIds = new long[capacity];
+        fields = new String[capacity][];
+        texts = new String[capacity];
+    }
+
+    int customers() {
+        return documentsByCustomerId.size();
+    }
+
+    int retiredDocuments() {
+        return documents - documentsByCustomerId.size();
+    }
+
+    int grams() {
+        return postings.size();
+    }
+
+    /**
+     * Indexes a customer, replacing its previous state.
+     */
+    void put(long customerId, String fullName, String email, String phone) {
+        remove(customerId);
+
+        if (documents == customerIds.length) {
+            int capacity = documents * 2;
+            customerIds = Arrays.copyOf(customerIds, capacity);
+            fields = Arrays.copyOf(fields, capacity);
+            texts = Arrays.copyOf(texts, capacity);
+        }
+
+        int document = documents++;
+        String text = normalize(fullName) + FIELD_SEPARATOR + normalize(email) + FIELD_SEPARATOR + normalize(phone);
+        customerIds[document] = customerId;
+        fields[document] = new String[]{fullName, email, phone};
+        texts[document] = text;
+        documentsByCustomerId.put(customerId, document);
+
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == FIELD_SEPARATOR) {
+                continue;
+            }
+            if (isWordStart(text, i)) {
+                postingsOf(SINGLE_CHAR_PREFIX | c).add(document);
+                if (i + 1 < text.length() && text.charAt(i + 1) != FIELD_SEPARATOR) {
+                    postingsOf(SHORT_PREFIX | pair(c, text.charAt(i + 1))).add(document);
+                }
+            }
+            if (i + 2 < text.length() && text.charAt(i + 1) != FIELD_SEPARATOR && text.charAt(i + 2) != FIELD_SEPARATOR) {
+                postingsOf(trigram(text, i)).add(document);
+            }
+        }
+    }
+
+    /**
+     * Changes the full name and/or phone of an indexed customer; null arguments leave the field unchanged.
+     */
+    void patch(long customerId, String fullName, String phone) {
+        int document = documentsByCustomerId.get(customerId);
+        if (document < 0) {
+            return;
+        }
+
+        String[] current = fields[document];
+        put(customerId, fullName != null ? fullName : current[0], current[1], phone != null ? phone : current[2]);
+    }
+
+    void remove(long customerId) {
+        int document = documentsByCustomerId.remove(customerId);
+        if (document >= 0) {
+            retired.set(document);
+            fields[document] = null;
+            texts[document] = null;
+        }
+    }
+
+    /**
+     * Finds customers whose full name, email or phone contains the query (queries of one or two
+     * characters match the start of a word). Customers where the query starts a word come first.
+     *
+     * @param query         Text to look for.
+     * @param limit         Maximum number of customers to return.
+     * @param maxCandidates Maximum number of documents to examine, bounding the cost of very common queries.
+     * @return Matching customers, in indexing order within each rank.
+     */
+    List<CustomerResponseDTO> search(String query, int limit, int maxCandidates) {
+        String normalized = normalize(query).strip();
+        if (normalized.isEmpty() || normalized.indexOf(FIELD_SEPARATOR) >= 0) {
+            return List.of();
+        }
+
+        Postings[] lists = postingsFor(normalized);
+        if (lists == null) {
+            return List.of();
+        }
+        Arrays.sort(lists, Comparator.comparingInt(Postings::size));
+
+        List<CustomerResponseDTO> wordStarts = new ArrayList<>(limit);
+        List<CustomerResponseDTO> substrings = new ArrayList<>(limit);
+        Postings smallest = lists[0];
+        int examined = 0;
+
+        for (int p = 0; p < smallest.size() && wordStarts.size() < limit && examined < maxCandidates; p++) {
+            int document = smallest.get(p);
+            if (retired.get(document) || !containedInAll(lists, document)) {
+                continue;
+            }
+            examined++;
+
+            int rank = rank(texts[document], normalized);
+            if (rank == 0) {
+                wordStarts.add(toCustomer(document));
+            } else if (rank == 1 && substrings.size() < limit) {
+                substrings.add(toCustomer(document));
+            }
+        }
+
+        for (int i = 0; i < substrings.size() && wordStarts.size() < limit; i++) {
+            wordStarts.add(substrings.get(i));
+        }
+        return wordStarts;
+    }
+
+    private Postings[] postingsFor(String query) {
+        if (query.length() == 1) {
+            Postings list = postings.get(SINGLE_CHAR_PREFIX | query.charAt(0));
+            return list == null ? null : new Postings[]{list};
+        }
+        if (query.length() == 2) {
+            Postings list = postings.get(SHORT_PREFIX | pair(query.charAt(0), query.charAt(1)));
+            return list == null ? null : new Postings[]{list};
+        }
+
+        Map<Long, Postings> distinct = new HashMap<>();
+        for (int i = 0; i + 2 < query.length(); i++) {
+            long gram = trigram(query, i);
+            Postings list = postings.get(gram);
+            if (list == null) {
+                return null;
+            }
+            distinct.put(gram, list);
+        }
+        return distinct.values().toArray(new Postings[0]);
+    }
+
+    private static boolean containedInAll(Postings[] lists, int document) {
+        for (int i = 1; i < lists.length; i++) {
+            if (!lists[i].contains(document)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return 0 if the query starts a word of the text, 1 if it only occurs inside a word, -1 if it does not occur.
+     */
+    private static int rank(String text, String query) {
+        int rank = -1;
+        for (int at = text.indexOf(query); at >= 0; at = text.indexOf(query, at + 1)) {
+            if (isWordStart(text, at)) {
+                return 0;
+            }
+            rank = 1;
+        }
+        return rank;
+    }
+
+    private CustomerResponseDTO toCustomer(int document) {
+        String[] customer = fields[document];
+        return new CustomerResponseDTO(customerIds[document], customer[0], customer[1], customer[2], 0, 0);
+    }
+
+    private Postings postingsOf(long gram) {
+        return postings.computeIfAbsent(gram, key -> new Postings());
+    }
+
+    private static boolean isWordStart(String text, int index) {
+        return index == 0 || !Character.isLetterOrDigit(text.charAt(index - 1));
+    }
+
+    private static long pair(char first, char second) {
+        return ((long) first << 16) | second;
+    }
+
+    private static long trigram(String text, int index) {
+        return ((long) text.charAt(index) << 32) | ((long) text.charAt(index + 1) << 16) | text.charAt(index + 2);
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Ascending list of document numbers.
+     */
+    private static final class Postings {
+        private int[] documents = new int[4];
+        private int size;
+
+        void add(int document) {
+            if (size > 0 && documents[size - 1] == document) { // the gram occurs twice in one document
+                return;
+            }
+            if (size == documents.length) {
+                documents = Arrays.copyOf(documents, size * 2);
+            }
+            documents[size++] = document;
+        }
+
+        int get(int index) {
+            return documents[index];
+        }
+
+        int size() {
+            return size;
+        }
+
+        boolean contains(int document) {
+            return Arrays.binarySearch(documents, 0, size, document) >= 0;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.app.theravenwithoutauth.service;
+
+import com.app.theravenwithoutauth.exception.ImportJobNotFoundException;
+import com.app.theravenwithoutauth.exception.InvalidInputFormatException;
+import com.app.theravenwithoutauth.model.dto.ImportJobDTO;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+public interface CustomerImportService {
+    ImportJobDTO importCustomers(InputStream inputStream, String format) throws InvalidInputFormatException, IOException;
+
+    ImportJobDTO getImportJob(String id) throws ImportJobNotFoundException;
+
+    List<ImportJobDTO> getImportJobs();
+}
@@ -1,24 +1,54 @@
 package com.app.theravenwithoutauth.service;
 
+import com.app.theravenwithoutauth.events.CustomerEventSink;
+import com.app.theravenwithoutauth.events.CustomerEventSubscription;
 import com.app.theravenwithoutauth.exception.CustomerAlreadyExistsException;
+import com.app.theravenwithoutauth.exception.CustomerDeletedException;
+import com.app.theravenwithoutauth.exception.CustomerModifiedException;
+import com.app.theravenwithoutauth.exception.CustomerNotFoundException;
 import com.app.theravenwithoutauth.exception.InvalidInputFormatException;
 import com.app.theravenwithoutauth.model.Customer;
+import com.app.theravenwithoutauth.model.dto.BatchCustomerResultDTO;
+import com.app.theravenwithoutauth.model.dto.BulkDeleteResultDTO;
 import com.app.theravenwithoutauth.model.dto.CustomerDTO;
 import com.app.theravenwithoutauth.model.dto.CustomerResponseDTO;
+import com.app.theravenwithoutauth.model.dto.CustomerVersionDTO;
+import com.app.theravenwithoutauth.model.dto.PatchCustomerDTO;
 import com.app.theravenwithoutauth.model.dto.UpdateCustomerDTO;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface CustomerService {
     Customer findCustomerByEmail(String email);
 
     CustomerResponseDTO createCustomer(CustomerDTO customerDTO) throws InvalidInputFormatException, CustomerAlreadyExistsException;
 
-    List<CustomerResponseDTO> getAllCustomers();
+    List<BatchCustomerResultDTO> createCustomers(List<CustomerDTO> customerDTOs);
 
-    CustomerResponseDTO getCustomerById(long id);
+    List<CustomerResponseDTO> getAllCustomers(long afterId, int limit);
 
-    CustomerResponseDTO updateCustomer(UpdateCustomerDTO customerDTO, long id) throws InvalidInputFormatException, IllegalAccessException;
+    List<CustomerVersionDTO> getCustomerVersions(long afterId, int limit);
 
-    void deleteCustomer(long id);
+    void streamAllCustomers(Consumer<CustomerResponseDTO> consumer);
+
+    CustomerResponseDTO getCustomerById(long id) throws CustomerNotFoundException, CustomerDeletedException;
+
+    List<CustomerResponseDTO> getCustomersByIds(List<Long> ids);
+
+    List<CustomerResponseDTO> searchCustomers(String query, int limit);
+
+    CustomerEventSubscription subscribeToCustomerEvents(Long afterPosition, CustomerEventSink sink);
+
+    CustomerResponseDTO updateCustomer(UpdateCustomerDTO customerDTO, long id, Long expectedVersion)
+            throws InvalidInputFormatException, CustomerModifiedException,
+            CustomerNotFoundException, CustomerDeletedException;
+
+    void patchCustomer(PatchCustomerDTO customerDTO, long id, Long expectedVersion)
+            throws InvalidInputFormatException, CustomerModifiedException,
+            CustomerNotFoundException, CustomerDeletedException;
+
+    void deleteCustomer(long id) throws CustomerNotFoundException, CustomerDeletedException;
+
+    BulkDeleteResultDTO deleteCustomers(List<Long> ids);
 }
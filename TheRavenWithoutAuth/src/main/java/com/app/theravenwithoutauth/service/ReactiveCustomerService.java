@@ -0,0 +1,32 @@
+package com.app.theravenwithoutauth.service;
+
+import com.app.theravenwithoutauth.model.dto.CustomerDTO;
+import com.app.theravenwithoutauth.model.dto.CustomerEventDTO;
+import com.app.theravenwithoutauth.model.dto.CustomerResponseDTO;
+import com.app.theravenwithoutauth.model.dto.CustomerVersionDTO;
+import com.app.theravenwithoutauth.model.dto.PatchCustomerDTO;
+import com.app.theravenwithoutauth.model.dto.UpdateCustomerDTO;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveCustomerService {
+    Mono<CustomerResponseDTO> createCustomer(CustomerDTO customerDTO);
+
+    Flux<CustomerResponseDTO> getAllCustomers(long afterId, int limit);
+
+    Flux<CustomerVersionDTO> getCustomerVersions(long afterId, int limit);
+
+    Flux<CustomerResponseDTO> streamAllCustomers();
+
+    Mono<CustomerResponseDTO> getCustomerById(long id);
+
+    Flux<CustomerResponseDTO> searchCustomers(String query, int limit);
+
+    Flux<CustomerEventDTO> streamCustomerEvents(Long afterPosition);
+
+    Mono<CustomerResponseDTO> updateCustomer(UpdateCustomerDTO customerDTO, long id, Long expectedVersion);
+
+    Mono<Void> patchCustomer(PatchCustomerDTO customerDTO, long id, Long expectedVersion);
+
+    Mono<Void> deleteCustomer(long id);
+}
@@ -0,0 +1,278 @@
+package com.app.theravenwithoutauth.service.impl;
+
+import com.app.theravenwithoutauth.exception.ImportJobNotFoundException;
+import com.app.theravenwithoutauth.exception.InvalidInputFormatException;
+import com.app.theravenwithoutauth.model.ImportJob;
+import com.app.theravenwithoutauth.model.dto.BatchCustomerResultDTO;
+import com.app.theravenwithoutauth.model.dto.CustomerDTO;
+import com.app.theravenwithoutauth.model.dto.ImportJobDTO;
+import com.app.theravenwithoutauth.model.dto.ImportRejectionDTO;
+import com.app.theravenwithoutauth.service.CustomerImportService;
+import com.app.theravenwithoutauth.service.CustomerService;
+import com.app.theravenwithoutauth.service.impl.importer.CsvCustomerRecordReader;
+import com.app.theravenwithoutauth.service.impl.importer.CustomerRecord;
+import com.app.theravenwithoutauth.service.impl.importer.CustomerRecordReader;
+import com.app.theravenwithoutauth.service.impl.importer.NdjsonCustomerRecordReader;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Implementation of the CustomerImportService for bulk-loading customers from CSV or NDJSON streams.
+ * <p>
+ * The upload is spooled to a temporary file and the job is started in the background, so the caller gets
+ * the job ID as soon as the upload is received and can poll its progress. The job parses the file
+ * incrementally and hands chunks of rows to a writer running on the task executor through a bounded
+ * queue, so parsing blocks whenever the writer falls behind. Every chunk goes through
+ * {@link CustomerService#createCustomers(List)} and is committed in its own transaction. Job progress and
+ * rejected rows are kept in memory for the most recent jobs.
+ */
+@Service
+public class CustomerImportServiceImpl implements CustomerImportService {
+    private static final Logger log = LoggerFactory.getLogger(CustomerImportServiceImpl.class);
+
+    public static final String FORMAT_CSV = "csv";
+    public static final String FORMAT_NDJSON = "ndjson";
+
+    private static final List<CustomerRecord> END_OF_IMPORT = new ArrayList<>();
+    private static final long QUEUE_POLL_MILLIS = 100;
+
+    private final CustomerService customerService;
+    private final ObjectMapper objectMapper;
+    private final TaskExecutor taskExecutor;
+    private final int chunkSize;
+    private final int queueCapacity;
+    private final int maxReportedRejections;
+    private final Map<String, ImportJob> jobs;
+    private final ExecutorService jobExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Constructor for CustomerImportServiceImpl.
+     *
+     * @param customerService       Service used to validate and insert chunks of customers.
+     * @param objectMapper          Mapper used to parse NDJSON rows.
+     * @param taskExecutor          Executor running the chunk writers.
+     * @param chunkSize             Number of rows committed per transaction.
+     * @param queueCapacity         Number of parsed chunks that may wait for the writer.
+     * @param maxReportedRejections Number of rejected rows reported in detail per job.
+     * @param retainedJobs          Number of most recent jobs kept for the status endpoint.
+     */
+    @Autowired
+    public CustomerImportServiceImpl(CustomerService customerService, ObjectMapper objectMapper,
+                                     TaskExecutor taskExecutor,
+                                     @Value("${customers.batch.chunk-size:500}") int chunkSize,
+                                     @Value("${customers.import.queue-capacity:4}") int queueCapacity,
+                                     @Value("${customers.import.max-reported-rejections:1000}") int maxReportedRejections,
+                                     @Value("${customers.import.retained-jobs:100}") int retainedJobs) {
+        this.customerService = customerService;
+        this.objectMapper = objectMapper;
+        this.taskExecutor = taskExecutor;
+        this.chunkSize = chunkSize;
+        this.queueCapacity = queueCapacity;
+        this.maxReportedRejections = maxReportedRejections;
+        this.jobs = Collections.synchronizedMap(new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ImportJob> eldest) {
+                return size() > retainedJobs;
+            }
+        });
+    }
+
+    /**
+     * Receives the customers of the given stream and starts importing them in the background.
+     *
+     * @param inputStream Stream containing the customers; it is fully read before the method returns.
+     * @param format      Format of the stream, either 'csv' or 'ndjson'.
+     * @return ImportJobDTO with the ID of the started job, to be polled with {@link #getImportJob(String)}.
+     * @throws InvalidInputFormatException Thrown if the format is unsupported or the CSV header is invalid.
+     * @throws IOException                 Thrown if the stream cannot be read or spooled.
+     */
+    @Override
+    public ImportJobDTO importCustomers(InputStream inputStream, String format)
+            throws InvalidInputFormatException, IOException {
+        if (!FORMAT_CSV.equals(format) && !FORMAT_NDJSON.equals(format)) {
+            throw new InvalidInputFormatException("Unsupported import format: " + format + ".");
+        }
+
+        Path file = Files.createTempFile("customer-import-", "." + format);
+        BufferedReader input = null;
+        try {
+            Files.copy(inputStream, file, StandardCopyOption.REPLACE_EXISTING);
+            input = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+            CustomerRecordReader reader = createReader(input, format);
+
+            ImportJob job = new ImportJob(UUID.randomUUID().toString(), format, maxReportedRejections);
+            jobs.put(job.getId(), job);
+            BufferedReader jobInput = input;
+            jobExecutor.execute(() -> runImport(job, reader, jobInput, file));
+
+            return job.toDTO(false);
+        } catch (IOException | InvalidInputFormatException | RuntimeException e) {
+            closeAndDelete(input, file);
+            throw e;
+        }
+    }
+
+    /**
+     * Retrieves the progress and rejection report of an import job.
+     *
+     * @param id ID of the import job.
+     * @return ImportJobDTO with the job's counters and rejected rows.
+     * @throws ImportJobNotFoundException Thrown if there is no retained job with the provided ID.
+     */
+    @Override
+    public ImportJobDTO getImportJob(String id) throws ImportJobNotFoundException {
+        ImportJob job = jobs.get(id);
+
+        if (job == null) {
+            throw new ImportJobNotFoundException();
+        }
+
+        return job.toDTO(true);
+    }
+
+    /**
+     * Retrieves the progress of the most recent import jobs, without their rejected rows.
+     *
+     * @return List of ImportJobDTO, oldest first.
+     */
+    @Override
+    public List<ImportJobDTO> getImportJobs() {
+        synchronized (jobs) {
+            return jobs.values().stream()
+                    .map(job -> job.toDTO(false))
+                    .toList();
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        jobExecutor.shutdownNow();
+    }
+
+    private CustomerRecordReader createReader(BufferedReader reader, String format)
+            throws InvalidInputFormatException, IOException {
+        return FORMAT_CSV.equals(format)
+                ? new CsvCustomerRecordReader(reader)
+                : new NdjsonCustomerRecordReader(reader, objectMapper.reader());
+    }
+
+    private void runImport(ImportJob job, CustomerRecordReader reader, BufferedReader input, Path file) {
+        BlockingQueue<List<CustomerRecord>> queue = new ArrayBlockingQueue<>(queueCapacity);
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> writeChunks(job, queue), taskExecutor);
+
+        try {
+            readChunks(reader, job, queue, writer);
+            writer.join();
+            job.complete();
+        } catch (IOException | RuntimeException e) {
+            queue.clear();
+            queue.offer(END_OF_IMPORT);
+            job.fail(e instanceof CompletionException && e.getCause() != null
+                    ? e.getCause().getMessage() : e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            queue.clear();
+            queue.offer(END_OF_IMPORT);
+            job.fail("Import was interrupted.");
+        } finally {
+            closeAndDelete(input, file);
+        }
+    }
+
+    private static void closeAndDelete(BufferedReader input, Path file) {
+        try {
+            if (input != null) {
+                input.close();
+            }
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete the import file {}", file, e);
+        }
+    }
+
+    private void readChunks(CustomerRecordReader reader, ImportJob job, BlockingQueue<List<CustomerRecord>> queue,
+                            CompletableFuture<Void> writer) throws IOException, InterruptedException {
+        List<CustomerRecord> chunk = new ArrayList<>(chunkSize);
+        CustomerRecord record;
+
+        while ((record = reader.next()) != null) {
+            job.rowRead();
+
+            if (record.isMalformed()) {
+                job.reject(record.getRow(), ImportRejectionDTO.Reason.MALFORMED, record.getError());
+                continue;
+            }
+
+            chunk.add(record);
+            if (chunk.size() == chunkSize) {
+                publish(queue, chunk, writer);
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+
+        if (!chunk.isEmpty()) {
+            publish(queue, chunk, writer);
+        }
+        publish(queue, END_OF_IMPORT, writer);
+    }
+
+    /**
+     * Hands a chunk to the writer, blocking while the queue is full and failing fast if the writer died.
+     */
+    private void publish(BlockingQueue<List<CustomerRecord>> queue, List<CustomerRecord> chunk,
+                         CompletableFuture<Void> writer) throws InterruptedException {
+        while (!queue.offer(chunk, QUEUE_POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+            if (writer.isDone()) {
+                writer.join();
+                throw new IllegalStateException("Import writer stopped unexpectedly.");
+            }
+        }
+    }
+
+    private void writeChunks(ImportJob job, BlockingQueue<List<CustomerRecord>> queue) {
+        try {
+            List<CustomerRecord> chunk;
+            while ((chunk = queue.take()) != END_OF_IMPORT) {
+                writeChunk(job, chunk);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Import writer was interrupted.", e);
+        }
+    }
+
+    private void writeChunk(ImportJob job, List<CustomerRecord> chunk) {
+        List<CustomerDTO> customerDTOs = chunk.stream()
+                .map(CustomerRecord::getCustomer)
+                .toList();
+        int imported = 0;
+
+        for (BatchCustomerResultDTO result : customerService.createCustomers(customerDTOs)) {
+            long row = chunk.get(result.getIndex()).getRow();
+
+            switch (result.getStatus()) {
+                case CREATED -> imported++;
+                case INVALID -> job.reject(row, ImportRejectionDTO.Reason.INVALID, result.getMessage());
+                case DUPLICATE -> job.reject(row, ImportRejectionDTO.Reason.DUPLICATE, result.getMessage());
+            }
+        }
+
+        job.rowsImported(imported);
+    }
+}
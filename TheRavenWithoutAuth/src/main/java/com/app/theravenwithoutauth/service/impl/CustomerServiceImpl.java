@@ -1,39 +1,109 @@
 package com.app.theravenwithoutauth.service.impl;
 
+import com.app.theravenwithoutauth.cache.CustomerCache;
+import com.app.theravenwithoutauth.cache.CustomerEmailFilter;
+import com.app.theravenwithoutauth.events.CustomerEventDispatcher;
+import com.app.theravenwithoutauth.events.CustomerEventOutbox;
+import com.app.theravenwithoutauth.events.CustomerEventSink;
+import com.app.theravenwithoutauth.events.CustomerEventSubscription;
 import com.app.theravenwithoutauth.exception.CustomerAlreadyExistsException;
+import com.app.theravenwithoutauth.exception.CustomerDeletedException;
+import com.app.theravenwithoutauth.exception.CustomerModifiedException;
+import com.app.theravenwithoutauth.exception.CustomerNotFoundException;
 import com.app.theravenwithoutauth.exception.InvalidInputFormatException;
 import com.app.theravenwithoutauth.model.Customer;
+import com.app.theravenwithoutauth.model.dto.BatchCustomerResultDTO;
+import com.app.theravenwithoutauth.model.dto.BulkDeleteResultDTO;
 import com.app.theravenwithoutauth.model.dto.CustomerDTO;
 import com.app.theravenwithoutauth.model.dto.CustomerResponseDTO;
+import com.app.theravenwithoutauth.model.dto.CustomerVersionDTO;
+import com.app.theravenwithoutauth.model.dto.PatchCustomerDTO;
 import com.app.theravenwithoutauth.model.dto.UpdateCustomerDTO;
 import com.app.theravenwithoutauth.service.CustomerService;
 import com.app.theravenwithoutauth.repository.CustomerRepository;
+import com.app.theravenwithoutauth.search.CustomerSearchIndex;
+import com.app.theravenwithoutauth.sharding.CustomerShards;
+import com.app.theravenwithoutauth.validation.CustomerValidator;
+import jakarta.persistence.EntityManager;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.lang.reflect.Field;
-import java.util.Date;
-import java.util.List;
-import java.util.regex.Pattern;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
 
 /**
  * Implementation of the CustomerService for managing customer-related operations.
  * <p>
  * This class provides functionality for adding, retrieving, updating, and deleting customers,
  * as well as checking the validity of customer data inputs.
+ * <p>
+ * Every write runs on the shard of its customers (see {@link CustomerShards}); writes of several
+ * customers are split into one transaction per shard, and pages of customers are gathered from all
+ * shards and merged by ID.
  */
 @Service
 public class CustomerServiceImpl implements CustomerService {
     private final CustomerRepository customerRepository;
+    private final CustomerCache customerCache;
+    private final CustomerEmailFilter customerEmailFilter;
+    private final CustomerSearchIndex customerSearchIndex;
+    private final CustomerEventOutbox customerEventOutbox;
+    private final CustomerEventDispatcher customerEventDispatcher;
+    private final CustomerValidator customerValidator;
+    private final CustomerShards customerShards;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final int batchChunkSize;
 
     /**
      * Constructor for CustomerServiceImpl.
      *
-     * @param customerRepository Repository for managing customer data.
+     * @param customerRepository      Repository for managing customer data.
+     * @param customerCache           Read-through cache of customer lookups.
+     * @param customerEmailFilter     Bloom filter of known emails used to skip uniqueness lookups.
+     * @param customerSearchIndex     Typeahead index of active customers, kept current by the write paths.
+     * @param customerEventOutbox     Outbox of the change feed, written in the transaction of every change.
+     * @param customerEventDispatcher Dispatcher publishing the change feed to its subscribers.
+     * @param customerValidator       Validator of customer input data.
+     * @param customerShards          Placement of the customers over the shards.
+     * @param entityManager           Entity manager used to flush and clear batch chunks.
+     * @param transactionTemplate     Template used to commit batch creations chunk by chunk, and whose
+     *                                transaction manager runs the read-only transactions of the shards.
+     * @param batchChunkSize          Number of customers inserted per transaction by batch creation.
      */
     @Autowired
-    public CustomerServiceImpl(CustomerRepository customerRepository) {
+    public CustomerServiceImpl(CustomerRepository customerRepository, CustomerCache customerCache,
+                               CustomerEmailFilter customerEmailFilter, CustomerSearchIndex customerSearchIndex,
+                               CustomerEventOutbox customerEventOutbox,
+                               CustomerEventDispatcher customerEventDispatcher,
+                               CustomerValidator customerValidator,
+                               CustomerShards customerShards,
+                               EntityManager entityManager,
+                               TransactionTemplate transactionTemplate,
+                               @Value("${customers.batch.chunk-size:500}") int batchChunkSize) {
         this.customerRepository = customerRepository;
+        this.customerCache = customerCache;
+        this.customerEmailFilter = customerEmailFilter;
+        this.customerSearchIndex = customerSearchIndex;
+        this.customerEventOutbox = customerEventOutbox;
+        this.customerEventDispatcher = customerEventDispatcher;
+        this.customerValidator = customerValidator;
+        this.customerShards = customerShards;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.batchChunkSize = batchChunkSize;
     }
 
     /**
@@ -44,42 +114,242 @@ public class CustomerServiceImpl implements CustomerService {
      */
     @Override
     public Customer findCustomerByEmail(String email) {
-        return customerRepository.findCustomerByEmail(email);
+        return customerCache.findCustomerByEmail(email);
     }
 
     /**
      * Adds a new customer based on the provided CustomerDTO.
+     * <p>
+     * The email lookup is skipped when the known-email filter rules the email out;
+     * the unique constraint on the email column is the authoritative conflict check.
      *
      * @param customerDTO DTO containing customer information.
      * @return Customer entity representing the added customer.
-     * @throws InvalidInputFormatException Thrown if the input data does not meet the required format.
+     * @throws InvalidInputFormatException    Thrown if the input data does not meet the required format.
+     * @throws CustomerAlreadyExistsException Thrown if a customer with such an email already exists.
      */
     @Override
+    @Transactional(rollbackFor = CustomerAlreadyExistsException.class)
     public CustomerResponseDTO createCustomer(CustomerDTO customerDTO)
             throws InvalidInputFormatException, CustomerAlreadyExistsException {
-        validateCustomerData(customerDTO);
+        customerValidator.validateForCreate(customerDTO);
 
-        if (customerRepository.findCustomerByEmail(customerDTO.getEmail()) != null) { // checks if there is a customer with such email
-            throw new CustomerAlreadyExistsException("Customer with email " + customerDTO.getEmail() +
-                    " already exists!");
-        }
+        try (CustomerShards.Scope scope = customerShards.select(customerShards.shardOfEmail(customerDTO.getEmail()))) {
+            if (customerEmailFilter.mightExist(customerDTO.getEmail())
+                    && customerCache.findCustomerByEmail(customerDTO.getEmail()) != null) { // checks if there is a customer with such email
+                throw customerAlreadyExists(customerDTO.getEmail(), null);
+            }
 
-        Customer customer = customerRepository.save(Customer.getCustomerFromCustomerDTO(customerDTO));
+            Customer customer;
+            try {
+                customer = customerRepository.saveAndFlush(Customer.getCustomerFromCustomerDTO(customerDTO));
+            } catch (DataIntegrityViolationException e) {
+                customerEmailFilter.recordConstraintConflict();
+                throw customerAlreadyExists(customerDTO.getEmail(), e);
+            }
+            customerEmailFilter.add(customer.getEmail());
+            customerCache.put(customer);
+            customerSearchIndex.put(customer);
+            customerEventOutbox.recordCreated(List.of(customer.getId()));
 
-        return CustomerResponseDTO.fromCustomer(customer);
+            return CustomerResponseDTO.fromCustomer(customer);
+        }
     }
 
     /**
-     * Retrieves a list of all active customers.
+     * Adds a list of new customers, reporting the outcome of every item.
+     * <p>
+     * Items are processed in chunks: invalid items, including null ones, are reported without reaching the
+     * database; the others check email uniqueness with a single query per shard and are inserted with JDBC
+     * batching in one transaction per shard.
      *
-     * @return List of CustomerResponseDTO representing active customers.
+     * @param customerDTOs DTOs containing customer information.
+     * @return List of per-item results, in the order of the input list.
      */
     @Override
-    public List<CustomerResponseDTO> getAllCustomers() {
-        return customerRepository.findAll().stream()
-                .filter(Customer::getIsActive)
-                .map(CustomerResponseDTO::fromCustomer)
+    public List<BatchCustomerResultDTO> createCustomers(List<CustomerDTO> customerDTOs) {
+        List<BatchCustomerResultDTO> results = new ArrayList<>(customerDTOs.size());
+        Set<String> requestEmails = new HashSet<>();
+
+        for (int from = 0; from < customerDTOs.size(); from += batchChunkSize) {
+            int to = Math.min(from + batchChunkSize, customerDTOs.size());
+            results.addAll(createCustomersChunk(customerDTOs.subList(from, to), from, requestEmails));
+        }
+
+        return results;
+    }
+
+    private List<BatchCustomerResultDTO> createCustomersChunk(List<CustomerDTO> chunk, int offset,
+                                                              Set<String> requestEmails) {
+        BatchCustomerResultDTO[] results = new BatchCustomerResultDTO[chunk.size()];
+        Map<Integer, List<Integer>> positionsByShard = new TreeMap<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            String violations = customerValidator.findViolations(chunk.get(i));
+            if (violations != null) {
+                results[i] = BatchCustomerResultDTO.rejected(offset + i, BatchCustomerResultDTO.Status.INVALID,
+                        violations);
+                continue;
+            }
+            positionsByShard.computeIfAbsent(customerShards.shardOfEmail(chunk.get(i).getEmail()),
+                    shard -> new ArrayList<>()).add(i);
+        }
+
+        positionsByShard.forEach((shard, positions) -> {
+            List<CustomerDTO> shardChunk = positions.stream().map(chunk::get).toList();
+            List<Integer> indexes = positions.stream().map(position -> offset + position).toList();
+
+            List<BatchCustomerResultDTO> shardResults;
+            try (CustomerShards.Scope scope = customerShards.select(shard)) {
+                shardResults = createShardChunk(shardChunk, indexes, requestEmails);
+            }
+            for (int i = 0; i < positions.size(); i++) {
+                results[positions.get(i)] = shardResults.get(i);
+            }
+        });
+
+        return Arrays.asList(results);
+    }
+
+    private List<BatchCustomerResultDTO> createShardChunk(List<CustomerDTO> chunk, List<Integer> indexes,
+                                                          Set<String> requestEmails) {
+        try {
+            return transactionTemplate.execute(status -> insertCustomersChunk(chunk, indexes, requestEmails, true));
+        } catch (DataIntegrityViolationException e) { // an email was taken concurrently, re-check the whole chunk once
+            customerEmailFilter.recordConstraintConflict();
+            forgetRequestEmails(chunk, requestEmails);
+        }
+
+        try {
+            return transactionTemplate.execute(status -> insertCustomersChunk(chunk, indexes, requestEmails, false));
+        } catch (DataIntegrityViolationException e) { // still conflicting, find the taken emails item by item
+            customerEmailFilter.recordConstraintConflict();
+            forgetRequestEmails(chunk, requestEmails);
+        }
+
+        List<BatchCustomerResultDTO> results = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            List<CustomerDTO> item = chunk.subList(i, i + 1);
+            List<Integer> itemIndex = indexes.subList(i, i + 1);
+            try {
+                results.addAll(transactionTemplate.execute(status ->
+                        insertCustomersChunk(item, itemIndex, requestEmails, false)));
+            } catch (DataIntegrityViolationException e) {
+                customerEmailFilter.recordConstraintConflict();
+                results.add(duplicate(indexes.get(i), chunk.get(i)));
+            }
+        }
+        return results;
+    }
+
+    private static void forgetRequestEmails(List<CustomerDTO> chunk, Set<String> requestEmails) {
+        chunk.forEach(customerDTO -> requestEmails.remove(CustomerEmailFilter.normalize(customerDTO.getEmail())));
+    }
+
+    private static BatchCustomerResultDTO duplicate(int index, CustomerDTO customerDTO) {
+        return BatchCustomerResultDTO.rejected(index, BatchCustomerResultDTO.Status.DUPLICATE,
+                "Customer with email " + customerDTO.getEmail() + " already exists!");
+    }
+
+    private List<BatchCustomerResultDTO> insertCustomersChunk(List<CustomerDTO> chunk, List<Integer> indexes,
+                                                              Set<String> requestEmails, boolean useEmailFilter) {
+        BatchCustomerResultDTO[] results = new BatchCustomerResultDTO[chunk.size()];
+
+        List<String> emailsToCheck = chunk.stream()
+                .map(CustomerDTO::getEmail)
+                .filter(email -> !useEmailFilter || customerEmailFilter.mightExist(email))
                 .toList();
+        Set<String> existingEmails = new HashSet<>();
+        if (!emailsToCheck.isEmpty()) {
+            customerRepository.findExistingEmails(emailsToCheck)
+                    .forEach(email -> existingEmails.add(CustomerEmailFilter.normalize(email)));
+        }
+        List<Customer> customers = new ArrayList<>(chunk.size());
+        List<Integer> customerIndexes = new ArrayList<>(chunk.size());
+
+        for (int i = 0; i < chunk.size(); i++) {
+            CustomerDTO customerDTO = chunk.get(i);
+
+            String email = CustomerEmailFilter.normalize(customerDTO.getEmail());
+            if (existingEmails.contains(email) || !requestEmails.add(email)) {
+                results[i] = duplicate(indexes.get(i), customerDTO);
+                continue;
+            }
+            customers.add(Customer.getCustomerFromCustomerDTO(customerDTO));
+            customerIndexes.add(i);
+        }
+
+        List<Customer> saved = customerRepository.saveAll(customers);
+        entityManager.flush();
+        saved.forEach(customer -> customerEmailFilter.add(customer.getEmail()));
+        customerSearchIndex.putAll(saved);
+        customerEventOutbox.recordCreated(saved.stream().map(Customer::getId).toList());
+
+        for (int i = 0; i < saved.size(); i++) {
+            int index = customerIndexes.get(i);
+            results[index] = BatchCustomerResultDTO.created(indexes.get(index),
+                    CustomerResponseDTO.fromCustomer(saved.get(i)));
+        }
+        entityManager.clear();
+
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Retrieves a page of active customers using keyset pagination on the customer ID.
+     * <p>
+     * Every shard returns its own next page after the ID, read in a read-only transaction that may be
+     * served by a replica; the merged pages are cut to the limit.
+     *
+     * @param afterId ID of the last customer of the previous page (0 for the first page).
+     * @param limit   Maximum number of customers to return.
+     * @return List of CustomerResponseDTO representing active customers, ordered by ID.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<CustomerResponseDTO> getAllCustomers(long afterId, int limit) {
+        return gatherPage(shard -> customerRepository.findActiveCustomerResponsesAfter(afterId, Limit.of(limit)),
+                CustomerResponseDTO::getId, limit);
+    }
+
+    /**
+     * Retrieves the IDs and versions of a page of active customers, without loading the customers.
+     *
+     * @param afterId ID of the last customer of the previous page (0 for the first page).
+     * @param limit   Maximum number of customers to return.
+     * @return List of CustomerVersionDTO of active customers, ordered by ID.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<CustomerVersionDTO> getCustomerVersions(long afterId, int limit) {
+        return gatherPage(shard -> customerRepository.findActiveCustomerVersionsAfter(afterId, Limit.of(limit)),
+                CustomerVersionDTO::getId, limit);
+    }
+
+    /**
+     * Streams all active customers to the given consumer, ordered by ID.
+     * <p>
+     * Rows are read through a server-side cursor straight into response DTOs, which the persistence
+     * context never holds, so memory usage stays constant regardless of the table size. With several
+     * shards, the customers are read in keyset pages gathered from all shards instead.
+     *
+     * @param consumer Consumer receiving every active customer.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllCustomers(Consumer<CustomerResponseDTO> consumer) {
+        if (customerShards.isSharded()) {
+            List<CustomerResponseDTO> page = getAllCustomers(0, batchChunkSize);
+            while (!page.isEmpty()) {
+                page.forEach(consumer);
+                page = page.size() < batchChunkSize ? List.of()
+                        : getAllCustomers(page.get(page.size() - 1).getId(), batchChunkSize);
+            }
+            return;
+        }
+
+        try (Stream<CustomerResponseDTO> customers = customerRepository.streamActiveCustomerResponses()) {
+            customers.forEach(consumer);
+        }
     }
 
     /**
@@ -87,108 +357,253 @@ public class CustomerServiceImpl implements CustomerService {
      *
      * @param id ID of the customer to retrieve.
      * @return CustomerResponseDTO representing the retrieved customer.
-     * @throws NullPointerException Thrown if the customer with the provided ID is not found or is inactive.
+     * @throws CustomerNotFoundException Thrown if there is no customer with the provided ID.
+     * @throws CustomerDeletedException  Thrown if the customer with the provided ID has been deleted.
      */
     @Override
-    public CustomerResponseDTO getCustomerById(long id) {
-        Customer customer = customerRepository.findCustomerById(id);
+    public CustomerResponseDTO getCustomerById(long id) throws CustomerNotFoundException, CustomerDeletedException {
+        return CustomerResponseDTO.fromCustomer(checkActive(customerCache.findCustomerById(id)));
+    }
 
-        if (!customer.getIsActive()) {
-            throw new NullPointerException("Customer with such an id has been deleted.");
-        }
+    /**
+     * Retrieves several customers by ID.
+     * <p>
+     * Lookups missing the cache are loaded together with the concurrent lookups of other requests.
+     *
+     * @param ids IDs of the customers to retrieve; repeated IDs are returned once.
+     * @return List of CustomerResponseDTO of the active customers among the IDs, in the order of the IDs.
+     */
+    @Override
+    public List<CustomerResponseDTO> getCustomersByIds(List<Long> ids) {
+        List<Long> distinctIds = ids.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+
+        return customerCache.findCustomersByIds(distinctIds).stream()
+                .filter(customer -> customer != null && customer.getIsActive())
+                .map(CustomerResponseDTO::fromCustomer)
+                .toList();
+    }
+
+    /**
+     * Finds active customers whose full name, email or phone contains the query, using the in-memory search index.
+     *
+     * @param query Text to look for; queries of one or two characters match the start of a word.
+     * @param limit Maximum number of customers to return.
+     * @return List of CustomerResponseDTO of matching customers, those where the query starts a word first.
+     */
+    @Override
+    public List<CustomerResponseDTO> searchCustomers(String query, int limit) {
+        return customerSearchIndex.search(query, limit);
+    }
 
-        return CustomerResponseDTO.fromCustomer(customer);
+    /**
+     * Subscribes to the change feed of customer creations, updates and deletions.
+     *
+     * @param afterPosition Position of the last event the subscriber received, or null to receive only new events.
+     * @param sink          Connection the events are sent to.
+     * @return The subscription, to be cancelled when the subscriber disconnects.
+     */
+    @Override
+    public CustomerEventSubscription subscribeToCustomerEvents(Long afterPosition, CustomerEventSink sink) {
+        return customerEventDispatcher.subscribe(afterPosition, sink);
     }
 
     /**
      * Updates a customer's information based on the provided UpdateCustomerDTO.
+     * <p>
+     * The write is guarded by the customer's version column, so a concurrent update
+     * between reading and writing the customer fails instead of being overwritten.
      *
-     * @param customerDTO UpdateCustomerDTO containing the updated customer information.
-     * @param id          ID of the customer to update.
+     * @param customerDTO     UpdateCustomerDTO containing the updated customer information.
+     * @param id              ID of the customer to update.
+     * @param expectedVersion Version the client based the update on, or null to update any version.
      * @return CustomerResponseDTO representing the updated customer.
      * @throws InvalidInputFormatException Thrown if the input data does not meet the required format.
-     * @throws NullPointerException        Thrown if the customer with the provided ID is not found or is inactive.
+     * @throws CustomerModifiedException   Thrown if the customer is not at the expected version or was modified concurrently.
+     * @throws CustomerNotFoundException   Thrown if there is no customer with the provided ID.
+     * @throws CustomerDeletedException    Thrown if the customer with the provided ID has been deleted.
      */
     @Override
-    public CustomerResponseDTO updateCustomer(UpdateCustomerDTO customerDTO, long id)
-            throws InvalidInputFormatException, IllegalAccessException {
-        Customer customer = customerRepository.findCustomerById(id);
+    @Transactional(rollbackFor = CustomerModifiedException.class)
+    public CustomerResponseDTO updateCustomer(UpdateCustomerDTO customerDTO, long id, Long expectedVersion)
+            throws InvalidInputFormatException, CustomerModifiedException,
+            CustomerNotFoundException, CustomerDeletedException {
+        customerValidator.validateForUpdate(customerDTO);
+
+        try (CustomerShards.Scope scope = customerShards.select(customerShards.shardOfId(id))) {
+            return updateActiveCustomer(customerDTO, id, expectedVersion);
+        }
+    }
+
+    private CustomerResponseDTO updateActiveCustomer(UpdateCustomerDTO customerDTO, long id, Long expectedVersion)
+            throws InvalidInputFormatException, CustomerModifiedException,
+            CustomerNotFoundException, CustomerDeletedException {
+        Customer customer = checkActive(customerRepository.findCustomerById(id));
+
+        if (!CustomerEmailFilter.sameEmail(customer.getEmail(), customerDTO.getEmail())) {
+            throw new InvalidInputFormatException("You cannot change a customer's email address.");
+        }
 
-        checkDataForPutUpdate(customerDTO, customer);
+        if (expectedVersion != null && expectedVersion != customer.getVersion()) {
+            throw customerModified(id, null);
+        }
 
-        Customer updatedCustomer = Customer.getCustomerFromUpdatedCustomerDTO(customerDTO);
-        updatedCustomer.setCreated(customer.getCreated());
+        customer.setFullName(customerDTO.getFullName());
+        customer.setPhone(customerDTO.getPhone());
         customer.setUpdated(new Date().getTime());
 
-        return CustomerResponseDTO.fromCustomer(customerRepository.save(customer));
+        Customer savedCustomer;
+        try {
+            savedCustomer = customerRepository.saveAndFlush(customer);
+        } catch (OptimisticLockingFailureException e) {
+            customerCache.evict(id);
+            throw customerModified(id, e);
+        }
+        customerCache.put(savedCustomer);
+        customerSearchIndex.put(savedCustomer);
+        customerEventOutbox.recordUpdated(id);
+
+        return CustomerResponseDTO.fromCustomer(savedCustomer);
     }
 
     /**
-     * Deletes a customer based on the provided ID.
+     * Changes the supplied fields of a customer with a single conditional UPDATE, without loading it first.
+     * <p>
+     * The customer is only read back when the update does not apply, to report why.
      *
-     * @param id ID of the customer to delete.
-     * @throws NullPointerException Thrown if the customer with the provided ID is not found.
+     * @param customerDTO     PatchCustomerDTO containing the fields to change.
+     * @param id              ID of the customer to update.
+     * @param expectedVersion Version the client based the update on, or null to update any version.
+     * @throws InvalidInputFormatException Thrown if the input data does not meet the required format or changes the email.
+     * @throws CustomerModifiedException   Thrown if the customer is not at the expected version.
+     * @throws CustomerNotFoundException   Thrown if there is no customer with the provided ID.
+     * @throws CustomerDeletedException    Thrown if the customer with the provided ID has been deleted.
      */
     @Override
-    public void deleteCustomer(long id) {
-        Customer customer = customerRepository.findCustomerById(id);
+    @Transactional
+    public void patchCustomer(PatchCustomerDTO customerDTO, long id, Long expectedVersion)
+            throws InvalidInputFormatException, CustomerModifiedException,
+            CustomerNotFoundException, CustomerDeletedException {
+        customerValidator.validateForPatch(customerDTO);
 
-        if (!customer.getIsActive()) {
-            throw new NullPointerException("Customer with such an id has been deleted.");
-        }
+        try (CustomerShards.Scope scope = customerShards.select(customerShards.shardOfId(id))) {
+            int updated = customerRepository.patchActiveCustomer(id, customerDTO.getFullName(),
+                    customerDTO.getEmail(), customerDTO.getPhone(), expectedVersion, new Date().getTime());
+            if (updated == 0) {
+                Customer customer = checkActive(customerRepository.findCustomerById(id));
 
-        customer.setActive(false);
+                if (customerDTO.getEmail() != null
+                        && !CustomerEmailFilter.sameEmail(customer.getEmail(), customerDTO.getEmail())) {
+                    throw new InvalidInputFormatException("You cannot change a customer's email address.");
+                }
+                throw customerModified(id, null);
+            }
 
-        customerRepository.save(customer);
+            customerCache.evict(id);
+            customerSearchIndex.patch(id, customerDTO.getFullName(), customerDTO.getPhone());
+            customerEventOutbox.recordUpdated(id);
+        }
     }
 
     /**
-     * Checks the validity of input data in the CustomerDTO.
+     * Deletes a customer based on the provided ID, with a single conditional UPDATE.
      *
-     * @param customerDTO CustomerDTO containing input data.
-     * @throws InvalidInputFormatException Thrown if the input data does not meet the required format.
+     * @param id ID of the customer to delete.
+     * @throws CustomerNotFoundException Thrown if there is no customer with the provided ID.
+     * @throws CustomerDeletedException  Thrown if the customer with the provided ID is already deleted.
      */
-    private void validateCustomerData(CustomerDTO customerDTO) throws InvalidInputFormatException {
-        String fullNameRegex = "^.{2,50}$",
-                emailRegex = "^(?=.{2,100}$)[^@]*@[^@]*$",
-                phoneRegex = "^\\+\\d{5,13}$";
+    @Override
+    @Transactional
+    public void deleteCustomer(long id) throws CustomerNotFoundException, CustomerDeletedException {
+        long now = new Date().getTime();
+        try (CustomerShards.Scope scope = customerShards.select(customerShards.shardOfId(id))) {
+            if (customerRepository.deactivateCustomers(List.of(id), now) == 0) {
+                checkActive(customerRepository.findCustomerById(id));
+            }
 
-        if (!Pattern.matches(fullNameRegex, customerDTO.getFullName()) ||
-                (customerDTO.getEmail() != null && !Pattern.matches(emailRegex, customerDTO.getEmail())) ||
-                (customerDTO.getPhone() != null && !Pattern.matches(phoneRegex, customerDTO.getPhone()))) {
-            throw new InvalidInputFormatException("Invalid format of input data.");
+            customerCache.evict(id);
+            customerSearchIndex.removeAll(List.of(id));
+            customerEventOutbox.recordDeleted(List.of(id), now);
         }
     }
 
-    private void checkDataForPutUpdate(UpdateCustomerDTO customerDTO, Customer customer)
-            throws InvalidInputFormatException, IllegalAccessException {
-        validateCustomerData(CustomerDTO.fromUpdateCustomerDTO(customerDTO));
+    /**
+     * Deletes the customers with the provided IDs, with one UPDATE per chunk of IDs and shard.
+     * <p>
+     * IDs that do not exist or are already deleted are skipped.
+     *
+     * @param ids IDs of the customers to delete.
+     * @return BulkDeleteResultDTO with the number of distinct requested IDs and of deleted customers.
+     */
+    @Override
+    public BulkDeleteResultDTO deleteCustomers(List<Long> ids) {
+        List<Long> distinctIds = ids.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        long now = new Date().getTime();
+        int deleted = 0;
+
+        for (int from = 0; from < distinctIds.size(); from += batchChunkSize) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(from + batchChunkSize, distinctIds.size()));
+            Map<Integer, List<Long>> idsByShard = new TreeMap<>();
+            chunk.forEach(id -> idsByShard.computeIfAbsent(customerShards.shardOfId(id), shard -> new ArrayList<>()).add(id));
 
-        if (!customer.getIsActive()) {
-            throw new NullPointerException("Customer with such an id has been deleted.");
+            for (Map.Entry<Integer, List<Long>> shardChunk : idsByShard.entrySet()) {
+                try (CustomerShards.Scope scope = customerShards.select(shardChunk.getKey())) {
+                    deleted += transactionTemplate.execute(status -> {
+                        int chunkDeleted = customerRepository.deactivateCustomers(shardChunk.getValue(), now);
+                        customerCache.evictAll(shardChunk.getValue());
+                        customerSearchIndex.removeAll(shardChunk.getValue());
+                        customerEventOutbox.recordDeleted(shardChunk.getValue(), now);
+                        return chunkDeleted;
+                    });
+                }
+            }
         }
 
-        checkIfFieldsAreNonNull(customerDTO);
+        return new BulkDeleteResultDTO(distinctIds.size(), deleted);
+    }
 
-        if (!customer.getEmail().equals(customerDTO.getEmail())) {
-            throw new InvalidInputFormatException("You cannot change a customer's email address.");
+    /**
+     * Reads a page from every shard and merges the pages, each ordered by ID, into the first customers overall.
+     */
+    private <T> List<T> gatherPage(IntFunction<List<T>> readPage, ToLongFunction<T> id, int limit) {
+        // with several shards, each is read on a thread of its own, outside of the caller's transaction
+        List<List<T>> pages = customerShards.scatter(shard ->
+                readOnlyTransactionTemplate.execute(status -> readPage.apply(shard)));
+        if (pages.size() == 1) {
+            return pages.get(0);
         }
+
+        return pages.stream()
+                .flatMap(List::stream)
+                .sorted(Comparator.comparingLong(id))
+                .limit(limit)
+                .toList();
     }
 
-    private void checkIfFieldsAreNonNull(UpdateCustomerDTO customerDTO)
-            throws InvalidInputFormatException, IllegalAccessException {
-        Class<?> customerDTOClass = UpdateCustomerDTO.class;
-        Field[] customerDTOFields = customerDTOClass.getDeclaredFields();
+    /**
+     * Reports a looked-up customer that is missing or inactive.
+     */
+    private static Customer checkActive(Customer customer) throws CustomerNotFoundException, CustomerDeletedException {
+        if (customer == null) {
+            throw new CustomerNotFoundException();
+        }
+        if (!customer.getIsActive()) {
+            throw new CustomerDeletedException();
+        }
 
-        for (Field field : customerDTOFields) {
-            field.setAccessible(true);
+        return customer;
+    }
 
-            Object value = field.get(customerDTO);
-            if (value == null && !field.getName().equals("id")) {
-                throw new InvalidInputFormatException("You need to specify all the fields to update with 'put'.");
-            }
+    private static CustomerAlreadyExistsException customerAlreadyExists(String email, Throwable cause) {
+        return new CustomerAlreadyExistsException("Customer with email " + email + " already exists!", cause);
+    }
 
-            field.setAccessible(false);
-        }
+    private static CustomerModifiedException customerModified(long id, Throwable cause) {
+        return new CustomerModifiedException("Customer with id " + id + " has been modified by another request.", cause);
     }
 }
@@ -0,0 +1,331 @@
+package com.app.theravenwithoutauth.service.impl;
+
+import com.app.theravenwithoutauth.cache.CustomerEmailFilter;
+import com.app.theravenwithoutauth.events.CustomerEventDispatcher;
+import com.app.theravenwithoutauth.events.CustomerEventSink;
+import com.app.theravenwithoutauth.events.CustomerEventSubscription;
+import com.app.theravenwithoutauth.exception.CustomerAlreadyExistsException;
+import com.app.theravenwithoutauth.exception.CustomerDeletedException;
+import com.app.theravenwithoutauth.exception.CustomerModifiedException;
+import com.app.theravenwithoutauth.exception.CustomerNotFoundException;
+import com.app.theravenwithoutauth.exception.InvalidInputFormatException;
+import com.app.theravenwithoutauth.model.Customer;
+import com.app.theravenwithoutauth.model.CustomerEventType;
+import com.app.theravenwithoutauth.model.dto.CustomerDTO;
+import com.app.theravenwithoutauth.model.dto.CustomerEventDTO;
+import com.app.theravenwithoutauth.model.dto.CustomerResponseDTO;
+import com.app.theravenwithoutauth.model.dto.CustomerVersionDTO;
+import com.app.theravenwithoutauth.model.dto.PatchCustomerDTO;
+import com.app.theravenwithoutauth.model.dto.UpdateCustomerDTO;
+import com.app.theravenwithoutauth.repository.ReactiveCustomerRepository;
+import com.app.theravenwithoutauth.search.CustomerSearchIndex;
+import com.app.theravenwithoutauth.service.ReactiveCustomerService;
+import com.app.theravenwithoutauth.validation.CustomerValidator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.Exceptions;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Non-blocking implementation of the customer operations, backed by R2DBC.
+ * <p>
+ * Mirrors {@link CustomerServiceImpl}: the same validator and known-email filter are used,
+ * and failures are signalled with the same exception types, so the responses produced by
+ * the shared exception handler are identical.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveCustomerServiceImpl implements ReactiveCustomerService {
+    private final ReactiveCustomerRepository customerRepository;
+    private final CustomerValidator customerValidator;
+    private final CustomerEmailFilter customerEmailFilter;
+    private final CustomerSearchIndex customerSearchIndex;
+    private final CustomerEventDispatcher customerEventDispatcher;
+    private final TransactionalOperator transactionalOperator;
+    private final int eventsBufferSize;
+
+    /**
+     * Constructor for ReactiveCustomerServiceImpl.
+     *
+     * @param customerRepository      Reactive repository for managing customer data.
+     * @param customerValidator       Validator of customer input data.
+     * @param customerEmailFilter     Bloom filter of known emails used to skip uniqueness lookups.
+     * @param customerSearchIndex     Typeahead index of active customers, kept current by the write paths.
+     * @param customerEventDispatcher Dispatcher publishing the change feed, woken up after every change.
+     * @param transactionalOperator   Operator running the writes in R2DBC transactions.
+     * @param eventsBufferSize        Number of change events buffered per subscriber before it is dropped.
+     */
+    @Autowired
+    public ReactiveCustomerServiceImpl(ReactiveCustomerRepository customerRepository,
+                                       CustomerValidator customerValidator,
+                                       CustomerEmailFilter customerEmailFilter,
+                                       CustomerSearchIndex customerSearchIndex,
+                                       CustomerEventDispatcher customerEventDispatcher,
+                                       TransactionalOperator transactionalOperator,
+                                       @Value("${customers.events.subscriber-buffer-size:1000}") int eventsBufferSize) {
+        this.customerRepository = customerRepository;
+        this.customerValidator = customerValidator;
+        this.customerEmailFilter = customerEmailFilter;
+        this.customerSearchIndex = customerSearchIndex;
+        this.customerEventDispatcher = customerEventDispatcher;
+        this.transactionalOperator = transactionalOperator;
+        this.eventsBufferSize = eventsBufferSize;
+    }
+
+    /**
+     * Adds a new customer based on the provided CustomerDTO.
+     *
+     * @param customerDTO DTO containing customer information.
+     * @return Mono emitting the added customer, or failing with InvalidInputFormatException
+     * or CustomerAlreadyExistsException.
+     */
+    @Override
+    public Mono<CustomerResponseDTO> createCustomer(CustomerDTO customerDTO) {
+        return Mono.fromCallable(() -> {
+                    customerValidator.validateForCreate(customerDTO);
+                    return customerEmailFilter.mightExist(customerDTO.getEmail());
+                })
+                .flatMap(mightExist -> mightExist
+                        ? customerRepository.findCustomerByEmail(customerDTO.getEmail())
+                        .flatMap(existing -> Mono.<Customer>error(customerAlreadyExists(customerDTO.getEmail(), null)))
+                        : Mono.<Customer>empty())
+                .switchIfEmpty(Mono.defer(() -> customerRepository.insert(Customer.getCustomerFromCustomerDTO(customerDTO))))
+                .flatMap(customer -> recordEvent(CustomerEventType.CREATED, customer.getId()).thenReturn(customer))
+                .as(transactionalOperator::transactional)
+                .onErrorMap(DataIntegrityViolationException.class, e -> {
+                    customerEmailFilter.recordConstraintConflict();
+                    return customerAlreadyExists(customerDTO.getEmail(), e);
+                })
+                .doOnNext(customer -> {
+                    customerEmailFilter.add(customer.getEmail());
+                    customerSearchIndex.put(customer);
+                    customerEventDispatcher.wakeUp();
+                })
+                .map(CustomerResponseDTO::fromCustomer);
+    }
+
+    /**
+     * Retrieves a page of active customers using keyset pagination on the customer ID.
+     *
+     * @param afterId ID of the last customer of the previous page (0 for the first page).
+     * @param limit   Maximum number of customers to return.
+     * @return Flux of CustomerResponseDTO representing active customers, ordered by ID.
+     */
+    @Override
+    public Flux<CustomerResponseDTO> getAllCustomers(long afterId, int limit) {
+        return customerRepository.findActiveCustomersAfter(afterId, limit)
+                .map(CustomerResponseDTO::fromCustomer);
+    }
+
+    /**
+     * Retrieves the IDs and versions of a page of active customers, without loading the customers.
+     *
+     * @param afterId ID of the last customer of the previous page (0 for the first page).
+     * @param limit   Maximum number of customers to return.
+     * @return Flux of CustomerVersionDTO of active customers, ordered by ID.
+     */
+    @Override
+    public Flux<CustomerVersionDTO> getCustomerVersions(long afterId, int limit) {
+        return customerRepository.findActiveCustomerVersionsAfter(afterId, limit);
+    }
+
+    /**
+     * Streams all active customers ordered by ID, reading rows only as fast as the subscriber consumes them.
+     *
+     * @return Flux of CustomerResponseDTO representing active customers.
+     */
+    @Override
+    public Flux<CustomerResponseDTO> streamAllCustomers() {
+        return customerRepository.streamActiveCustomers()
+                .map(CustomerResponseDTO::fromCustomer);
+    }
+
+    /**
+     * Retrieves a customer by ID.
+     *
+     * @param id ID of the customer to retrieve.
+     * @return Mono emitting the customer, or failing with CustomerNotFoundException or CustomerDeletedException.
+     */
+    @Override
+    public Mono<CustomerResponseDTO> getCustomerById(long id) {
+        return findActiveCustomer(id)
+                .map(CustomerResponseDTO::fromCustomer);
+    }
+
+    /**
+     * Finds active customers whose full name, email or phone contains the query, using the in-memory search index.
+     *
+     * @param query Text to look for; queries of one or two characters match the start of a word.
+     * @param limit Maximum number of customers to return.
+     * @return Flux of CustomerResponseDTO of matching customers, those where the query starts a word first.
+     */
+    @Override
+    public Flux<CustomerResponseDTO> searchCustomers(String query, int limit) {
+        return Flux.defer(() -> Flux.fromIterable(customerSearchIndex.search(query, limit)));
+    }
+
+    /**
+     * Streams customer creations, updates and deletions from the change feed.
+     * <p>
+     * Events are buffered up to the subscriber buffer size while the client does not request more;
+     * when the buffer overflows the stream completes, and the client resumes from the last position it received.
+     *
+     * @param afterPosition Position of the last event the subscriber received, or null to receive only new events.
+     * @return Flux of CustomerEventDTO in position order.
+     */
+    @Override
+    public Flux<CustomerEventDTO> streamCustomerEvents(Long afterPosition) {
+        return Flux.<CustomerEventDTO>create(sink -> {
+                    CustomerEventSubscription subscription = customerEventDispatcher.subscribe(afterPosition,
+                            new FluxEventSink(sink));
+                    sink.onDispose(subscription::cancel);
+                })
+                .onBackpressureBuffer(eventsBufferSize, BufferOverflowStrategy.ERROR)
+                .onErrorResume(Exceptions::isOverflow, e -> Flux.empty());
+    }
+
+    /**
+     * Updates a customer's information based on the provided UpdateCustomerDTO.
+     *
+     * @param customerDTO     UpdateCustomerDTO containing the updated customer information.
+     * @param id              ID of the customer to update.
+     * @param expectedVersion Version the client based the update on, or null to update any version.
+     * @return Mono emitting the updated customer, or failing with InvalidInputFormatException,
+     * CustomerModifiedException, CustomerNotFoundException or CustomerDeletedException.
+     */
+    @Override
+    public Mono<CustomerResponseDTO> updateCustomer(UpdateCustomerDTO customerDTO, long id, Long expectedVersion) {
+        return Mono.fromCallable(() -> {
+                    customerValidator.validateForUpdate(customerDTO);
+                    return id;
+                })
+                .flatMap(this::findActiveCustomer)
+                .flatMap(customer -> {
+                    if (!CustomerEmailFilter.sameEmail(customer.getEmail(), customerDTO.getEmail())) {
+                        return Mono.error(new InvalidInputFormatException("You cannot change a customer's email address."));
+                    }
+                    if (expectedVersion != null && expectedVersion != customer.getVersion()) {
+                        return Mono.error(customerModified(id, null));
+                    }
+
+                    customer.setFullName(customerDTO.getFullName());
+                    customer.setPhone(customerDTO.getPhone());
+                    customer.setUpdated(new Date().getTime());
+
+                    return customerRepository.update(customer);
+                })
+                .flatMap(customer -> recordEvent(CustomerEventType.UPDATED, id).thenReturn(customer))
+                .as(transactionalOperator::transactional)
+                .onErrorMap(OptimisticLockingFailureException.class, e -> customerModified(id, e))
+                .doOnNext(customer -> {
+                    customerSearchIndex.put(customer);
+                    customerEventDispatcher.wakeUp();
+                })
+                .map(CustomerResponseDTO::fromCustomer);
+    }
+
+    /**
+     * Changes the supplied fields of a customer with a single conditional UPDATE, without loading it first.
+     *
+     * @param customerDTO     PatchCustomerDTO containing the fields to change.
+     * @param id              ID of the customer to update.
+     * @param expectedVersion Version the client based the update on, or null to update any version.
+     * @return Mono completing once updated, or failing with InvalidInputFormatException,
+     * CustomerModifiedException, CustomerNotFoundException or CustomerDeletedException.
+     */
+    @Override
+    public Mono<Void> patchCustomer(PatchCustomerDTO customerDTO, long id, Long expectedVersion) {
+        return Mono.fromCallable(() -> {
+                    customerValidator.validateForPatch(customerDTO);
+                    return id;
+                })
+                .flatMap(valid -> customerRepository.patchActiveCustomer(id, customerDTO.getFullName(),
+                                customerDTO.getEmail(), customerDTO.getPhone(), expectedVersion, new Date().getTime())
+                        .flatMap(updated -> updated > 0
+                                ? recordEvent(CustomerEventType.UPDATED, id).thenReturn(updated) : Mono.just(updated))
+                        .as(transactionalOperator::transactional))
+                .flatMap(updated -> updated > 0
+                        ? Mono.<Void>fromRunnable(() -> {
+                            customerSearchIndex.patch(id, customerDTO.getFullName(), customerDTO.getPhone());
+                            customerEventDispatcher.wakeUp();
+                        })
+                        : findActiveCustomer(id)
+                        .flatMap(customer -> customerDTO.getEmail() != null
+                                && !CustomerEmailFilter.sameEmail(customer.getEmail(), customerDTO.getEmail())
+                                ? Mono.error(new InvalidInputFormatException("You cannot change a customer's email address."))
+                                : Mono.error(customerModified(id, null))));
+    }
+
+    /**
+     * Soft-deletes a customer based on the provided ID, with a single conditional UPDATE.
+     *
+     * @param id ID of the customer to delete.
+     * @return Mono completing once deleted, or failing with CustomerNotFoundException or CustomerDeletedException.
+     */
+    @Override
+    public Mono<Void> deleteCustomer(long id) {
+        return customerRepository.deactivateCustomer(id, new Date().getTime())
+                .flatMap(deleted -> deleted > 0
+                        ? recordEvent(CustomerEventType.DELETED, id).thenReturn(deleted) : Mono.just(deleted))
+                .as(transactionalOperator::transactional)
+                .flatMap(deleted -> deleted > 0
+                        ? Mono.<Void>fromRunnable(() -> {
+                            customerSearchIndex.removeAll(List.of(id));
+                            customerEventDispatcher.wakeUp();
+                        })
+                        : findActiveCustomer(id).then());
+    }
+
+    private Mono<Void> recordEvent(CustomerEventType type, long id) {
+        return customerRepository.recordEvent(type, id, new Date().getTime());
+    }
+
+    private Mono<Customer> findActiveCustomer(long id) {
+        return customerRepository.findCustomerById(id)
+                .switchIfEmpty(Mono.error(CustomerNotFoundException::new))
+                .flatMap(customer -> customer.getIsActive() ? Mono.just(customer)
+                        : Mono.error(new CustomerDeletedException()));
+    }
+
+    private static CustomerModifiedException customerModified(long id, Throwable cause) {
+        return new CustomerModifiedException("Customer with id " + id + " has been modified by another request.", cause);
+    }
+
+    private static CustomerAlreadyExistsException customerAlreadyExists(String email, Throwable cause) {
+        return new CustomerAlreadyExistsException("Customer with email " + email + " already exists!", cause);
+    }
+
+    /**
+     * Change feed connection emitting events into a Flux; keep-alive messages are left to the controller.
+     */
+    private record FluxEventSink(FluxSink<CustomerEventDTO> sink) implements CustomerEventSink {
+        @Override
+        public void send(List<CustomerEventDTO> events) throws IOException {
+            if (sink.isCancelled()) {
+                throw new IOException("Change feed subscriber disconnected");
+            }
+            events.forEach(sink::next);
+        }
+
+        @Override
+        public void heartbeat() {
+        }
+
+        @Override
+        public void close() {
+            sink.complete();
+        }
+    }
+}
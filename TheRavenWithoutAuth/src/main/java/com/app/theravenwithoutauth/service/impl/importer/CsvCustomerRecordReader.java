@@ -0,0 +1,133 @@
+package com.app.theravenwithoutauth.service.impl.importer;
+
+import com.app.theravenwithoutauth.exception.InvalidInputFormatException;
+import com.app.theravenwithoutauth.model.dto.CustomerDTO;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads customers from RFC 4180 CSV.
+ * <p>
+ * The first record is a header naming the columns 'fullName', 'email' and 'phone' in any order
+ * (case-insensitive); other columns are ignored. Quoted fields may contain commas, escaped quotes
+ * and line breaks. Empty fields are read as null.
+ */
+public class CsvCustomerRecordReader implements CustomerRecordReader {
+    private final Reader reader;
+    private final int fullNameColumn;
+    private final int emailColumn;
+    private final int phoneColumn;
+    private final int columns;
+    private long row;
+    private int pushedBack = -2;
+
+    public CsvCustomerRecordReader(Reader reader) throws IOException, InvalidInputFormatException {
+        this.reader = reader;
+
+        List<String> header = readFields();
+        if (header == null) {
+            throw new InvalidInputFormatException("CSV import is empty.");
+        }
+        this.columns = header.size();
+        this.fullNameColumn = indexOf(header, "fullName");
+        this.emailColumn = indexOf(header, "email");
+        this.phoneColumn = indexOf(header, "phone");
+
+        if (fullNameColumn < 0 || emailColumn < 0) {
+            throw new InvalidInputFormatException("CSV header must contain 'fullName' and 'email' columns.");
+        }
+    }
+
+    @Override
+    public CustomerRecord next() throws IOException {
+        List<String> fields;
+        do {
+            fields = readFields();
+            if (fields == null) {
+                return null;
+            }
+            row++;
+        } while (fields.size() == 1 && fields.get(0) == null);
+
+        if (fields.size() != columns) {
+            return CustomerRecord.malformed(row, "Expected " + columns + " columns but found " + fields.size() + ".");
+        }
+
+        return CustomerRecord.parsed(row, new CustomerDTO(fields.get(fullNameColumn), fields.get(emailColumn),
+                phoneColumn < 0 ? null : fields.get(phoneColumn)));
+    }
+
+    private static int indexOf(List<String> header, String column) {
+        for (int i = 0; i < header.size(); i++) {
+            if (column.equalsIgnoreCase(header.get(i) == null ? null : header.get(i).trim())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Reads the fields of the next record, or returns null at the end of the stream.
+     */
+    private List<String> readFields() throws IOException {
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    break;
+                }
+                if (c == '"') {
+                    int nextChar = read();
+                    if (nextChar == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = nextChar;
+                        continue;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.isEmpty() ? null : field.toString());
+                field.setLength(0);
+            } else if (c == '\r') {
+                int nextChar = read();
+                if (nextChar != '\n') {
+                    pushedBack = nextChar;
+                }
+                break;
+            } else if (c == '\n' || c == -1) {
+                break;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+
+        fields.add(field.isEmpty() ? null : field.toString());
+        return fields;
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != -2) {
+            int c = pushedBack;
+            pushedBack = -2;
+            return c;
+        }
+        return reader.read();
+    }
+}
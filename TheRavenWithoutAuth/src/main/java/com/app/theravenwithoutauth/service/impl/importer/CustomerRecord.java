@@ -0,0 +1,26 @@
+package com.app.theravenwithoutauth.service.impl.importer;
+
+import com.app.theravenwithoutauth.model.dto.CustomerDTO;
+import lombok.Value;
+
+/**
+ * A single row read from an import file: either a parsed customer or the reason it could not be parsed.
+ */
+@Value
+public class CustomerRecord {
+    long row;
+    CustomerDTO customer;
+    String error;
+
+    public static CustomerRecord parsed(long row, CustomerDTO customer) {
+        return new CustomerRecord(row, customer, null);
+    }
+
+    public static CustomerRecord malformed(long row, String error) {
+        return new CustomerRecord(row, null, error);
+    }
+
+    public boolean isMalformed() {
+        return error != null;
+    }
+}
@@ -0,0 +1,16 @@
+package com.app.theravenwithoutauth.service.impl.importer;
+
+import java.io.IOException;
+
+/**
+ * Incremental reader of customer rows from an import stream.
+ */
+public interface CustomerRecordReader {
+    /**
+     * Reads the next row.
+     *
+     * @return The next record, or null at the end of the stream.
+     * @throws IOException If the underlying stream cannot be read.
+     */
+    CustomerRecord next() throws IOException;
+}
@@ -0,0 +1,40 @@
+package com.app.theravenwithoutauth.service.impl.importer;
+
+import com.app.theravenwithoutauth.model.dto.CustomerDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * Reads customers from newline-delimited JSON, one object per line. Blank lines are skipped.
+ */
+public class NdjsonCustomerRecordReader implements CustomerRecordReader {
+    private final BufferedReader reader;
+    private final ObjectReader objectReader;
+    private long row;
+
+    public NdjsonCustomerRecordReader(BufferedReader reader, ObjectReader objectReader) {
+        this.reader = reader;
+        this.objectReader = objectReader.forType(CustomerDTO.class);
+    }
+
+    @Override
+    public CustomerRecord next() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+            row++;
+        } while (line.isBlank());
+
+        try {
+            return CustomerRecord.parsed(row, objectReader.readValue(line));
+        } catch (JsonProcessingException e) {
+            return CustomerRecord.malformed(row, e.getOriginalMessage());
+        }
+    }
+}
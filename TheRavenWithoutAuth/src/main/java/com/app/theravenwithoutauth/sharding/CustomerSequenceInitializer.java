@@ -0,0 +1,99 @@
+package com.app.theravenwithoutauth.sharding;
+
+import com.app.theravenwithoutauth.datasource.ShardRoutingDataSource;
+import com.app.theravenwithoutauth.model.Customer;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Moves the customer ID sequence of every shard past the IDs already in its customers table.
+ * <p>
+ * Customer IDs used to come from an auto-increment column. When schema management adds the sequence to
+ * such a database, the sequence starts at 1 and would hand out IDs of existing customers. At startup,
+ * once the schemas are in place, each shard's sequence is raised so that the next block it reserves lies
+ * above the highest existing ID; a sequence that is already past it is left alone, so instances running
+ * concurrently never get a block handed out twice. On MySQL the sequence is the table Hibernate emulates
+ * it with.
+ */
+@Component
+public class CustomerSequenceInitializer implements InitializingBean {
+    private static final Logger log = LoggerFactory.getLogger(CustomerSequenceInitializer.class);
+
+    private final ShardRoutingDataSource shardRoutingDataSource;
+
+    /**
+     * Constructor for CustomerSequenceInitializer.
+     *
+     * @param shardRoutingDataSource Data source of the shards.
+     * @param entityManagerFactory   Entity manager factory, which creates the schema of the first shard.
+     * @param shardSchemaInitializer Initializer creating the schema of the other shards.
+     */
+    @Autowired
+    public CustomerSequenceInitializer(ShardRoutingDataSource shardRoutingDataSource,
+                                       EntityManagerFactory entityManagerFactory,
+                                       ShardSchemaInitializer shardSchemaInitializer) {
+        this.shardRoutingDataSource = shardRoutingDataSource;
+    }
+
+    @Override
+    public void afterPropertiesSet() throws SQLException {
+        boolean sharded = shardRoutingDataSource.getShardCount() > 1;
+
+        for (int shard = 0; shard < shardRoutingDataSource.getShardCount(); shard++) {
+            try (Connection connection = shardRoutingDataSource.getShard(shard).getConnection()) {
+                Long maxId = queryLong(connection, "SELECT MAX(id) FROM customers");
+                if (maxId == null) {
+                    continue;
+                }
+
+                // the next value v must reserve a block (v - size, v] above the highest value in use
+                long maxValue = sharded ? maxId >>> CustomerShards.SHARD_BITS : maxId;
+                long required = maxValue + Customer.ID_ALLOCATION_SIZE;
+                if (raiseSequence(connection, required)) {
+                    log.info("Customer ID sequence of shard {} moved to {} past the existing IDs", shard, required);
+                }
+            }
+        }
+    }
+
+    private static boolean raiseSequence(Connection connection, long required) throws SQLException {
+        if (!"H2".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName())) {
+            try (PreparedStatement update = connection.prepareStatement(
+                    "UPDATE customers_seq SET next_val = ? WHERE next_val < ?")) {
+                update.setLong(1, required);
+                update.setLong(2, required);
+                return update.executeUpdate() > 0;
+            }
+        }
+
+        Long next = queryLong(connection, "SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES "
+                + "WHERE LOWER(SEQUENCE_NAME) = 'customers_seq'");
+        if (next != null && next >= required) {
+            return false;
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ALTER SEQUENCE customers_seq RESTART WITH " + required);
+        }
+        return true;
+    }
+
+    private static Long queryLong(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet result = statement.executeQuery(sql)) {
+            if (!result.next()) {
+                return null;
+            }
+            long value = result.getLong(1);
+            return result.wasNull() ? null : value;
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.app.theravenwithoutauth.sharding;
+
+import com.app.theravenwithoutauth.datasource.ShardRoutingDataSource;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+
+/**
+ * Placement of the customers over the shards of the {@link ShardRoutingDataSource}.
+ * <p>
+ * A customer is created on the shard its email hashes to, which makes the hash of an email the directory
+ * of the shard holding it: the uniqueness check and the insert of a new customer run in one local
+ * transaction, guarded by the unique email constraint of that shard. The shard is encoded in the low
+ * {@value #SHARD_BITS} bits of the customer ID, so lookups by ID go straight to their shard; an ID pointing
+ * to a shard that does not exist is looked up on the first shard, where no customer can have it.
+ * <p>
+ * The shard of the statements of the current thread is selected with {@link #select(int)}. With a single
+ * shard, selecting is a no-op and IDs are plain sequence values, so an unsharded database keeps its IDs.
+ */
+@Component
+public class CustomerShards {
+    public static final int SHARD_BITS = 8;
+    public static final int MAX_SHARDS = 1 << SHARD_BITS;
+
+    private static final ThreadLocal<Integer> CURRENT_SHARD = new ThreadLocal<>();
+    private static final Scope NO_OP_SCOPE = () -> { };
+    private static volatile boolean sharded;
+
+    private final int count;
+    private final ExecutorService scatterExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Constructor for CustomerShards.
+     *
+     * @param shardRoutingDataSource Data source routing the connections to the selected shard.
+     */
+    @Autowired
+    public CustomerShards(ShardRoutingDataSource shardRoutingDataSource) {
+        this.count = shardRoutingDataSource.getShardCount();
+        if (count > MAX_SHARDS) {
+            throw new IllegalStateException("At most " + MAX_SHARDS + " shards are supported, " + count + " configured");
+        }
+        sharded = count > 1;
+    }
+
+    /**
+     * Returns the shard selected on the current thread.
+     *
+     * @return Index of the shard, or -1 if none is selected.
+     */
+    public static int currentShard() {
+        Integer shard = CURRENT_SHARD.get();
+        return shard != null ? shard : -1;
+    }
+
+    /**
+     * Returns whether customers are spread over several shards, in which case every customer insert must run
+     * with its shard selected.
+     */
+    public static boolean isShardingEnabled() {
+        return sharded;
+    }
+
+    /**
+     * Encodes the shard of a customer into its ID.
+     *
+     * @param value Value drawn from the customer sequence of the shard.
+     * @param shard Index of the shard.
+     * @return The customer ID.
+     */
+    public static long encodeId(long value, int shard) {
+        return value << SHARD_BITS | shard;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public boolean isSharded() {
+        return count > 1;
+    }
+
+    /**
+     * Returns the shard holding the customer with the given ID.
+     *
+     * @param id ID of the customer.
+     * @return Index of the shard.
+     */
+    public int shardOfId(long id) {
+        if (count == 1) {
+            return 0;
+        }
+
+        int shard = (int) (id & (MAX_SHARDS - 1));
+        return shard < count ? shard : 0;
+    }
+
+    /**
+     * Returns the shard holding, or receiving, the customer with the given email. Emails are compared
+     * case-insensitively, as by the unique constraint of a MySQL database.
+     *
+     * @param email Email of the customer, possibly null for invalid input.
+     * @return Index of the shard.
+     */
+    public int shardOfEmail(String email) {
+        if (count == 1 || email == null) {
+            return 0;
+        }
+
+        int hash = email.toLowerCase(Locale.ROOT).hashCode() * 0x9E3779B9;
+        return Math.floorMod(hash ^ (hash >>> 16), count);
+    }
+
+    /**
+     * Selects the shard of the statements of the current thread until the returned scope is closed.
+     * <p>
+     * Inside a transaction, the shard must be selected before the transaction's first statement, and the
+     * transaction must not select another one.
+     *
+     * @param shard Index of the shard.
+     * @return Scope restoring the previously selected shard when closed.
+     */
+    public Scope select(int shard) {
+        if (count == 1) {
+            return NO_OP_SCOPE;
+        }
+
+        Integer previous = CURRENT_SHARD.get();
+        CURRENT_SHARD.set(shard);
+        return previous == null ? CURRENT_SHARD::remove : () -> CURRENT_SHARD.set(previous);
+    }
+
+    /**
+     * Runs an action on every shard, one after the other, each with its shard selected.
+     *
+     * @param action Action receiving the index of the shard.
+     */
+    public void forEachShard(IntConsumer action) {
+        for (int shard = 0; shard < count; shard++) {
+            try (Scope scope = select(shard)) {
+                action.accept(shard);
+            }
+        }
+    }
+
+    /**
+     * Runs an action on all shards concurrently, each on its own thread with its shard selected, and
+     * gathers the results. With a single shard, the action runs on the calling thread.
+     *
+     * @param action Action receiving the index of the shard; it runs outside of the caller's transaction.
+     * @return The results of the action, in shard order.
+     */
+    public <T> List<T> scatter(IntFunction<T> action) {
+        if (count == 1) {
+            return List.of(action.apply(0));
+        }
+
+        List<Future<T>> futures = new ArrayList<>(count);
+        for (int shard = 0; shard < count; shard++) {
+            int target = shard;
+            futures.add(scatterExecutor.submit(() -> {
+                try (Scope scope = select(target)) {
+                    return action.apply(target);
+                }
+            }));
+        }
+
+        List<T> results = new ArrayList<>(count);
+        try {
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : new CompletionException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+
+        return results;
+    }
+
+    @PreDestroy
+    public void close() {
+        scatterExecutor.shutdownNow();
+    }
+
+    /**
+     * Selection of a shard on the current thread, undone by {@link #close()}.
+     */
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
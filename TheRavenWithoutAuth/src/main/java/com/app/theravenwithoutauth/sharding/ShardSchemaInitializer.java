@@ -0,0 +1,65 @@
+package com.app.theravenwithoutauth.sharding;
+
+import com.app.theravenwithoutauth.datasource.ShardRoutingDataSource;
+import com.app.theravenwithoutauth.model.Customer;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.JpaProperties;
+import org.springframework.boot.orm.jpa.EntityManagerFactoryBuilder;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Applies the 'spring.jpa.hibernate.ddl-auto' schema management to the shards after the first one.
+ * <p>
+ * Hibernate only manages the schema of the database the application's entity manager factory bootstraps
+ * against, the first shard. For every other shard, a throwaway entity manager factory with the same
+ * entities and settings is built against the shard's database and closed again, once, at startup.
+ */
+@Component
+public class ShardSchemaInitializer implements InitializingBean {
+    private final ShardRoutingDataSource shardRoutingDataSource;
+    private final EntityManagerFactoryBuilder entityManagerFactoryBuilder;
+    private final JpaProperties jpaProperties;
+    private final HibernateProperties hibernateProperties;
+
+    /**
+     * Constructor for ShardSchemaInitializer.
+     *
+     * @param shardRoutingDataSource      Data source of the shards.
+     * @param entityManagerFactoryBuilder Builder of the application's entity manager factory.
+     * @param jpaProperties               JPA settings of the application.
+     * @param hibernateProperties         Hibernate settings of the application, including the schema management.
+     */
+    @Autowired
+    public ShardSchemaInitializer(ShardRoutingDataSource shardRoutingDataSource,
+                                  EntityManagerFactoryBuilder entityManagerFactoryBuilder,
+                                  JpaProperties jpaProperties, HibernateProperties hibernateProperties) {
+        this.shardRoutingDataSource = shardRoutingDataSource;
+        this.entityManagerFactoryBuilder = entityManagerFactoryBuilder;
+        this.jpaProperties = jpaProperties;
+        this.hibernateProperties = hibernateProperties;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        Map<String, Object> properties = hibernateProperties.determineHibernateProperties(
+                jpaProperties.getProperties(), new HibernateSettings());
+
+        for (int shard = 1; shard < shardRoutingDataSource.getShardCount(); shard++) {
+            LocalContainerEntityManagerFactoryBean factory = entityManagerFactoryBuilder
+                    .dataSource(shardRoutingDataSource.getShard(shard))
+                    .packages(Customer.class)
+                    .properties(properties)
+                    .persistenceUnit("shard-" + shard)
+                    .build();
+            factory.afterPropertiesSet();
+            factory.getNativeEntityManagerFactory();
+            factory.destroy();
+        }
+    }
+}
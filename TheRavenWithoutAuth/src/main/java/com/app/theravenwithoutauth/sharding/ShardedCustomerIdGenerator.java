@@ -0,0 +1,47 @@
+package com.app.theravenwithoutauth.sharding;
+
+import org.hibernate.HibernateException;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.enhanced.DatabaseStructure;
+import org.hibernate.id.enhanced.Optimizer;
+import org.hibernate.id.enhanced.OptimizerFactory;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Customer ID generator drawing from the customer sequence of the shard selected on the current thread
+ * and encoding the shard into the ID (see {@link CustomerShards}).
+ * <p>
+ * Every shard has its own sequence, so each gets its own pooled optimizer: a block of values fetched
+ * from one shard's sequence is never used for customers of another shard. Without sharding, IDs are
+ * generated exactly as by the plain sequence generator.
+ */
+public class ShardedCustomerIdGenerator extends SequenceStyleGenerator {
+    private final ConcurrentMap<Integer, Optimizer> optimizersByShard = new ConcurrentHashMap<>();
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) throws HibernateException {
+        int shard = CustomerShards.currentShard();
+        if (shard < 0) {
+            if (CustomerShards.isShardingEnabled()) {
+                throw new HibernateException("Customers can only be inserted with their shard selected");
+            }
+            return super.generate(session, object);
+        }
+
+        DatabaseStructure sequence = getDatabaseStructure();
+        Optimizer optimizer = optimizersByShard.computeIfAbsent(shard, key -> OptimizerFactory.buildOptimizer(
+                StandardOptimizerDescriptor.POOLED, Long.class, sequence.getIncrementSize(), sequence.getInitialValue()));
+
+        long value = ((Number) optimizer.generate(sequence.buildCallback(session))).longValue();
+        return CustomerShards.encodeId(value, shard);
+    }
+
+    @Override
+    public boolean supportsBulkInsertionIdentifierGeneration() {
+        return false;
+    }
+}
@@ -0,0 +1,175 @@
+package com.app.theravenwithoutauth.validation;
+
+import com.app.theravenwithoutauth.exception.InvalidInputFormatException;
+import com.app.theravenwithoutauth.model.dto.CustomerDTO;
+import com.app.theravenwithoutauth.model.dto.PatchCustomerDTO;
+import com.app.theravenwithoutauth.model.dto.UpdateCustomerDTO;
+import org.springframework.stereotype.Component;
+
+/**
+ * Validator of customer input data, shared by the create, update, patch and bulk paths.
+ * <p>
+ * The rules are checked by scanning characters directly instead of matching regular expressions:
+ * <ul>
+ *     <li>full name: 2-50 characters, no line breaks;</li>
+ *     <li>email: 2-100 characters, no line breaks, exactly one '@';</li>
+ *     <li>phone (optional): '+' followed by 5-13 digits.</li>
+ * </ul>
+ * Valid input is checked without allocating; on failure every invalid field is reported.
+ */
+@Component
+public class CustomerValidator {
+    public static final String INVALID_FORMAT_MESSAGE = "Invalid format of input data";
+
+    private static final int FULL_NAME_MIN_LENGTH = 2, FULL_NAME_MAX_LENGTH = 50;
+    private static final int EMAIL_MIN_LENGTH = 2, EMAIL_MAX_LENGTH = 100;
+    private static final int PHONE_MIN_DIGITS = 5, PHONE_MAX_DIGITS = 13;
+
+    /**
+     * Validates the data of a new customer.
+     *
+     * @param customerDTO CustomerDTO containing input data.
+     * @throws InvalidInputFormatException Thrown if any field does not meet the required format.
+     */
+    public void validateForCreate(CustomerDTO customerDTO) throws InvalidInputFormatException {
+        String violations = findViolations(customerDTO);
+
+        if (violations != null) {
+            throw new InvalidInputFormatException(violations);
+        }
+    }
+
+    /**
+     * Validates the data of a full ('put') customer update, which requires every field.
+     *
+     * @param customerDTO UpdateCustomerDTO containing input data.
+     * @throws InvalidInputFormatException Thrown if any field is missing or does not meet the required format.
+     */
+    public void validateForUpdate(UpdateCustomerDTO customerDTO) throws InvalidInputFormatException {
+        String violations = findViolations(customerDTO.getFullName(), customerDTO.getEmail(),
+                customerDTO.getPhone(), true, true);
+
+        if (violations != null) {
+            throw new InvalidInputFormatException(violations);
+        }
+    }
+
+    /**
+     * Validates the data of a partial ('patch') customer update: every supplied field must be valid,
+     * and at least one changeable field (full name or phone) must be supplied.
+     *
+     * @param customerDTO PatchCustomerDTO containing input data.
+     * @throws InvalidInputFormatException Thrown if nothing is to be changed or a supplied field does not meet the required format.
+     */
+    public void validateForPatch(PatchCustomerDTO customerDTO) throws InvalidInputFormatException {
+        if (customerDTO == null || (customerDTO.getFullName() == null && customerDTO.getPhone() == null)) {
+            throw new InvalidInputFormatException(INVALID_FORMAT_MESSAGE + ": fullName or phone is required.");
+        }
+
+        String violations = findViolations(customerDTO.getFullName(), customerDTO.getEmail(),
+                customerDTO.getPhone(), false, false);
+
+        if (violations != null) {
+            throw new InvalidInputFormatException(violations);
+        }
+    }
+
+    /**
+     * Describes every invalid field of a new customer.
+     *
+     * @param customerDTO CustomerDTO containing input data.
+     * @return Message listing the invalid fields, or null if the data is valid.
+     */
+    public String findViolations(CustomerDTO customerDTO) {
+        if (customerDTO == null) {
+            return INVALID_FORMAT_MESSAGE + ": customer is required.";
+        }
+
+        return findViolations(customerDTO.getFullName(), customerDTO.getEmail(), customerDTO.getPhone(), true, false);
+    }
+
+    private String findViolations(String fullName, String email, String phone,
+                                  boolean nameAndEmailRequired, boolean phoneRequired) {
+        boolean fullNameValid = fullName == null ? !nameAndEmailRequired : isValidFullName(fullName);
+        boolean emailValid = email == null ? !nameAndEmailRequired : isValidEmail(email);
+        boolean phoneValid = phone == null ? !phoneRequired : isValidPhone(phone);
+
+        if (fullNameValid && emailValid && phoneValid) {
+            return null;
+        }
+
+        StringBuilder message = new StringBuilder(INVALID_FORMAT_MESSAGE).append(':');
+        if (!fullNameValid) {
+            message.append(fullName == null ? " fullName is required;"
+                    : " fullName must be " + FULL_NAME_MIN_LENGTH + "-" + FULL_NAME_MAX_LENGTH
+                    + " characters without line breaks;");
+        }
+        if (!emailValid) {
+            message.append(email == null ? " email is required;"
+                    : " email must be " + EMAIL_MIN_LENGTH + "-" + EMAIL_MAX_LENGTH
+                    + " characters without line breaks and contain exactly one '@';");
+        }
+        if (!phoneValid) {
+            message.append(phone == null ? " phone is required;"
+                    : " phone must be '+' followed by " + PHONE_MIN_DIGITS + "-" + PHONE_MAX_DIGITS + " digits;");
+        }
+        message.setCharAt(message.length() - 1, '.');
+
+        return message.toString();
+    }
+
+    static boolean isValidFullName(String fullName) {
+        return hasLengthWithoutLineBreaks(fullName, FULL_NAME_MIN_LENGTH, FULL_NAME_MAX_LENGTH);
+    }
+
+    static boolean isValidEmail(String email) {
+        if (!hasLengthWithoutLineBreaks(email, EMAIL_MIN_LENGTH, EMAIL_MAX_LENGTH)) {
+            return false;
+        }
+
+        int at = email.indexOf('@');
+        return at >= 0 && email.indexOf('@', at + 1) < 0;
+    }
+
+    static boolean isValidPhone(String phone) {
+        int length = phone.length();
+        if (length < PHONE_MIN_DIGITS + 1 || length > PHONE_MAX_DIGITS + 1 || phone.charAt(0) != '+') {
+            return false;
+        }
+
+        for (int i = 1; i < length; i++) {
+            char c = phone.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Checks that the string has between min and max code points and none of them is a line terminator.
+     */
+    private static boolean hasLengthWithoutLineBreaks(String value, int min, int max) {
+        int length = value.length();
+        if (length < min || length > 2 * max) { // every code point takes one or two chars
+            return false;
+        }
+
+        int codePoints = 0;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029') {
+                return false;
+            }
+            if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                i++;
+            }
+            if (++codePoints > max) {
+                return false;
+            }
+        }
+
+        return codePoints >= min;
+    }
+}
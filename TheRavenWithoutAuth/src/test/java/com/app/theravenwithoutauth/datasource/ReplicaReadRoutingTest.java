@@ -0,0 +1,86 @@
+package com.app.theravenwithoutauth.datasource;
+
+import com.app.theravenwithoutauth.model.Customer;
+import com.app.theravenwithoutauth.model.dto.CustomerDTO;
+import com.app.theravenwithoutauth.model.dto.DataSourceStatsDTO;
+import com.app.theravenwithoutauth.repository.CustomerRepository;
+import com.app.theravenwithoutauth.service.CustomerService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the read paths of the customer API are routed to the read replicas of the 'replicas' profile.
+ */
+@SpringBootTest
+@ActiveProfiles({"embedded", "replicas"})
+class ReplicaReadRoutingTest {
+    @Autowired
+    private CustomerService customerService;
+    @Autowired
+    private CustomerRepository customerRepository;
+    @Autowired
+    private ReplicaRoutingDataSource routingDataSource;
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    private List<Long> ids;
+
+    @BeforeEach
+    void setUp() {
+        replicaLagMonitor.checkReplicas();
+
+        // saved through the repository, so the cache does not read them from the primary as recently written
+        String run = UUID.randomUUID().toString();
+        ids = customerRepository.saveAll(List.of(customer(run, 1), customer(run, 2), customer(run, 3))).stream()
+                .map(Customer::getId)
+                .toList();
+    }
+
+    @Test
+    void customerByIdIsReadFromReplica() throws Exception {
+        long before = replicaReads();
+
+        customerService.getCustomerById(ids.get(0));
+
+        assertThat(replicaReads()).isGreaterThan(before);
+    }
+
+    @Test
+    void customersByIdsAreReadFromReplica() {
+        long before = replicaReads();
+
+        assertThat(customerService.getCustomersByIds(ids)).hasSize(ids.size());
+
+        assertThat(replicaReads()).isGreaterThan(before);
+    }
+
+    @Test
+    void customerPagesAreReadFromReplica() {
+        long before = replicaReads();
+
+        assertThat(customerService.getAllCustomers(ids.get(0) - 1, 3)).hasSize(3);
+        assertThat(customerService.getCustomerVersions(ids.get(0) - 1, 3)).hasSize(3);
+
+        assertThat(replicaReads()).isGreaterThanOrEqualTo(before + 2);
+    }
+
+    private long replicaReads() {
+        return routingDataSource.getStats().stream()
+                .filter(stats -> stats.getRole().equals("REPLICA"))
+                .mapToLong(DataSourceStatsDTO::getReadOnlyConnections)
+                .sum();
+    }
+
+    private static Customer customer(String run, int number) {
+        return Customer.getCustomerFromCustomerDTO(
+                new CustomerDTO("Replica Reader " + number, "replica-" + number + "-" + run + "@example.com", null));
+    }
+}
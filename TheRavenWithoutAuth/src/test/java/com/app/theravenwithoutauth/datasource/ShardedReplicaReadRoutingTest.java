@@ -0,0 +1,59 @@
+package com.app.theravenwithoutauth.datasource;
+
+import com.app.theravenwithoutauth.model.dto.CustomerDTO;
+import com.app.theravenwithoutauth.model.dto.CustomerResponseDTO;
+import com.app.theravenwithoutauth.model.dto.DataSourceStatsDTO;
+import com.app.theravenwithoutauth.service.CustomerService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that pages gathered from all shards read the first shard from its read replicas.
+ */
+@SpringBootTest
+@ActiveProfiles({"embedded", "replicas", "sharded"})
+class ShardedReplicaReadRoutingTest {
+    @Autowired
+    private CustomerService customerService;
+    @Autowired
+    private ReplicaRoutingDataSource routingDataSource;
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        replicaLagMonitor.checkReplicas();
+
+        String run = UUID.randomUUID().toString();
+        for (int number = 1; number <= 6; number++) {
+            customerService.createCustomer(
+                    new CustomerDTO("Shard Reader " + number, "shard-" + number + "-" + run + "@example.com", null));
+        }
+    }
+
+    @Test
+    void customerPagesAreReadFromReplica() {
+        long before = replicaReads();
+
+        assertThat(customerService.getAllCustomers(0, 1000))
+                .extracting(CustomerResponseDTO::getFullName)
+                .contains("Shard Reader 1", "Shard Reader 6");
+        customerService.getCustomerVersions(0, 1000);
+
+        assertThat(replicaReads()).isGreaterThanOrEqualTo(before + 2);
+    }
+
+    private long replicaReads() {
+        return routingDataSource.getStats().stream()
+                .filter(stats -> stats.getRole().equals("REPLICA"))
+                .mapToLong(DataSourceStatsDTO::getReadOnlyConnections)
+                .sum();
+    }
+}
@@ -0,0 +1,113 @@
+package com.app.theravenwithoutauth.metrics;
+
+import com.app.theravenwithoutauth.model.Customer;
+import com.app.theravenwithoutauth.model.dto.BatchCustomerResultDTO;
+import com.app.theravenwithoutauth.model.dto.CustomerDTO;
+import com.app.theravenwithoutauth.repository.CustomerRepository;
+import com.app.theravenwithoutauth.service.CustomerService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards the read and batch paths of the customer API against N+1 regressions by counting the
+ * statements they issue in a {@link QueryScope}.
+ */
+@SpringBootTest
+@ActiveProfiles("embedded")
+class CustomerQueryCountTest {
+    @Autowired
+    private CustomerService customerService;
+    @Autowired
+    private CustomerRepository customerRepository;
+    @Autowired
+    private JdbcMetricsRegistry jdbcMetricsRegistry;
+
+    private String run;
+    private List<Long> ids;
+
+    @BeforeEach
+    void setUp() {
+        // saved through the repository, so the customers are not in the cache yet
+        run = UUID.randomUUID().toString();
+        ids = customerRepository.saveAll(IntStream.rangeClosed(1, 3).mapToObj(this::customer).toList()).stream()
+                .map(Customer::getId)
+                .toList();
+    }
+
+    @Test
+    void customerPagesAreReadWithOneQuery() {
+        try (QueryScope scope = jdbcMetricsRegistry.openScope()) {
+            assertThat(customerService.getAllCustomers(ids.get(0) - 1, 3)).hasSize(3);
+            assertThat(scope.getQueryCount()).isEqualTo(1);
+        }
+
+        try (QueryScope scope = jdbcMetricsRegistry.openScope()) {
+            assertThat(customerService.getCustomerVersions(ids.get(0) - 1, 3)).hasSize(3);
+            assertThat(scope.getQueryCount()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void customerByIdIsReadWithOneQueryAndThenCached() throws Exception {
+        try (QueryScope scope = jdbcMetricsRegistry.openScope()) {
+            customerService.getCustomerById(ids.get(0));
+            assertThat(scope.getQueryCount()).isEqualTo(1);
+        }
+
+        try (QueryScope scope = jdbcMetricsRegistry.openScope()) {
+            customerService.getCustomerById(ids.get(0));
+            assertThat(scope.getQueryCount()).isZero();
+        }
+    }
+
+    @Test
+    void customersByIdsAreReadWithOneQuery() {
+        try (QueryScope scope = jdbcMetricsRegistry.openScope()) {
+            assertThat(customerService.getCustomersByIds(ids)).hasSize(ids.size());
+            assertThat(scope.getQueryCount()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void batchCreationIssuesStatementsPerJdbcBatchNotPerCustomer() {
+        List<CustomerDTO> customerDTOs = IntStream.rangeClosed(4, 103)
+                .mapToObj(this::customerDTO)
+                .toList();
+
+        try (QueryScope scope = jdbcMetricsRegistry.openScope()) {
+            assertThat(customerService.createCustomers(customerDTOs))
+                    .allMatch(result -> result.getStatus() == BatchCustomerResultDTO.Status.CREATED);
+
+            // 100 customers with a JDBC batch size of 50, and one insert-select of their created events
+            assertThat(executions(scope, "insert into customers ")).isEqualTo(2);
+            assertThat(executions(scope, "insert into customer_events")).isEqualTo(1);
+            // the ID sequence is fetched once per allocation of 50 IDs, at most one more than the batches
+            assertThat(scope.getMostRepeatedQuery().getValue()).isLessThanOrEqualTo(3);
+        }
+    }
+
+    private static int executions(QueryScope scope, String sqlPrefix) {
+        return scope.getExecutionsBySql().entrySet().stream()
+                .filter(execution -> execution.getKey().startsWith(sqlPrefix))
+                .mapToInt(Map.Entry::getValue)
+                .sum();
+    }
+
+    private Customer customer(int number) {
+        return Customer.getCustomerFromCustomerDTO(customerDTO(number));
+    }
+
+    private CustomerDTO customerDTO(int number) {
+        return new CustomerDTO("Query Counter " + number, "query-" + number + "-" + run + "@example.com", null);
+    }
+}